@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.types.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Compares the direct decoding of the common datapoint types 1.x, 5.001, 9.x and 14.x with the translator based
+ * conversion of the {@link KNXCoreTypeMapper}.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KNXCoreTypeMapperBenchmark {
+    @Param({ "1.001", "5.001", "9.001", "14.056" })
+    public String dpt = "1.001";
+
+    private final KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+    private Datapoint datapoint = new CommandDP(new GroupAddress(1, 2, 3), "benchmark");
+    private byte[] data = new byte[0];
+
+    @Setup
+    public void setUp() {
+        datapoint = new CommandDP(new GroupAddress(1, 2, 3), "benchmark", 0, dpt);
+        switch (dpt) {
+            case "1.001":
+                data = new byte[] { 0x01 };
+                break;
+            case "5.001":
+                data = new byte[] { (byte) 0x80 };
+                break;
+            case "9.001":
+                data = new byte[] { 0x0c, 0x1a };
+                break;
+            case "14.056":
+                data = new byte[] { 0x40, 0x60, 0x00, 0x00 };
+                break;
+            default:
+                throw new IllegalArgumentException("Datapoint type not supported by the benchmark: " + dpt);
+        }
+    }
+
+    @Benchmark
+    public Type translator() {
+        return mapper.toTypeWithTranslator(datapoint, data);
+    }
+
+    @Benchmark
+    public Type direct() {
+        return mapper.toType(datapoint, data);
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of finding the subscribers of a published message, depending on the number of subscriptions.
+ * Compares {@link MqttTopicTrie} to matching each topic filter in turn, as done when every subscription is checked
+ * separately.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MqttTopicTrieBenchmark {
+    private static final int TOPIC_COUNT = 1000;
+
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    public int subscriptions = 10;
+
+    private final MqttTopicTrie<String> trie = new MqttTopicTrie<>();
+    private final List<Pattern> patterns = new ArrayList<>();
+    private List<String> topics = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (String filter : createFilters(subscriptions)) {
+            trie.add(filter, filter);
+            patterns.add(toPattern(filter));
+        }
+        topics = createTopics(subscriptions);
+    }
+
+    @Benchmark
+    public void trie(Blackhole blackhole) {
+        blackhole.consume(trie.match(nextTopic()));
+    }
+
+    @Benchmark
+    public void linear(Blackhole blackhole) {
+        String topic = nextTopic();
+        for (Pattern pattern : patterns) {
+            blackhole.consume(pattern.matcher(topic).matches());
+        }
+    }
+
+    private String nextTopic() {
+        next = (next + 1) % TOPIC_COUNT;
+        return topics.get(next);
+    }
+
+    /**
+     * Filters as created by generic things of Zigbee2MQTT and Tasmota devices, plus some wildcard discovery filters
+     */
+    static List<String> createFilters(int count) {
+        List<String> filters = new ArrayList<>(count);
+        filters.add("homeassistant/+/+/config");
+        filters.add("homeassistant/+/+/+/config");
+        filters.add("homie/+/$homie");
+        for (int i = 0; filters.size() < count; i++) {
+            if (i % 2 == 0) {
+                filters.add("zigbee2mqtt/device" + i);
+            } else {
+                filters.add("stat/tasmota" + i + "/POWER");
+            }
+        }
+        return filters;
+    }
+
+    static List<String> createTopics(int count) {
+        Random random = new Random(0);
+        List<String> topics = new ArrayList<>(TOPIC_COUNT);
+        for (int i = 0; i < TOPIC_COUNT; i++) {
+            int device = random.nextInt(count);
+            topics.add(device % 2 == 0 ? "zigbee2mqtt/device" + device : "stat/tasmota" + device + "/POWER");
+        }
+        return topics;
+    }
+
+    private static Pattern toPattern(String filter) {
+        return Pattern.compile(filter.replace("$", "\\$").replace("+", "[^/]*").replace("#", ".*"));
+    }
+}
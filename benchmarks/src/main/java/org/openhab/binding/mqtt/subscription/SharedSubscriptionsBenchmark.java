@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.subscription;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.eclipse.smarthome.io.transport.mqtt.internal.TopicSubscribers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of delivering a published message through the {@link MqttBrokerConnection} to its subscribers,
+ * depending on the number of subscriptions. Compares a subscription per subscriber on the broker connection, as made
+ * by channels without {@link SharedSubscriptions}, to the subscriptions shared through {@link SharedSubscriptions}.
+ *
+ * The messages are delivered through the subscriber registry of the broker connection, like its client callback
+ * does, without a broker.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SharedSubscriptionsBenchmark {
+    private static final int TOPIC_COUNT = 1000;
+    private static final byte[] PAYLOAD = "ON".getBytes();
+
+    /**
+     * Broker connection delivering messages without being connected
+     */
+    private static class BenchmarkConnection extends MqttBrokerConnection {
+        BenchmarkConnection() {
+            super("localhost", null, false, "benchmark");
+        }
+
+        /**
+         * Delivers a message to the subscribers of all the subscribed topic filters matching the topic, as the client
+         * callback of the connection does
+         */
+        void deliver(String topic, byte[] payload) {
+            for (TopicSubscribers topicSubscribers : subscribers.values()) {
+                if (topicSubscribers.topicMatch(topic)) {
+                    for (MqttMessageSubscriber subscriber : topicSubscribers) {
+                        subscriber.processMessage(topic, payload);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Subscriber passing the received messages to the black hole of the running benchmark
+     */
+    private static class BlackholeSubscriber implements MqttMessageSubscriber {
+        @Nullable
+        Blackhole blackhole;
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            final Blackhole blackhole = this.blackhole;
+            if (blackhole != null) {
+                blackhole.consume(payload);
+            }
+        }
+    }
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int subscriptions = 10;
+
+    private final BenchmarkConnection directConnection = new BenchmarkConnection();
+    private final BenchmarkConnection sharedConnection = new BenchmarkConnection();
+    private final BlackholeSubscriber subscriber = new BlackholeSubscriber();
+    private List<String> topics = MqttTopicTrieBenchmark.createTopics(1);
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SharedSubscriptions sharedSubscriptions = new SharedSubscriptions(sharedConnection);
+        for (String filter : MqttTopicTrieBenchmark.createFilters(subscriptions)) {
+            directConnection.subscribe(filter, subscriber);
+            sharedSubscriptions.subscribe(filter, subscriber, false);
+        }
+        topics = MqttTopicTrieBenchmark.createTopics(subscriptions);
+    }
+
+    @Benchmark
+    public void direct(Blackhole blackhole) {
+        subscriber.blackhole = blackhole;
+        // Every message has its own payload, as received from the broker
+        directConnection.deliver(nextTopic(), PAYLOAD.clone());
+    }
+
+    @Benchmark
+    public void shared(Blackhole blackhole) {
+        subscriber.blackhole = blackhole;
+        sharedConnection.deliver(nextTopic(), PAYLOAD.clone());
+    }
+
+    private String nextTopic() {
+        next = (next + 1) % TOPIC_COUNT;
+        return topics.get(next);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.mqttembeddedbroker.internal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.io.mqttembeddedbroker.internal.RetainedMessageLog.RetainedEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long the recovery of the {@link RetainedMessageLog} takes, depending on the number of retained
+ * messages. Each topic is updated several times, so that the recovery has to skip superseded records as it would
+ * after a crash. Every invocation recovers a fresh copy of the same uncompacted log.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RetainedMessageLogBenchmark {
+    private static final int UPDATES_PER_TOPIC = 4;
+    private static final int PAYLOAD_SIZE = 64;
+    private static final int MAX_SIZE = 64 * 1024 * 1024;
+
+    @Param({ "100", "1000", "10000", "50000" })
+    public int messages = 100;
+
+    private Path directory = Paths.get("");
+    private Path original = Paths.get("");
+    private Path path = Paths.get("");
+    private RetainedMessageLog recovered = new RetainedMessageLog(path, MAX_SIZE);
+
+    @Setup(Level.Trial)
+    public void writeLog() throws IOException {
+        directory = Files.createTempDirectory("retainedlog");
+        original = directory.resolve("original.log");
+        path = directory.resolve("retained.log");
+
+        RetainedMessageLog log = new RetainedMessageLog(path, MAX_SIZE);
+        log.open();
+        Random random = new Random(42);
+        byte[] payload = new byte[PAYLOAD_SIZE];
+        for (int update = 0; update < UPDATES_PER_TOPIC; update++) {
+            for (int i = 0; i < messages; i++) {
+                random.nextBytes(payload);
+                log.retain("homie/device" + (i / 100) + "/node/property" + (i % 100), payload.clone(), 1);
+            }
+        }
+        log.close();
+        Files.move(path, original, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Setup(Level.Invocation)
+    public void restoreLog() throws IOException {
+        Files.copy(original, path, StandardCopyOption.REPLACE_EXISTING);
+        recovered = new RetainedMessageLog(path, MAX_SIZE);
+    }
+
+    @Benchmark
+    public Map<String, RetainedEntry> recover() throws IOException {
+        return recovered.open();
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeLog() throws IOException {
+        recovered.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteLog() throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(original);
+        Files.delete(directory);
+    }
+}
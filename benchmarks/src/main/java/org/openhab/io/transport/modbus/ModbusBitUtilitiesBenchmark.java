@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares decoding all values of a poll response directly from the raw response bytes against decoding through
+ * {@link ModbusRegister} objects and intermediate buffers, as the register values were decoded before.
+ *
+ * @author agent - Initial contribution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModbusBitUtilitiesBenchmark {
+    private static final int REGISTER_COUNT = 100;
+
+    @Param({ "int16", "uint32", "float32", "int64" })
+    public String type = "int16";
+
+    private ValueType valueType = ValueType.INT16;
+    private int step = 1;
+    private ModbusRegisterArray rawRegisters = new ModbusRegisterArray(new byte[0]);
+    private ModbusRegister[] registerObjects = new ModbusRegister[0];
+
+    @Setup
+    public void setUp() {
+        valueType = ValueType.fromConfigValue(type);
+        step = valueType.getBits() / 16;
+        byte[] bytes = new byte[REGISTER_COUNT * 2];
+        new Random(42).nextBytes(bytes);
+        rawRegisters = new ModbusRegisterArray(bytes);
+        registerObjects = new ModbusRegister[REGISTER_COUNT];
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            registerObjects[i] = new ModbusRegister(bytes[2 * i], bytes[2 * i + 1]);
+        }
+    }
+
+    @Benchmark
+    public void rawBytes(Blackhole blackhole) {
+        for (int index = 0; index + step <= REGISTER_COUNT; index += step) {
+            blackhole.consume(ModbusBitUtilities.extractStateFromRegisters(rawRegisters, index, valueType));
+        }
+    }
+
+    @Benchmark
+    public void registerObjects(Blackhole blackhole) {
+        for (int index = 0; index + step <= REGISTER_COUNT; index += step) {
+            blackhole.consume(decodeWithRegisterObjects(registerObjects, index, valueType));
+        }
+    }
+
+    /**
+     * Decode the value through register objects, copying the register bytes to a temporary buffer
+     */
+    private static Optional<DecimalType> decodeWithRegisterObjects(ModbusRegister[] registers, int index,
+            ValueType type) {
+        ByteBuffer buff = ByteBuffer.allocate(8);
+        for (int i = 0; i < type.getBits() / 16; i++) {
+            buff.put(registers[index + i].getBytes());
+        }
+        buff.order(ByteOrder.BIG_ENDIAN);
+        switch (type) {
+            case INT16:
+                return Optional.of(new DecimalType(buff.getShort(0)));
+            case UINT32:
+                return Optional.of(new DecimalType(buff.getInt(0) & 0xffffffffL));
+            case FLOAT32:
+                float value = buff.getFloat(0);
+                return Float.isFinite(value) ? Optional.of(new DecimalType(value)) : Optional.empty();
+            case INT64:
+                return Optional.of(new DecimalType(buff.getLong(0)));
+            default:
+                throw new IllegalArgumentException("Type not supported by the benchmark: " + type);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queues the state and config updates sent to a Hue bridge.
+ *
+ * Updates for the same address, e.g. the state of a light, which are still waiting to be sent are merged into a
+ * single request. A newer value of an attribute replaces the pending one, so that the bridge doesn't have to work
+ * through intermediate values, e.g. of a dimmer which is moved quickly.
+ *
+ * The requests are sent one after another, paced according to the system performance recommendations of Philips:
+ * about 40 milliseconds per attribute of a light and one group command per second.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CommandQueue {
+
+    /** The recommended delay per attribute of an update, in milliseconds */
+    static final long COMMAND_DELAY = 40;
+
+    /** The recommended minimum delay after a group update, in milliseconds */
+    static final long GROUP_COMMAND_DELAY = 1000;
+
+    @FunctionalInterface
+    public interface Sender {
+        Result put(String address, String body) throws IOException;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CommandQueue.class);
+    private final Sender sender;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+    private boolean sending;
+
+    private long sentUpdates;
+    private long mergedUpdates;
+    private long droppedValues;
+    private long totalLatency;
+    private long maxLatency;
+
+    private static class PendingUpdate {
+        private final String address;
+        private final boolean group;
+        private final long enqueued = System.nanoTime();
+        private final Map<String, Command> commands = new LinkedHashMap<>();
+        private final List<CompletableFuture<Result>> futures = new ArrayList<>();
+
+        PendingUpdate(String address, boolean group) {
+            this.address = address;
+            this.group = group;
+        }
+
+        String toJson() {
+            return commands.values().stream().map(c -> c.toJson()).collect(joining(",", "{", "}"));
+        }
+
+        /**
+         * Returns the message delay recommended by Philips
+         * Regarding to this article: https://developers.meethue.com/documentation/hue-system-performance
+         */
+        long getMessageDelay() {
+            long delay = commands.size() * COMMAND_DELAY;
+            return group ? Math.max(GROUP_COMMAND_DELAY, delay) : delay;
+        }
+    }
+
+    public CommandQueue(Sender sender, ScheduledExecutorService scheduler) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queues an update. If an update for the same address is still pending, both are merged.
+     *
+     * @param address the address to send the update to
+     * @param update the update
+     * @param group true if the update addresses a group, which takes the bridge longer to process
+     * @return a future that completes with the response to the (merged) request
+     */
+    public CompletableFuture<Result> enqueue(String address, ConfigUpdate update, boolean group) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        synchronized (pendingUpdates) {
+            PendingUpdate pending = pendingUpdates.get(address);
+            if (pending == null) {
+                pending = new PendingUpdate(address, group);
+                pendingUpdates.put(address, pending);
+            } else {
+                mergedUpdates++;
+            }
+            for (Command command : update.commands) {
+                if (pending.commands.put(command.key, command) != null) {
+                    droppedValues++;
+                }
+            }
+            pending.futures.add(future);
+            if (!sending) {
+                sending = true;
+                scheduler.execute(this::sendNext);
+            }
+        }
+        return future;
+    }
+
+    private void sendNext() {
+        PendingUpdate pending;
+        synchronized (pendingUpdates) {
+            Iterator<PendingUpdate> iterator = pendingUpdates.values().iterator();
+            if (!iterator.hasNext()) {
+                sending = false;
+                return;
+            }
+            pending = iterator.next();
+            iterator.remove();
+        }
+
+        String body = pending.toJson();
+        logger.debug("Sending put to address: {} delay: {} body: {}", pending.address, pending.getMessageDelay(),
+                body);
+        try {
+            Result result = sender.put(pending.address, body);
+            pending.futures.forEach(future -> future.complete(result));
+        } catch (IOException | RuntimeException e) {
+            pending.futures.forEach(future -> future.completeExceptionally(e));
+        }
+
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pending.enqueued);
+        synchronized (pendingUpdates) {
+            sentUpdates++;
+            totalLatency += latency;
+            maxLatency = Math.max(maxLatency, latency);
+        }
+        scheduler.schedule(this::sendNext, pending.getMessageDelay(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the number of pending requests.
+     */
+    public int getSize() {
+        synchronized (pendingUpdates) {
+            return pendingUpdates.size();
+        }
+    }
+
+    /**
+     * Returns the number of sent requests.
+     */
+    public long getSentUpdates() {
+        synchronized (pendingUpdates) {
+            return sentUpdates;
+        }
+    }
+
+    /**
+     * Returns the number of updates which have been merged into a pending request.
+     */
+    public long getMergedUpdates() {
+        synchronized (pendingUpdates) {
+            return mergedUpdates;
+        }
+    }
+
+    /**
+     * Returns the number of attribute values which have been replaced by a newer value before they were sent.
+     */
+    public long getDroppedValues() {
+        synchronized (pendingUpdates) {
+            return droppedValues;
+        }
+    }
+
+    /**
+     * Returns the average time in milliseconds between queueing an update and receiving the response.
+     */
+    public long getAverageLatency() {
+        synchronized (pendingUpdates) {
+            return sentUpdates == 0 ? 0 : totalLatency / sentUpdates;
+        }
+    }
+
+    /**
+     * Returns the maximum time in milliseconds between queueing an update and receiving the response.
+     */
+    public long getMaxLatency() {
+        synchronized (pendingUpdates) {
+            return maxLatency;
+        }
+    }
+}
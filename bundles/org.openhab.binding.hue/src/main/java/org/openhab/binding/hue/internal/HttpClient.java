@@ -20,55 +20,26 @@ import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.LinkedList;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
+ * Sends requests to a Hue bridge.
+ *
+ * Connections are kept alive and reused for subsequent requests. To not exceed the connections the JDK keeps alive
+ * per host, at most {@link #MAX_CONCURRENT_REQUESTS} requests are sent at the same time.
  *
  * @author Q42 - Initial contribution
  * @author Denis Dudnik - moved Jue library source code inside the smarthome Hue binding
  */
 @NonNullByDefault
 public class HttpClient {
-    private int timeout = 1000;
-    private final Logger logger = LoggerFactory.getLogger(HttpClient.class);
-    private final LinkedList<AsyncPutParameters> commandsQueue = new LinkedList<>();
-    private @Nullable Future<?> job;
+    static final int MAX_CONCURRENT_REQUESTS = 3;
 
-    @SuppressWarnings({ "null", "unused" })
-    private void executeCommands() {
-        while (true) {
-            try {
-                long delayTime = 0;
-                synchronized (commandsQueue) {
-                    AsyncPutParameters payloadCallbackPair = commandsQueue.poll();
-                    if (payloadCallbackPair != null) {
-                        logger.debug("Async sending put to address: {} delay: {} body: {}", payloadCallbackPair.address,
-                                payloadCallbackPair.delay, payloadCallbackPair.body);
-                        try {
-                            Result result = put(payloadCallbackPair.address, payloadCallbackPair.body);
-                            payloadCallbackPair.future.complete(result);
-                        } catch (IOException e) {
-                            payloadCallbackPair.future.completeExceptionally(e);
-                        }
-                        delayTime = payloadCallbackPair.delay;
-                    } else {
-                        return;
-                    }
-                }
-                Thread.sleep(delayTime);
-            } catch (InterruptedException e) {
-                logger.debug("commandExecutorThread was interrupted", e);
-            }
-        }
-    }
+    private int timeout = 1000;
+    private final Semaphore requestPermits = new Semaphore(MAX_CONCURRENT_REQUESTS, true);
 
     public void setTimeout(int timeout) {
         this.timeout = timeout;
@@ -86,24 +57,6 @@ public class HttpClient {
         return doNetwork(address, "PUT", body);
     }
 
-    public CompletableFuture<Result> putAsync(String address, String body, long delay,
-            ScheduledExecutorService scheduler) {
-        AsyncPutParameters asyncPutParameters = new AsyncPutParameters(address, body, delay);
-
-        synchronized (commandsQueue) {
-            if (commandsQueue.isEmpty()) {
-                commandsQueue.offer(asyncPutParameters);
-                if (job == null || job.isDone()) {
-                    job = scheduler.submit(this::executeCommands);
-                }
-            } else {
-                commandsQueue.offer(asyncPutParameters);
-            }
-        }
-
-        return asyncPutParameters.future;
-    }
-
     public Result delete(String address) throws IOException {
         return doNetwork(address, "DELETE");
     }
@@ -113,7 +66,22 @@ public class HttpClient {
     }
 
     protected Result doNetwork(String address, String requestMethod, @Nullable String body) throws IOException {
+        try {
+            requestPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a connection to " + address, e);
+        }
+        try {
+            return send(address, requestMethod, body);
+        } finally {
+            requestPermits.release();
+        }
+    }
+
+    private Result send(String address, String requestMethod, @Nullable String body) throws IOException {
         HttpURLConnection conn = (HttpURLConnection) new URL(address).openConnection();
+        boolean reusable = false;
         try {
             conn.setRequestMethod(requestMethod);
             conn.setRequestProperty("Content-Type", "application/json");
@@ -127,16 +95,46 @@ public class HttpClient {
                 }
             }
 
-            try (InputStream in = conn.getInputStream(); ByteArrayOutputStream result = new ByteArrayOutputStream()) {
-                byte[] buffer = new byte[1024];
-                int length;
-                while ((length = in.read(buffer)) != -1) {
-                    result.write(buffer, 0, length);
-                }
-                return new Result(result.toString(StandardCharsets.UTF_8.name()), conn.getResponseCode());
+            InputStream in;
+            try {
+                in = conn.getInputStream();
+            } catch (IOException e) {
+                // read the error response as well, so that the connection can be reused
+                reusable = drain(conn.getErrorStream());
+                throw e;
             }
+            // Reading the response completely and closing the stream, without disconnecting, returns the
+            // connection to the keep-alive cache of the JDK
+            Result result = new Result(readFully(in), conn.getResponseCode());
+            reusable = true;
+            return result;
         } finally {
-            conn.disconnect();
+            if (!reusable) {
+                conn.disconnect();
+            }
+        }
+    }
+
+    private String readFully(InputStream input) throws IOException {
+        try (InputStream in = input; ByteArrayOutputStream result = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                result.write(buffer, 0, length);
+            }
+            return result.toString(StandardCharsets.UTF_8.name());
+        }
+    }
+
+    private boolean drain(@Nullable InputStream errorStream) {
+        if (errorStream == null) {
+            return false;
+        }
+        try {
+            readFully(errorStream);
+            return true;
+        } catch (IOException e) {
+            return false;
         }
     }
 
@@ -157,18 +155,4 @@ public class HttpClient {
             return responseCode;
         }
     }
-
-    public final class AsyncPutParameters {
-        public final String address;
-        public final String body;
-        public final CompletableFuture<Result> future;
-        public final long delay;
-
-        public AsyncPutParameters(String address, String body, long delay) {
-            this.address = address;
-            this.body = body;
-            this.future = new CompletableFuture<>();
-            this.delay = delay;
-        }
-    }
 }
@@ -87,6 +87,12 @@ public class HueBindingConstants {
     public static final String PROTOCOL = "protocol";
     public static final String USER_NAME = "userName";
 
+    // Bridge properties
+    public static final String PROPERTY_COMMAND_QUEUE_AVERAGE_LATENCY = "commandQueueAverageLatency";
+    public static final String PROPERTY_COMMAND_QUEUE_MAX_LATENCY = "commandQueueMaxLatency";
+    public static final String PROPERTY_COMMAND_QUEUE_MERGED_UPDATES = "commandQueueMergedUpdates";
+    public static final String PROPERTY_COMMAND_QUEUE_DROPPED_VALUES = "commandQueueDroppedValues";
+
     // Thing configuration properties
     public static final String LIGHT_ID = "lightId";
     public static final String SENSOR_ID = "sensorId";
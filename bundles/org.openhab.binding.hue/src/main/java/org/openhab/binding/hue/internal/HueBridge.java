@@ -72,7 +72,7 @@ public class HueBridge {
 
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
     private HttpClient http = new HttpClient();
-    private final ScheduledExecutorService scheduler;
+    private final CommandQueue commandQueue;
 
     @Nullable
     private Config cachedConfig;
@@ -95,7 +95,7 @@ public class HueBridge {
             baseUrl = protocol + "://" + ip + ":" + port + "/api";
         }
         this.baseUrl = baseUrl;
-        this.scheduler = scheduler;
+        this.commandQueue = new CommandQueue((address, body) -> http.put(address, body), scheduler);
     }
 
     /**
@@ -123,8 +123,17 @@ public class HueBridge {
         this.ip = ip;
         this.baseUrl = baseUrl;
         this.username = username;
-        this.scheduler = scheduler;
         this.http = http;
+        this.commandQueue = new CommandQueue((address, body) -> this.http.put(address, body), scheduler);
+    }
+
+    /**
+     * Returns the queue of the state and config updates sent to the bridge.
+     *
+     * @return the command queue
+     */
+    public CommandQueue getCommandQueue() {
+        return commandQueue;
     }
 
     /**
@@ -372,9 +381,7 @@ public class HueBridge {
     public CompletableFuture<Result> setLightState(FullLight light, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return commandQueue.enqueue(getRelativeURL("lights/" + enc(light.getId()) + "/state"), update, false);
     }
 
     /**
@@ -390,9 +397,7 @@ public class HueBridge {
     public CompletableFuture<Result> setSensorState(FullSensor sensor, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return commandQueue.enqueue(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), update, false);
     }
 
     /**
@@ -407,9 +412,7 @@ public class HueBridge {
     public CompletableFuture<Result> updateSensorConfig(FullSensor sensor, ConfigUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return commandQueue.enqueue(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), update, false);
     }
 
     /**
@@ -621,9 +624,7 @@ public class HueBridge {
     public CompletableFuture<Result> setGroupState(Group group, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, update.getMessageDelay(),
-                scheduler);
+        return commandQueue.enqueue(getRelativeURL("groups/" + enc(group.getId()) + "/action"), update, true);
     }
 
     /**
@@ -47,6 +47,7 @@ import org.eclipse.smarthome.core.thing.binding.ConfigStatusBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.StateOption;
 import org.openhab.binding.hue.internal.ApiVersionUtils;
+import org.openhab.binding.hue.internal.CommandQueue;
 import org.openhab.binding.hue.internal.Config;
 import org.openhab.binding.hue.internal.ConfigUpdate;
 import org.openhab.binding.hue.internal.FullConfig;
@@ -227,6 +228,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         protected void doConnectedRun() throws IOException, ApiException {
             updateLights();
             updateGroups();
+            updateCommandQueueProperties();
         }
 
         private void updateLights() throws IOException, ApiException {
@@ -240,6 +242,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             }
 
             final HueLightDiscoveryService discovery = discoveryService;
+            final List<FullLight> changedLights = new ArrayList<>();
 
             for (final FullLight fullLight : lights) {
                 final String lightId = fullLight.getId();
@@ -254,13 +257,26 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
                     lastLightStates.put(lightId, fullLight);
                 } else {
-                    if (lightStatusListener.onLightStateChanged(fullLight)) {
+                    final FullLight lastLight = lastLightStateCopy.get(lightId);
+                    if (lastLight != null && isSameState(lastLight.getState(), fullLight.getState())) {
+                        // the listener has seen this state already, only keep the recent attributes
                         lastLightStates.put(lightId, fullLight);
+                    } else {
+                        changedLights.add(fullLight);
                     }
                 }
                 lastLightStateCopy.remove(lightId);
             }
 
+            // Dispatch all changed lights at once, after the whole poll result has been processed
+            logger.trace("{} of {} Hue lights changed.", changedLights.size(), lights.size());
+            for (final FullLight fullLight : changedLights) {
+                final LightStatusListener lightStatusListener = lightStatusListeners.get(fullLight.getId());
+                if (lightStatusListener != null && lightStatusListener.onLightStateChanged(fullLight)) {
+                    lastLightStates.put(fullLight.getId(), fullLight);
+                }
+            }
+
             // Check for removed lights
             lastLightStateCopy.forEach((lightId, light) -> {
                 logger.trace("Hue light '{}' removed.", lightId);
@@ -283,6 +299,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             List<FullGroup> groups = hueBridge.getGroups();
 
             final HueLightDiscoveryService discovery = discoveryService;
+            final List<FullGroup> changedGroups = new ArrayList<>();
 
             for (final FullGroup fullGroup : groups) {
                 State groupState = new State();
@@ -344,13 +361,26 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
                     lastGroupStates.put(groupId, fullGroup);
                 } else {
-                    if (groupStatusListener.onGroupStateChanged(fullGroup)) {
+                    final FullGroup lastGroup = lastGroupStateCopy.get(groupId);
+                    if (lastGroup != null && isSameState(lastGroup.getState(), fullGroup.getState())) {
+                        // the listener has seen this state already, only keep the recent attributes
                         lastGroupStates.put(groupId, fullGroup);
+                    } else {
+                        changedGroups.add(fullGroup);
                     }
                 }
                 lastGroupStateCopy.remove(groupId);
             }
 
+            // Dispatch all changed groups at once, after the whole poll result has been processed
+            logger.trace("{} of {} Hue groups changed.", changedGroups.size(), groups.size());
+            for (final FullGroup fullGroup : changedGroups) {
+                final GroupStatusListener groupStatusListener = groupStatusListeners.get(fullGroup.getId());
+                if (groupStatusListener != null && groupStatusListener.onGroupStateChanged(fullGroup)) {
+                    lastGroupStates.put(fullGroup.getId(), fullGroup);
+                }
+            }
+
             // Check for removed groups
             lastGroupStateCopy.forEach((groupId, group) -> {
                 logger.trace("Hue group '{}' removed.", groupId);
@@ -394,6 +424,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private boolean propertiesInitializedSuccessfully = false;
 
+    // The sent updates of the command queue when its properties were last updated
+    private long reportedSentUpdates = -1;
+
     private @Nullable Future<?> initJob;
     private @Nullable ScheduledFuture<?> lightPollingJob;
     private @Nullable ScheduledFuture<?> sensorPollingJob;
@@ -679,6 +712,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         } else {
             if (hueBridge == null) {
                 hueBridge = new HueBridge(ip, hueBridgeConfig.getPort(), hueBridgeConfig.getProtocol(), scheduler);
+                reportedSentUpdates = -1;
                 hueBridge.setTimeout(5000);
 
                 // Try a first connection that will fail, then try to authenticate,
@@ -738,6 +772,35 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
+    /**
+     * Reports the statistics of the command queue of the bridge as thing properties, if they have changed.
+     */
+    private void updateCommandQueueProperties() {
+        CommandQueue commandQueue = hueBridge.getCommandQueue();
+        long sentUpdates = commandQueue.getSentUpdates();
+        if (sentUpdates == reportedSentUpdates) {
+            // Nothing has been sent since the last update
+            return;
+        }
+        reportedSentUpdates = sentUpdates;
+        Map<String, String> properties = editProperties();
+        boolean changed = false;
+        changed |= updateProperty(properties, PROPERTY_COMMAND_QUEUE_AVERAGE_LATENCY,
+                commandQueue.getAverageLatency() + " ms");
+        changed |= updateProperty(properties, PROPERTY_COMMAND_QUEUE_MAX_LATENCY, commandQueue.getMaxLatency() + " ms");
+        changed |= updateProperty(properties, PROPERTY_COMMAND_QUEUE_MERGED_UPDATES,
+                String.valueOf(commandQueue.getMergedUpdates()));
+        changed |= updateProperty(properties, PROPERTY_COMMAND_QUEUE_DROPPED_VALUES,
+                String.valueOf(commandQueue.getDroppedValues()));
+        if (changed) {
+            updateProperties(properties);
+        }
+    }
+
+    private boolean updateProperty(Map<String, String> properties, String name, String value) {
+        return !value.equals(properties.put(name, value));
+    }
+
     /**
      * Check USER_NAME config for null. Call onConnectionResumed() otherwise.
      *
@@ -1037,4 +1100,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
         return configStatusMessages;
     }
+
+    /**
+     * Compares two polled states. The hash codes are compared first, as they differ for nearly all changed states.
+     */
+    private static boolean isSameState(@Nullable State lastState, @Nullable State state) {
+        return lastState != null && state != null && lastState.hashCode() == state.hashCode()
+                && lastState.equals(state);
+    }
 }
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+/**
+ * Tests the {@link CommandQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+public class CommandQueueTest {
+
+    private CommandQueue.Sender sender;
+    private ScheduledExecutorService scheduler;
+    private CommandQueue queue;
+
+    @Before
+    public void setUp() throws IOException {
+        sender = mock(CommandQueue.Sender.class);
+        when(sender.put(anyString(), anyString())).thenReturn(new Result("[]", 200));
+        scheduler = mock(ScheduledExecutorService.class);
+        queue = new CommandQueue(sender, scheduler);
+    }
+
+    @Test
+    public void pendingUpdatesAreMerged() throws Exception {
+        CompletableFuture<Result> first = queue.enqueue("lights/1/state", new StateUpdate().setOn(true), false);
+        queue.enqueue("lights/1/state", new StateUpdate().setBrightness(10), false);
+        CompletableFuture<Result> last = queue.enqueue("lights/1/state", new StateUpdate().setBrightness(20), false);
+        assertThat(queue.getSize(), is(1));
+
+        ArgumentCaptor<Runnable> sendNext = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).execute(sendNext.capture());
+        sendNext.getValue().run();
+
+        verify(sender).put("lights/1/state", "{\"on\":true,\"bri\":20}");
+        verifyNoMoreInteractions(sender);
+        assertTrue(first.isDone());
+        assertThat(last.get().getResponseCode(), is(200));
+        assertThat(queue.getSentUpdates(), is(1L));
+        assertThat(queue.getMergedUpdates(), is(2L));
+        assertThat(queue.getDroppedValues(), is(1L));
+        verify(scheduler).schedule(any(Runnable.class), eq(2 * CommandQueue.COMMAND_DELAY), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void groupUpdatesArePacedByGroupRate() throws IOException {
+        queue.enqueue("groups/1/action", new StateUpdate().setOn(false), true);
+        queue.enqueue("lights/2/state", new StateUpdate().setOn(false), false);
+
+        ArgumentCaptor<Runnable> sendNext = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).execute(sendNext.capture());
+        sendNext.getValue().run();
+
+        verify(sender).put("groups/1/action", "{\"on\":false}");
+        verify(sender, never()).put(eq("lights/2/state"), anyString());
+        verify(scheduler).schedule(sendNext.capture(), eq(CommandQueue.GROUP_COMMAND_DELAY), eq(TimeUnit.MILLISECONDS));
+        sendNext.getValue().run();
+
+        verify(sender).put("lights/2/state", "{\"on\":false}");
+        assertThat(queue.getSize(), is(0));
+        assertThat(queue.getMergedUpdates(), is(0L));
+    }
+
+    @Test
+    public void failedRequestCompletesFutureExceptionally() throws IOException {
+        when(sender.put(anyString(), anyString())).thenThrow(new IOException("unreachable"));
+        CompletableFuture<Result> future = queue.enqueue("lights/1/state", new StateUpdate().setOn(true), false);
+
+        ArgumentCaptor<Runnable> sendNext = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).execute(sendNext.capture());
+        sendNext.getValue().run();
+
+        assertTrue(future.isCompletedExceptionally());
+        assertThat(queue.getSentUpdates(), is(1L));
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+/**
+ * Tests the connection handling of the {@link HttpClient} against a minimal local HTTP server.
+ *
+ * @author agent - Initial contribution
+ */
+public class HttpClientTest {
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final HttpClient client = new HttpClient();
+    private ServerSocket serverSocket;
+    private String baseAddress;
+
+    @Before
+    public void setUp() throws IOException {
+        serverSocket = new ServerSocket(0, 10, InetAddress.getLoopbackAddress());
+        baseAddress = "http://127.0.0.1:" + serverSocket.getLocalPort();
+        Thread acceptor = new Thread(() -> {
+            try {
+                while (true) {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    Thread connection = new Thread(() -> serve(socket));
+                    connection.setDaemon(true);
+                    connection.start();
+                }
+            } catch (IOException e) {
+                // server socket closed
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        serverSocket.close();
+    }
+
+    @Test(timeout = 10000)
+    public void errorResponsesAreDrainedAndReleaseTheirPermit() throws IOException {
+        // More failing requests than permits, a leaked permit would block the last requests
+        for (int i = 0; i < 2 * HttpClient.MAX_CONCURRENT_REQUESTS; i++) {
+            try {
+                client.get(baseAddress + "/missing");
+                fail("A 404 response is expected to throw");
+            } catch (IOException e) {
+                // expected
+            }
+        }
+
+        Result result = client.get(baseAddress + "/lights");
+        assertThat(result.getResponseCode(), is(200));
+        assertThat(result.getBody(), is("{}"));
+
+        // The drained error responses left the connection reusable
+        assertThat(connections.get(), is(1));
+    }
+
+    /**
+     * Answers the requests of a persistent connection. Request bodies are not expected.
+     */
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(s.getInputStream(), StandardCharsets.ISO_8859_1))) {
+            OutputStream out = s.getOutputStream();
+            String requestLine;
+            while ((requestLine = in.readLine()) != null) {
+                String line;
+                while ((line = in.readLine()) != null && !line.isEmpty()) {
+                    // skip the headers
+                }
+                String response = requestLine.contains("/missing") ? response(404, "Not Found", "{\"error\":404}")
+                        : response(200, "OK", "{}");
+                out.write(response.getBytes(StandardCharsets.ISO_8859_1));
+                out.flush();
+            }
+        } catch (IOException e) {
+            // connection closed
+        }
+    }
+
+    private static String response(int code, String reason, String body) {
+        return "HTTP/1.1 " + code + " " + reason + "\r\nContent-Type: application/json\r\nContent-Length: "
+                + body.length() + "\r\n\r\n" + body;
+    }
+}
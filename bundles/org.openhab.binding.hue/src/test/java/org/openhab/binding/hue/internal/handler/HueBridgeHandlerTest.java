@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.lang.reflect.Field;
+
+import org.eclipse.smarthome.core.thing.Bridge;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.hue.internal.ApiVersion;
+import org.openhab.binding.hue.internal.CommandQueue;
+import org.openhab.binding.hue.internal.FullConfig;
+import org.openhab.binding.hue.internal.FullGroup;
+import org.openhab.binding.hue.internal.FullLight;
+import org.openhab.binding.hue.internal.HueBridge;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests the light and group polling of the {@link HueBridgeHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HueBridgeHandlerTest {
+
+    private final Gson gson = new Gson();
+
+    private HueBridgeHandler handler;
+    private Runnable lightPolling;
+    private LightStatusListener lightListener;
+    private GroupStatusListener groupListener;
+
+    // The brightness of light 1, as reported by the bridge
+    private int brightness = 200;
+
+    @Before
+    public void setUp() throws Exception {
+        Bridge bridge = mock(Bridge.class);
+        when(bridge.getUID()).thenReturn(new ThingUID("hue:bridge:test"));
+        when(bridge.getStatus()).thenReturn(ThingStatus.ONLINE);
+
+        HueBridge hueBridge = mock(HueBridge.class);
+        when(hueBridge.getVersion()).thenReturn(ApiVersion.of("1.26.0"));
+        // Every poll returns new objects, like a response of the bridge
+        when(hueBridge.getFullLights()).thenAnswer(invocation -> pollResponse().getLights());
+        when(hueBridge.getGroups()).thenAnswer(invocation -> pollResponse().getGroups());
+        when(hueBridge.getCommandQueue()).thenReturn(mock(CommandQueue.class));
+
+        handler = new HueBridgeHandler(bridge, mock(HueStateDescriptionOptionProvider.class));
+        handler.setCallback(mock(ThingHandlerCallback.class));
+        setField("hueBridge", hueBridge);
+        setField("lastBridgeConnectionState", true);
+        lightPolling = (Runnable) getField("lightPollingRunnable");
+
+        lightListener = mock(LightStatusListener.class);
+        when(lightListener.getLightId()).thenReturn("1");
+        when(lightListener.onLightStateChanged(any())).thenReturn(true);
+        groupListener = mock(GroupStatusListener.class);
+        when(groupListener.getGroupId()).thenReturn("1");
+        when(groupListener.onGroupStateChanged(any())).thenReturn(true);
+    }
+
+    @Test
+    public void unchangedLightsAndGroupsAreNotDispatched() {
+        handler.registerLightStatusListener(lightListener);
+        handler.registerGroupStatusListener(groupListener);
+
+        lightPolling.run();
+        verify(lightListener).onLightStateChanged(any());
+        verify(groupListener).onGroupStateChanged(any());
+
+        lightPolling.run();
+        verify(lightListener).onLightStateChanged(any());
+        verify(groupListener).onGroupStateChanged(any());
+
+        brightness = 100;
+        lightPolling.run();
+        ArgumentCaptor<FullLight> light = ArgumentCaptor.forClass(FullLight.class);
+        verify(lightListener, times(2)).onLightStateChanged(light.capture());
+        assertThat(light.getValue().getState().getBrightness(), is(100));
+        ArgumentCaptor<FullGroup> group = ArgumentCaptor.forClass(FullGroup.class);
+        verify(groupListener, times(2)).onGroupStateChanged(group.capture());
+        assertThat(group.getValue().getState().getBrightness(), is(75));
+    }
+
+    @Test
+    public void changedLightsAreDispatchedAfterTheWholePoll() {
+        handler.registerLightStatusListener(lightListener);
+        when(lightListener.onLightStateChanged(any())).thenAnswer(invocation -> {
+            // Light 2 comes after light 1 in the poll response
+            assertThat(handler.getLightById("2"), is(notNullValue()));
+            return true;
+        });
+
+        lightPolling.run();
+
+        verify(lightListener).onLightStateChanged(any());
+        verify(lightListener, never()).onLightRemoved();
+    }
+
+    @Test
+    public void rejectedLightIsDispatchedAgain() {
+        when(lightListener.onLightStateChanged(any())).thenReturn(false, true);
+        handler.registerLightStatusListener(lightListener);
+
+        lightPolling.run();
+        verify(lightListener).onLightStateChanged(any());
+        assertThat(handler.getLightById("1"), is(nullValue()));
+
+        lightPolling.run();
+        verify(lightListener, times(2)).onLightStateChanged(any());
+        assertThat(handler.getLightById("1"), is(notNullValue()));
+
+        lightPolling.run();
+        verify(lightListener, times(2)).onLightStateChanged(any());
+    }
+
+    private FullConfig pollResponse() {
+        return gson.fromJson("{\"lights\":{" + light("1", brightness) + "," + light("2", 50) + "},\"groups\":{"
+                + "\"1\":{\"name\":\"Group 1\",\"type\":\"LightGroup\",\"lights\":[\"1\",\"2\"],\"action\":{}}}}",
+                FullConfig.class);
+    }
+
+    private static String light(String id, int brightness) {
+        return "\"" + id + "\":{\"state\":{\"on\":true,\"bri\":" + brightness + ",\"hue\":0,\"sat\":0,"
+                + "\"xy\":[0.3,0.3],\"ct\":153,\"alert\":\"none\",\"effect\":\"none\",\"colormode\":\"ct\","
+                + "\"reachable\":true},\"type\":\"Extended color light\",\"name\":\"Hue Light " + id + "\","
+                + "\"modelid\":\"LCT001\",\"uniqueid\":\"00:17:88:01:00:e1:88:2" + id + "-0b\"}";
+    }
+
+    private Object getField(String name) throws Exception {
+        Field field = HueBridgeHandler.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(handler);
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        Field field = HueBridgeHandler.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(handler, value);
+    }
+}
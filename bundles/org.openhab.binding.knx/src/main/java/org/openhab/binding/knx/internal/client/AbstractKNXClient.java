@@ -12,9 +12,12 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -85,11 +88,13 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    // The registered listeners with the group addresses they have been indexed with
+    private final Map<GroupAddressListener, Set<GroupAddress>> groupAddressListeners = new HashMap<>();
+    private final Map<GroupAddress, Set<GroupAddressListener>> groupAddressListenerIndex = new ConcurrentHashMap<>();
+    private final ReadScheduler readScheduler;
 
     @FunctionalInterface
-    private interface ListenerNotification {
+    interface ListenerNotification {
         void apply(BusMessageListener listener, IndividualAddress source, GroupAddress destination, byte[] asdu);
     }
 
@@ -130,6 +135,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.responseTimeout = responseTimeout;
         this.readingPause = readingPause;
         this.readRetriesLimit = readRetriesLimit;
+        this.readScheduler = new ReadScheduler(readingPause);
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
     }
@@ -196,6 +202,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
             link.addLinkListener(this);
 
+            // the read scheduler decides on each run whether the next read is due already
             busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0, readingPause,
                     TimeUnit.MILLISECONDS);
 
@@ -223,7 +230,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     @SuppressWarnings("null")
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
-        readDatapoints.clear();
+        readScheduler.clear();
         busJob = nullify(busJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
@@ -251,11 +258,28 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        notifyListeners(task, source, destination, asdu, action);
+    }
+
+    /**
+     * Passes a telegram to the listeners of its destination, in a single task for all of them.
+     */
+    void notifyListeners(String task, IndividualAddress source, GroupAddress destination, byte[] asdu,
+            ListenerNotification action) {
+        Set<GroupAddressListener> listeners = getGroupAddressListeners(destination);
+        if (listeners.isEmpty()) {
+            return;
         }
+        // One task per telegram for all listeners of the destination
+        knxScheduler.execute(() -> {
+            for (GroupAddressListener listener : listeners) {
+                try {
+                    action.apply(listener, source, destination, asdu);
+                } catch (RuntimeException e) {
+                    logger.warn("Listener failed to process a {} telegram to '{}'", task, destination, e);
+                }
+            }
+        });
     }
 
     /**
@@ -279,15 +303,20 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
+        ReadDatapoint datapoint = readScheduler.poll(System.nanoTime());
         if (datapoint != null) {
             datapoint.incrementRetries();
+            long start = System.nanoTime();
             try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
+                logger.trace("Sending a Group Read Request telegram for {} ({}, {} queued)",
+                        datapoint.getDatapoint().getMainAddress(), datapoint.getPriority(), readScheduler.size());
                 processCommunicator.read(datapoint.getDatapoint());
+                long end = System.nanoTime();
+                readScheduler.completed(end, end - start);
             } catch (KNXException e) {
+                readScheduler.failed(System.nanoTime());
                 if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
+                    readScheduler.add(datapoint);
                     logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
                             datapoint.getDatapoint().getMainAddress(), e.getMessage());
                 } else {
@@ -366,23 +395,60 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readScheduler.add(new ReadDatapoint(datapoint, readRetriesLimit, priority));
+    }
+
+    @Override
+    public int getReadQueueSize() {
+        return readScheduler.size();
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        Set<GroupAddress> groupAddresses = listener.getGroupAddresses();
+        synchronized (groupAddressListeners) {
+            Set<GroupAddress> previous = groupAddressListeners.put(listener, groupAddresses);
+            if (previous != null) {
+                removeFromIndex(listener, previous);
+            }
+            for (GroupAddress groupAddress : groupAddresses) {
+                groupAddressListenerIndex.computeIfAbsent(groupAddress, ga -> new CopyOnWriteArraySet<>())
+                        .add(listener);
+            }
+            return previous == null;
+        }
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        synchronized (groupAddressListeners) {
+            Set<GroupAddress> previous = groupAddressListeners.remove(listener);
+            if (previous == null) {
+                return false;
+            }
+            removeFromIndex(listener, previous);
+            return true;
+        }
+    }
+
+    /**
+     * Returns the listeners registered for the given group address.
+     */
+    Set<GroupAddressListener> getGroupAddressListeners(GroupAddress groupAddress) {
+        return groupAddressListenerIndex.getOrDefault(groupAddress, Collections.emptySet());
+    }
+
+    private void removeFromIndex(GroupAddressListener listener, Set<GroupAddress> groupAddresses) {
+        for (GroupAddress groupAddress : groupAddresses) {
+            Set<GroupAddressListener> listeners = groupAddressListenerIndex.get(groupAddress);
+            if (listeners != null) {
+                listeners.remove(listener);
+                if (listeners.isEmpty()) {
+                    groupAddressListenerIndex.remove(groupAddress);
+                }
+            }
+        }
     }
 
     @Override
@@ -61,7 +61,8 @@ public interface KNXClient {
     void restartNetworkDevice(@Nullable IndividualAddress address);
 
     /**
-     * Register the given listener to be informed on KNX bus traffic.
+     * Register the given listener to be informed on KNX bus traffic to its group addresses.
+     * Registering an already registered listener again updates its group addresses.
      *
      * @param listener the listener
      * @return {@code true} if it wasn't registered before
@@ -77,11 +78,20 @@ public interface KNXClient {
     boolean unregisterGroupAddressListener(GroupAddressListener listener);
 
     /**
-     * Schedule the given data point for asynchronous reading.
+     * Schedule the given data point for asynchronous reading. Reads of a higher priority are sent first. A read of a
+     * data point which is already scheduled is not scheduled again, but raises the priority of the scheduled read.
      *
      * @param datapoint the datapoint
+     * @param priority the priority of the read
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
+
+    /**
+     * Returns the number of data points which are scheduled for reading.
+     *
+     * @return the number of scheduled reads
+     */
+    int getReadQueueSize();
 
     /**
      * Write a command to the KNX bus.
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+/**
+ * The priority of a queued read request. Requests of a higher priority are sent to the bus first.
+ *
+ * @author agent - Initial contribution
+ */
+public enum ReadPriority {
+    /** A read requested by the user, e.g. by a REFRESH command */
+    REFRESH,
+    /** The first read of a channel, after it has been linked or the bridge has (re-)connected */
+    INITIAL,
+    /** A read of the periodic read interval */
+    PERIODIC
+}
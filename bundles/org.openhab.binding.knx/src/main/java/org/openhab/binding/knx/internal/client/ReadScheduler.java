@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queues the read requests of a KNX client and decides when the next one may be sent to the bus.
+ *
+ * <ul>
+ * <li>Requests are taken by {@link ReadPriority}, in the order of their arrival within the same priority.</li>
+ * <li>Only one request per group address is queued. A request for an already queued group address raises the
+ * priority of the queued request, if it is higher.</li>
+ * <li>The pause between two requests follows the smoothed response time of the bus, bounded by the configured
+ * reading pause and {@link #MAX_READING_PAUSE}. A busy bus answers slower and is therefore read slower.</li>
+ * </ul>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadScheduler {
+
+    /** The pause between two read requests does not grow beyond this, in milliseconds */
+    static final long MAX_READING_PAUSE = 2000;
+
+    // weight of a new sample in the exponentially smoothed response time
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final long minPause;
+    private final Map<ReadPriority, Deque<ReadDatapoint>> queues = new EnumMap<>(ReadPriority.class);
+    private final Map<GroupAddress, ReadDatapoint> queuedAddresses = new HashMap<>();
+    private double latency;
+    private long nextRead;
+    private boolean nextReadSet;
+
+    /**
+     * @param readingPause the minimum pause between two read requests, in milliseconds
+     */
+    public ReadScheduler(long readingPause) {
+        this.minPause = Math.max(0, Math.min(readingPause, MAX_READING_PAUSE));
+        this.latency = minPause;
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Queues a read request, unless a request for the same group address is queued already.
+     *
+     * @param datapoint the read request
+     * @return {@code true} if the request was queued, {@code false} if it was merged into a queued request
+     */
+    public synchronized boolean add(ReadDatapoint datapoint) {
+        GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
+        ReadDatapoint queued = queuedAddresses.get(groupAddress);
+        if (queued == null) {
+            queuedAddresses.put(groupAddress, datapoint);
+            getQueue(datapoint.getPriority()).addLast(datapoint);
+            return true;
+        }
+        if (datapoint.getPriority().compareTo(queued.getPriority()) < 0) {
+            getQueue(queued.getPriority()).remove(queued);
+            queued.setPriority(datapoint.getPriority());
+            getQueue(queued.getPriority()).addLast(queued);
+        }
+        return false;
+    }
+
+    /**
+     * Takes the next read request, if the pause after the previous one has passed.
+     *
+     * @param now the current time in nanoseconds, see {@link System#nanoTime()}
+     * @return the read request with the highest priority or {@code null} if none is due
+     */
+    public synchronized @Nullable ReadDatapoint poll(long now) {
+        if (nextReadSet && now - nextRead < 0) {
+            return null;
+        }
+        for (Deque<ReadDatapoint> queue : queues.values()) {
+            ReadDatapoint datapoint = queue.poll();
+            if (datapoint != null) {
+                queuedAddresses.remove(datapoint.getDatapoint().getMainAddress());
+                return datapoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records that a read request has been answered by the bus.
+     *
+     * @param now the current time in nanoseconds
+     * @param responseTime the time between sending the request and receiving the response, in nanoseconds
+     */
+    public synchronized void completed(long now, long responseTime) {
+        double sample = TimeUnit.NANOSECONDS.toMicros(responseTime) / 1000.0;
+        latency += LATENCY_WEIGHT * (sample - latency);
+        setNextRead(now);
+    }
+
+    /**
+     * Records that a read request has failed. The response time is not taken into account, because a missing
+     * response is caused by the device rather than the load of the bus.
+     *
+     * @param now the current time in nanoseconds
+     */
+    public synchronized void failed(long now) {
+        setNextRead(now);
+    }
+
+    private void setNextRead(long now) {
+        nextRead = now + TimeUnit.MILLISECONDS.toNanos(getReadingPause());
+        nextReadSet = true;
+    }
+
+    /**
+     * Returns the current pause between two read requests in milliseconds.
+     */
+    public synchronized long getReadingPause() {
+        return Math.max(minPause, Math.min(Math.round(latency), MAX_READING_PAUSE));
+    }
+
+    /**
+     * Returns the number of queued read requests.
+     */
+    public synchronized int size() {
+        return queuedAddresses.size();
+    }
+
+    /**
+     * Returns the number of queued read requests of the given priority.
+     */
+    public synchronized int size(ReadPriority priority) {
+        return getQueue(priority).size();
+    }
+
+    /**
+     * Removes all queued read requests.
+     */
+    public synchronized void clear() {
+        for (Deque<ReadDatapoint> queue : queues.values()) {
+            queue.clear();
+        }
+        queuedAddresses.clear();
+    }
+
+    @SuppressWarnings("null")
+    private Deque<ReadDatapoint> getQueue(ReadPriority priority) {
+        return queues.get(priority);
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.math.BigDecimal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.StopMoveType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.Type;
+
+import tuwien.auto.calimero.dptxlator.DPT;
+
+/**
+ * A precompiled converter for a single datapoint type. It is resolved once per datapoint type id by the
+ * {@link KNXCoreTypeMapper} and holds the main and sub number and the calimero {@link DPT}, so that neither the id
+ * has to be parsed nor a translator has to be created again for every telegram.
+ *
+ * For the most common datapoint types (1.x, 5.001, 9.x and 14.x) the converter also decodes the ASDU directly into
+ * the openHAB type, without a translator and without a string representation of the value. The results equal the
+ * ones of the translator based conversion.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class DPTConverter {
+
+    @FunctionalInterface
+    private interface Decoder {
+        Type decode(byte[] data);
+    }
+
+    final int mainNumber;
+    final int subNumber;
+    final DPT dpt;
+
+    private final @Nullable Decoder decoder;
+    private final int dataLength;
+
+    DPTConverter(int mainNumber, int subNumber, DPT dpt, @Nullable Class<? extends Type> typeClass) {
+        this.mainNumber = mainNumber;
+        this.subNumber = subNumber;
+        this.dpt = dpt;
+
+        switch (mainNumber) {
+            case 1:
+                dataLength = 1;
+                decoder = createBooleanDecoder(subNumber);
+                break;
+            case 5:
+                dataLength = 1;
+                decoder = subNumber == 1 && PercentType.class.equals(typeClass)
+                        ? data -> toPercentType(Math.round((data[0] & 0xff) * 100.0f / 255.0f))
+                        : null;
+                break;
+            case 9:
+                dataLength = 2;
+                if (PercentType.class.equals(typeClass)) {
+                    decoder = data -> toPercentType(Math.round(decode2ByteFloat(data)));
+                } else if (DecimalType.class.equals(typeClass)) {
+                    decoder = data -> new DecimalType(decode2ByteFloat(data));
+                } else {
+                    decoder = null;
+                }
+                break;
+            case 14:
+                dataLength = 4;
+                decoder = DecimalType.class.equals(typeClass) ? data -> new DecimalType(decode4ByteFloat(data)) : null;
+                break;
+            default:
+                dataLength = 0;
+                decoder = null;
+        }
+    }
+
+    private static Decoder createBooleanDecoder(int subNumber) {
+        switch (subNumber) {
+            case 8:
+                return data -> isSet(data) ? UpDownType.DOWN : UpDownType.UP;
+            case 9:
+            case 19:
+                return data -> isSet(data) ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case 10:
+                return data -> isSet(data) ? StopMoveType.MOVE : StopMoveType.STOP;
+            case 22:
+                return data -> isSet(data) ? new DecimalType(1) : new DecimalType(0);
+            default:
+                return data -> isSet(data) ? OnOffType.ON : OnOffType.OFF;
+        }
+    }
+
+    /**
+     * Returns true if the given ASDU can be decoded directly by {@link #decode(byte[])}.
+     */
+    boolean canDecode(byte[] data) {
+        return decoder != null && data.length >= dataLength;
+    }
+
+    /**
+     * Decodes the given ASDU. Only call this if {@link #canDecode(byte[])} returns true.
+     */
+    Type decode(byte[] data) {
+        final Decoder decoder = this.decoder;
+        if (decoder == null) {
+            throw new IllegalStateException("No direct decoding for datapoint type " + dpt.getID());
+        }
+        return decoder.decode(data);
+    }
+
+    private static boolean isSet(byte[] data) {
+        return (data[0] & 0x01) != 0;
+    }
+
+    private static PercentType toPercentType(long value) {
+        return new PercentType(BigDecimal.valueOf(value));
+    }
+
+    /**
+     * Decodes a KNX 2-byte float: MEEEEMMM MMMMMMMM, value = 0.01 * M * 2^E with M as 12 bit two's complement
+     */
+    static double decode2ByteFloat(byte[] data) {
+        final int exponent = (data[0] & 0x78) >> 3;
+        final int mantissa = ((data[0] & 0x80) != 0 ? -2048 : 0) + ((data[0] & 0x07) << 8) + (data[1] & 0xff);
+        return (1 << exponent) * mantissa * 0.01;
+    }
+
+    /**
+     * Decodes a KNX 4-byte float, which is an IEEE 754 single precision value in big endian byte order
+     */
+    static double decode4ByteFloat(byte[] data) {
+        final int bits = (data[0] & 0xff) << 24 | (data[1] & 0xff) << 16 | (data[2] & 0xff) << 8 | (data[3] & 0xff);
+        return Float.intBitsToFloat(bits);
+    }
+}
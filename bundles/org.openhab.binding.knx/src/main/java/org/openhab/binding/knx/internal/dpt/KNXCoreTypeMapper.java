@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -107,6 +108,9 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** stores the resolved converter for each datapoint type id in use */
+    private final Map<String, DPTConverter> converters = new ConcurrentHashMap<>();
+
     public KNXCoreTypeMapper() {
         @SuppressWarnings("unused")
         final List<Class<?>> xlators = Arrays.<Class<?>> asList(DPTXlator1BitControlled.class,
@@ -570,26 +574,61 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         defaultDptMap.put(HSBType.class, DPTXlatorRGB.DPT_RGB.getID());
     }
 
-    @Override
-    public String toDPTValue(Type type, String dptID) {
-        DPT dpt;
+    /**
+     * Resolves the converter of a datapoint type in advance, e.g. when a channel is configured, so that it is
+     * available for the first telegram already.
+     *
+     * @param dptID the datapoint type id
+     * @return true if the datapoint type is supported by calimero
+     */
+    public boolean prepare(String dptID) {
+        return getConverter(dptID) != null;
+    }
+
+    private DPTConverter getConverter(String dptID) {
+        if (dptID == null) {
+            throw new IllegalArgumentException("Parameter dptID cannot be null");
+        }
+        DPTConverter converter = converters.get(dptID);
+        if (converter == null) {
+            converter = createConverter(dptID);
+            if (converter != null) {
+                converters.put(dptID, converter);
+            }
+        }
+        return converter;
+    }
+
+    private DPTConverter createConverter(String dptID) {
         int mainNumber = getMainNumber(dptID);
         if (mainNumber == -1) {
-            logger.error("toDPTValue couldn't identify mainnumber in dptID: {}", dptID);
+            logger.debug("Couldn't identify main number in dptID: {}.", dptID);
             return null;
         }
         int subNumber = getSubNumber(dptID);
         if (subNumber == -1) {
-            logger.debug("toType: couldn't identify sub number in dptID: {}.", dptID);
+            logger.debug("Couldn't identify sub number in dptID: {}.", dptID);
             return null;
         }
 
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
+            DPT dpt = TranslatorTypes.createTranslator(mainNumber, dptID).getType();
+            return new DPTConverter(mainNumber, subNumber, dpt, toTypeClass(dpt.getID()));
         } catch (KNXException e) {
+            logger.debug("Failed creating a translator for datapoint type '{}': {}", dptID, e.getMessage());
             return null;
         }
+    }
+
+    @Override
+    public String toDPTValue(Type type, String dptID) {
+        DPTConverter converter = getConverter(dptID);
+        if (converter == null) {
+            return null;
+        }
+        DPT dpt = converter.dpt;
+        int mainNumber = converter.mainNumber;
+        int subNumber = converter.subNumber;
 
         try {
             // check for HSBType first, because it extends PercentType as well
@@ -672,6 +711,18 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        DPTConverter converter = getConverter(datapoint.getDPT());
+        if (converter != null && converter.canDecode(data)) {
+            return converter.decode(data);
+        }
+        return toTypeWithTranslator(datapoint, data);
+    }
+
+    /**
+     * Converts the ASDU to an openHAB type by means of a calimero translator. This handles all datapoint types
+     * which the {@link DPTConverter} can't decode directly.
+     */
+    Type toTypeWithTranslator(Datapoint datapoint, byte[] data) {
         try {
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
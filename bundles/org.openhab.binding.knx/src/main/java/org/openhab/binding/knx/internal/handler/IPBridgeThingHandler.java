@@ -104,6 +104,7 @@ public class IPBridgeThingHandler extends KNXBridgeBaseThingHandler {
                 config.getReadRetriesLimit().intValue(), getScheduler(), this);
 
         client.initialize();
+        startReadQueueSizeRefresh();
     }
 
     @Override
@@ -12,19 +12,25 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import static org.openhab.binding.knx.internal.KNXBindingConstants.CHANNEL_READ_QUEUE_SIZE;
+
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.knx.internal.client.KNXClient;
 import org.openhab.binding.knx.internal.client.StatusUpdateCallback;
@@ -41,9 +47,13 @@ import tuwien.auto.calimero.mgmt.Destination;
 @NonNullByDefault
 public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implements StatusUpdateCallback {
 
+    // Seconds between two updates of the read queue size channel
+    private static final int READ_QUEUE_SIZE_REFRESH_INTERVAL = 10;
+
     protected ConcurrentHashMap<IndividualAddress, Destination> destinations = new ConcurrentHashMap<>();
     private final ScheduledExecutorService knxScheduler = ThreadPoolManager.getScheduledPool("knx");
     private final ScheduledExecutorService backgroundScheduler = Executors.newSingleThreadScheduledExecutor();
+    private @Nullable ScheduledFuture<?> readQueueSizeJob;
 
     public KNXBridgeBaseThingHandler(Bridge bridge) {
         super(bridge);
@@ -58,7 +68,34 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
 
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
-        // Nothing to do here
+        if (command instanceof RefreshType && CHANNEL_READ_QUEUE_SIZE.equals(channelUID.getId())) {
+            updateReadQueueSize();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        ScheduledFuture<?> readQueueSizeJob = this.readQueueSizeJob;
+        if (readQueueSizeJob != null) {
+            readQueueSizeJob.cancel(false);
+            this.readQueueSizeJob = null;
+        }
+        super.dispose();
+    }
+
+    /**
+     * Periodically updates the read queue size channel with the number of data points the client has scheduled for
+     * reading. To be called when the bridge is initialized.
+     */
+    protected void startReadQueueSizeRefresh() {
+        readQueueSizeJob = knxScheduler.scheduleWithFixedDelay(this::updateReadQueueSize,
+                READ_QUEUE_SIZE_REFRESH_INTERVAL, READ_QUEUE_SIZE_REFRESH_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    private void updateReadQueueSize() {
+        if (isLinked(CHANNEL_READ_QUEUE_SIZE)) {
+            updateState(CHANNEL_READ_QUEUE_SIZE, new DecimalType(getClient().getReadQueueSize()));
+        }
     }
 
     public ScheduledExecutorService getScheduler() {
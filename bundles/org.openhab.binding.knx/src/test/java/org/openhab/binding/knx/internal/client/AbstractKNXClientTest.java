@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class AbstractKNXClientTest {
+
+    private static final GroupAddress GA1 = new GroupAddress(1, 0, 1);
+    private static final GroupAddress GA2 = new GroupAddress(1, 0, 2);
+    private static final GroupAddress GA3 = new GroupAddress(1, 0, 3);
+    private static final IndividualAddress SOURCE = new IndividualAddress(1, 1, 1);
+
+    private ScheduledExecutorService scheduler;
+    private AbstractKNXClient client;
+
+    @Before
+    public void setUp() {
+        scheduler = mock(ScheduledExecutorService.class);
+        client = new AbstractKNXClient(0, new ThingUID("knx", "ip", "bridge"), 0, 0, 0, scheduler,
+                mock(StatusUpdateCallback.class)) {
+            @Override
+            protected KNXNetworkLink establishConnection() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Test
+    public void testRegister_indexesGroupAddresses() {
+        GroupAddressListener listener = listener(GA1, GA2);
+        assertTrue(client.registerGroupAddressListener(listener));
+
+        assertEquals(Collections.singleton(listener), client.getGroupAddressListeners(GA1));
+        assertEquals(Collections.singleton(listener), client.getGroupAddressListeners(GA2));
+        assertTrue(client.getGroupAddressListeners(GA3).isEmpty());
+    }
+
+    @Test
+    public void testUnregister_removesFromIndex() {
+        GroupAddressListener listener = listener(GA1, GA2);
+        GroupAddressListener other = listener(GA2);
+        client.registerGroupAddressListener(listener);
+        client.registerGroupAddressListener(other);
+
+        assertTrue(client.unregisterGroupAddressListener(listener));
+        assertFalse(client.unregisterGroupAddressListener(listener));
+        assertTrue(client.getGroupAddressListeners(GA1).isEmpty());
+        assertEquals(Collections.singleton(other), client.getGroupAddressListeners(GA2));
+    }
+
+    @Test
+    public void testRegisterAgain_reindexesChangedGroupAddresses() {
+        GroupAddressListener listener = listener(GA1, GA2);
+        client.registerGroupAddressListener(listener);
+
+        when(listener.getGroupAddresses()).thenReturn(new HashSet<>(Arrays.asList(GA2, GA3)));
+        assertFalse(client.registerGroupAddressListener(listener));
+        assertTrue(client.getGroupAddressListeners(GA1).isEmpty());
+        assertEquals(Collections.singleton(listener), client.getGroupAddressListeners(GA2));
+        assertEquals(Collections.singleton(listener), client.getGroupAddressListeners(GA3));
+
+        // the addresses of the last registration are removed, even if the listener has changed them meanwhile
+        when(listener.getGroupAddresses()).thenReturn(Collections.singleton(GA1));
+        assertTrue(client.unregisterGroupAddressListener(listener));
+        assertTrue(client.getGroupAddressListeners(GA2).isEmpty());
+        assertTrue(client.getGroupAddressListeners(GA3).isEmpty());
+    }
+
+    @Test
+    public void testNotifyListeners_singleTaskPerTelegram() {
+        GroupAddressListener listener = listener(GA1);
+        GroupAddressListener other = listener(GA1, GA2);
+        GroupAddressListener unrelated = listener(GA3);
+        client.registerGroupAddressListener(listener);
+        client.registerGroupAddressListener(other);
+        client.registerGroupAddressListener(unrelated);
+
+        byte[] asdu = new byte[] { 1 };
+        client.notifyListeners("Group Write", SOURCE, GA1, asdu,
+                (l, source, destination, data) -> l.onGroupWrite(client, source, destination, data));
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).execute(task.capture());
+        task.getValue().run();
+
+        verify(listener).onGroupWrite(client, SOURCE, GA1, asdu);
+        verify(other).onGroupWrite(client, SOURCE, GA1, asdu);
+        verify(unrelated, never()).onGroupWrite(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testNotifyListeners_noTaskWithoutListeners() {
+        client.notifyListeners("Group Write", SOURCE, GA1, new byte[] { 1 },
+                (l, source, destination, data) -> l.onGroupWrite(client, source, destination, data));
+        verifyNoInteractions(scheduler);
+    }
+
+    private GroupAddressListener listener(GroupAddress... groupAddresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(new HashSet<>(Arrays.asList(groupAddresses)));
+        return listener;
+    }
+}
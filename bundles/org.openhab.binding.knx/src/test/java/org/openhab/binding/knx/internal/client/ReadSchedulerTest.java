@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ReadSchedulerTest {
+
+    private final ReadScheduler scheduler = new ReadScheduler(50);
+
+    @Test
+    public void testPoll_byPriority() {
+        scheduler.add(read(1, ReadPriority.PERIODIC));
+        scheduler.add(read(2, ReadPriority.INITIAL));
+        scheduler.add(read(3, ReadPriority.INITIAL));
+        scheduler.add(read(4, ReadPriority.REFRESH));
+
+        assertEquals(4, scheduler.size());
+        assertEquals(new GroupAddress(1, 0, 4), scheduler.poll(0).getDatapoint().getMainAddress());
+        assertEquals(new GroupAddress(1, 0, 2), scheduler.poll(0).getDatapoint().getMainAddress());
+        assertEquals(new GroupAddress(1, 0, 3), scheduler.poll(0).getDatapoint().getMainAddress());
+        assertEquals(new GroupAddress(1, 0, 1), scheduler.poll(0).getDatapoint().getMainAddress());
+        assertNull(scheduler.poll(0));
+    }
+
+    @Test
+    public void testAdd_deduplicatesAndRaisesPriority() {
+        assertTrue(scheduler.add(read(1, ReadPriority.PERIODIC)));
+        assertFalse(scheduler.add(read(1, ReadPriority.PERIODIC)));
+        assertEquals(1, scheduler.size(ReadPriority.PERIODIC));
+
+        assertFalse(scheduler.add(read(1, ReadPriority.REFRESH)));
+        assertEquals(1, scheduler.size());
+        assertEquals(0, scheduler.size(ReadPriority.PERIODIC));
+        assertEquals(1, scheduler.size(ReadPriority.REFRESH));
+
+        // a lower priority does not lower the priority of the queued read
+        assertFalse(scheduler.add(read(1, ReadPriority.INITIAL)));
+        assertEquals(1, scheduler.size(ReadPriority.REFRESH));
+    }
+
+    @Test
+    public void testPoll_pacedByResponseTime() {
+        scheduler.add(read(1, ReadPriority.INITIAL));
+        scheduler.add(read(2, ReadPriority.INITIAL));
+        assertEquals(50, scheduler.getReadingPause());
+
+        // a slow bus increases the pause between two reads
+        for (int i = 0; i < 20; i++) {
+            scheduler.completed(0, TimeUnit.MILLISECONDS.toNanos(400));
+        }
+        assertTrue(scheduler.getReadingPause() > 300);
+        assertNull(scheduler.poll(TimeUnit.MILLISECONDS.toNanos(300)));
+        assertNotNull(scheduler.poll(TimeUnit.MILLISECONDS.toNanos(400)));
+
+        // missing responses don't change the pause
+        long pause = scheduler.getReadingPause();
+        scheduler.failed(0);
+        assertEquals(pause, scheduler.getReadingPause());
+
+        // but the pause never drops below the configured reading pause
+        for (int i = 0; i < 50; i++) {
+            scheduler.completed(0, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertEquals(50, scheduler.getReadingPause());
+        assertNull(scheduler.poll(TimeUnit.MILLISECONDS.toNanos(40)));
+        assertNotNull(scheduler.poll(TimeUnit.MILLISECONDS.toNanos(50)));
+    }
+
+    private static ReadDatapoint read(int address, ReadPriority priority) {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(1, 0, address), "test", 0, "1.001"), 3, priority);
+    }
+}
@@ -12,11 +12,17 @@
  */
 package org.openhab.binding.knx.internal.dpt;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -24,9 +30,62 @@ import org.junit.Test;
  */
 public class KNXCoreTypeMapperTest {
 
+    private final KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+
     @Test
     public void testToDPTValue_trailingZeroesStrippedOff() {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    @Test
+    public void testToType_directDecoding() {
+        assertEquals(OnOffType.ON, mapper.toType(datapoint("1.001"), new byte[] { 0x01 }));
+        assertEquals(new PercentType(100), mapper.toType(datapoint("5.001"), new byte[] { (byte) 0xff }));
+        // 0x0c1a: E = 1, M = 1050 -> 21.0
+        assertEquals(new DecimalType(21.0), mapper.toType(datapoint("9.001"), new byte[] { 0x0c, 0x1a }));
+        // 0x8a24: E = 1, M = -1500 -> -30.0
+        assertEquals(new DecimalType(-30.0), mapper.toType(datapoint("9.001"), new byte[] { (byte) 0x8a, 0x24 }));
+        assertEquals(new DecimalType((double) 3.5f),
+                mapper.toType(datapoint("14.056"), new byte[] { 0x40, 0x60, 0x00, 0x00 }));
+    }
+
+    @Test
+    public void testToType_directDecodingEqualsTranslator() {
+        for (String dpt : new String[] { "1.001", "1.008", "1.009", "1.010", "1.019", "1.022", "5.001" }) {
+            for (int value = 0; value < 256; value++) {
+                assertSameType(dpt, new byte[] { (byte) value });
+            }
+        }
+        for (String dpt : new String[] { "9.001", "9.004", "9.007" }) {
+            for (int value = 0; value < 0x10000; value += 7) {
+                byte[] data = new byte[] { (byte) (value >> 8), (byte) value };
+                double percent = DPTConverter.decode2ByteFloat(data);
+                // A PercentType is only valid from 0 to 100
+                if (!dpt.equals("9.007") || (percent >= 0 && percent <= 100)) {
+                    assertSameType(dpt, data);
+                }
+            }
+        }
+        for (String dpt : new String[] { "14.019", "14.056", "14.068" }) {
+            for (float value : new float[] { 0, 1.5f, -273.15f, 3.14159e20f, 1e-10f, 123456.78f }) {
+                int bits = Float.floatToIntBits(value);
+                assertSameType(dpt, new byte[] { (byte) (bits >> 24), (byte) (bits >> 16), (byte) (bits >> 8),
+                        (byte) bits });
+            }
+        }
+    }
+
+    @Test
+    public void testToType_tooShortData() {
+        assertNull(mapper.toType(datapoint("9.001"), new byte[] { 0x0c }));
+    }
+
+    private void assertSameType(String dpt, byte[] data) {
+        assertEquals(dpt, mapper.toTypeWithTranslator(datapoint(dpt), data), mapper.toType(datapoint(dpt), data));
+    }
+
+    private static Datapoint datapoint(String dpt) {
+        return new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt);
+    }
 }
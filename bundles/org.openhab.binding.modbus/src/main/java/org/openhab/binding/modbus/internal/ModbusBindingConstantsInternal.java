@@ -48,6 +48,18 @@ public class ModbusBindingConstantsInternal {
     public static final String CHANNEL_LAST_READ_ERROR = "lastReadError";
     public static final String CHANNEL_LAST_WRITE_SUCCESS = "lastWriteSuccess";
     public static final String CHANNEL_LAST_WRITE_ERROR = "lastWriteError";
+    public static final String CHANNEL_BORROW_WAIT_TIME = "borrowWaitTime";
+    public static final String CHANNEL_BORROW_WAIT_TIME_P95 = "borrowWaitTimeP95";
+    public static final String CHANNEL_TRANSACTION_TIME = "transactionTime";
+    public static final String CHANNEL_TRANSACTION_TIME_P95 = "transactionTimeP95";
+    public static final String CHANNEL_TRANSACTION_TIME_P99 = "transactionTimeP99";
+    public static final String CHANNEL_CALLBACK_TIME = "callbackTime";
+    public static final String CHANNEL_CALLBACK_TIME_P95 = "callbackTimeP95";
+    public static final String CHANNEL_ERRORS = "errors";
+    public static final String CHANNEL_RETRIES = "retries";
+    public static final String CHANNEL_ACTIVE_CONNECTIONS = "activeConnections";
+    public static final String CHANNEL_EFFECTIVE_POLL_RATE = "effectivePollRate";
+    public static final String CHANNEL_UTILIZATION = "utilization";
 
     public static final String[] DATA_CHANNELS = { CHANNEL_SWITCH, CHANNEL_CONTACT, CHANNEL_DATETIME, CHANNEL_DIMMER,
             CHANNEL_NUMBER, CHANNEL_STRING, CHANNEL_ROLLERSHUTTER };
@@ -15,6 +15,7 @@ package org.openhab.binding.modbus.internal;
 import static org.apache.commons.lang.StringUtils.isEmpty;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -29,12 +30,13 @@ import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.OpenClosedType;
 import org.eclipse.smarthome.core.transform.TransformationException;
-import org.eclipse.smarthome.core.transform.TransformationHelper;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.TypeParser;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,6 +79,29 @@ public class Transformation {
     private final @Nullable String transformationServiceName;
     private final @Nullable String transformationServiceParam;
 
+    /**
+     * Transformation service resolved previously, to avoid service registry lookup with every transformation
+     */
+    private volatile @Nullable ResolvedService resolvedService;
+
+    private static class ResolvedService {
+        final BundleContext context;
+        final ServiceReference<TransformationService> reference;
+        final TransformationService service;
+
+        ResolvedService(BundleContext context, ServiceReference<TransformationService> reference,
+                TransformationService service) {
+            this.context = context;
+            this.reference = reference;
+            this.service = service;
+        }
+
+        boolean isValid(BundleContext context) {
+            // Bundle of the reference is null when the service has been unregistered
+            return this.context == context && reference.getBundle() != null;
+        }
+    }
+
     /**
      *
      * @param transformation either FUN(VAL) (standard transformation syntax), default (identity transformation
@@ -124,6 +149,12 @@ public class Transformation {
     }
 
     public String transform(BundleContext context, String value) {
+        String transformationServiceName = this.transformationServiceName;
+        return transform(transformationServiceName == null ? null : getTransformationService(context,
+                transformationServiceName), value);
+    }
+
+    private String transform(@Nullable TransformationService transformationService, String value) {
         String transformedResponse;
         String transformationServiceName = this.transformationServiceName;
         String transformationServiceParam = this.transformationServiceParam;
@@ -134,9 +165,6 @@ public class Transformation {
                     throw new TransformationException(
                             "transformation service parameter is missing! Invalid transform?");
                 }
-                @Nullable
-                TransformationService transformationService = TransformationHelper.getTransformationService(context,
-                        transformationServiceName);
                 if (transformationService != null) {
                     transformedResponse = transformationService.transform(transformationServiceParam, value);
                 } else {
@@ -163,6 +191,31 @@ public class Transformation {
         return transformedResponse == null ? "" : transformedResponse;
     }
 
+    /**
+     * Get transformation service, using the service resolved previously if it is still registered
+     */
+    private @Nullable TransformationService getTransformationService(BundleContext context, String serviceName) {
+        ResolvedService resolved = resolvedService;
+        if (resolved != null && resolved.isValid(context)) {
+            return resolved.service;
+        }
+        resolvedService = null;
+        try {
+            Collection<ServiceReference<TransformationService>> references = context
+                    .getServiceReferences(TransformationService.class, "(smarthome.transform=" + serviceName + ")");
+            for (ServiceReference<TransformationService> reference : references) {
+                TransformationService service = context.getService(reference);
+                if (service != null) {
+                    resolvedService = new ResolvedService(context, reference, service);
+                    return service;
+                }
+            }
+        } catch (InvalidSyntaxException e) {
+            logger.warn("Cannot get service reference for transformation service of type '{}'", serviceName, e);
+        }
+        return null;
+    }
+
     public boolean isIdentityTransform() {
         return TRANSFORM_DEFAULT.equalsIgnoreCase(this.transformation);
     }
@@ -188,6 +241,27 @@ public class Transformation {
         return TypeParser.parseState(types, transformed);
     }
 
+    /**
+     * Transform state once, and parse the result using several lists of types
+     *
+     * Useful when the same state is used for several channels accepting different types.
+     *
+     * @param context
+     * @param typeLists lists of types used to parse the transformation result
+     * @param state state to transform
+     * @return transformed states in the order of the type lists. Elements are null when the transformation result
+     *         could not be parsed with the types.
+     */
+    public List<@Nullable State> transformStates(BundleContext context, List<List<Class<? extends State>>> typeLists,
+            State state) {
+        final String transformed = transform(context, state.toString());
+        List<@Nullable State> states = new ArrayList<>(typeLists.size());
+        for (List<Class<? extends State>> types : typeLists) {
+            states.add(TypeParser.parseState(types, transformed));
+        }
+        return states;
+    }
+
     public boolean hasTransformationService() {
         return transformationServiceName != null;
     }
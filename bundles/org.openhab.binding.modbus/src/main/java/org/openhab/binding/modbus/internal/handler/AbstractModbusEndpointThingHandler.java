@@ -12,8 +12,14 @@
  */
 package org.openhab.binding.modbus.internal.handler;
 
+import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal.*;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -24,6 +30,8 @@ import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
 import org.openhab.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics.LatencyHistogram;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
@@ -42,12 +50,57 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEndpoint, C> extends BaseBridgeHandler
         implements ModbusEndpointThingHandler {
 
+    /**
+     * Interval for updating the metric channels
+     */
+    private static final long METRICS_UPDATE_INTERVAL_MILLIS = 10_000;
+
+    /**
+     * Average and percentiles of latency histogram samples recorded since the previous update
+     *
+     * @author agent - Initial contribution
+     */
+    private static class IntervalHistogram {
+        private long previousSumMillis;
+        private long[] previousBucketCounts = new long[LatencyHistogram.getBucketUpperBoundsMillis().length + 1];
+        private long[] intervalBucketCounts = new long[previousBucketCounts.length];
+        private long intervalCount;
+        private long intervalSumMillis;
+        private long maxMillis;
+
+        public void update(LatencyHistogram histogram) {
+            long sumMillis = histogram.getSumMillis();
+            long[] bucketCounts = histogram.getBucketCounts();
+            intervalCount = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                intervalBucketCounts[i] = Math.max(0, bucketCounts[i] - previousBucketCounts[i]);
+                intervalCount += intervalBucketCounts[i];
+            }
+            intervalSumMillis = sumMillis - previousSumMillis;
+            maxMillis = histogram.getMaxMillis();
+            previousSumMillis = sumMillis;
+            previousBucketCounts = bucketCounts;
+        }
+
+        public DecimalType getAverage() {
+            return new DecimalType(intervalCount <= 0 ? 0.0 : (double) intervalSumMillis / intervalCount);
+        }
+
+        public DecimalType getPercentile(double percentile) {
+            return new DecimalType(LatencyHistogram.getPercentileMillis(intervalBucketCounts, percentile, maxMillis));
+        }
+    }
+
     protected volatile @Nullable C config;
     protected volatile @Nullable E endpoint;
     protected ModbusManager modbusManager;
     protected volatile @Nullable EndpointPoolConfiguration poolConfiguration;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ScheduledFuture<?> metricsJob;
+    private final IntervalHistogram borrowWaitHistogram = new IntervalHistogram();
+    private final IntervalHistogram transactionHistogram = new IntervalHistogram();
+    private final IntervalHistogram callbackHistogram = new IntervalHistogram();
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -77,6 +130,8 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
                     updateStatus(ThingStatus.ONLINE);
+                    metricsJob = scheduler.scheduleWithFixedDelay(this::updateMetricChannels,
+                            METRICS_UPDATE_INTERVAL_MILLIS, METRICS_UPDATE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
                             formatConflictingParameterError());
@@ -93,6 +148,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ScheduledFuture<?> localMetricsJob = metricsJob;
+        if (localMetricsJob != null) {
+            localMetricsJob.cancel(false);
+            metricsJob = null;
+        }
         try {
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
@@ -105,6 +165,31 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         }
     }
 
+    private void updateMetricChannels() {
+        ModbusCommunicationInterface localComms = comms;
+        if (localComms == null) {
+            return;
+        }
+        ModbusEndpointMetrics metrics = localComms.getEndpointMetrics();
+        synchronized (this) {
+            borrowWaitHistogram.update(metrics.getBorrowWait());
+            transactionHistogram.update(metrics.getTransaction());
+            callbackHistogram.update(metrics.getCallback());
+            updateState(CHANNEL_BORROW_WAIT_TIME, borrowWaitHistogram.getAverage());
+            updateState(CHANNEL_BORROW_WAIT_TIME_P95, borrowWaitHistogram.getPercentile(95));
+            updateState(CHANNEL_TRANSACTION_TIME, transactionHistogram.getAverage());
+            updateState(CHANNEL_TRANSACTION_TIME_P95, transactionHistogram.getPercentile(95));
+            updateState(CHANNEL_TRANSACTION_TIME_P99, transactionHistogram.getPercentile(99));
+            updateState(CHANNEL_CALLBACK_TIME, callbackHistogram.getAverage());
+            updateState(CHANNEL_CALLBACK_TIME_P95, callbackHistogram.getPercentile(95));
+        }
+        updateState(CHANNEL_ERRORS, new DecimalType(metrics.getErrorCount()));
+        updateState(CHANNEL_RETRIES, new DecimalType(metrics.getRetryCount()));
+        updateState(CHANNEL_ACTIVE_CONNECTIONS, new DecimalType(metrics.getActiveConnections()));
+        updateState(CHANNEL_EFFECTIVE_POLL_RATE, new DecimalType(metrics.getEffectivePollRate()));
+        updateState(CHANNEL_UTILIZATION, new DecimalType(metrics.getUtilization() * 100));
+    }
+
     @Override
     public @Nullable ModbusCommunicationInterface getCommunicationInterface() {
         return comms;
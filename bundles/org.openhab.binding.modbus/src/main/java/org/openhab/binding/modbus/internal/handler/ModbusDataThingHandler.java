@@ -15,8 +15,10 @@ package org.openhab.binding.modbus.internal.handler;
 import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal.*;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -147,6 +149,13 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    /**
+     * Polled data this thing read from previously (the bytes of the registers of the value packed into a long, or 1/0
+     * for bits), for detecting unchanged data. Valid only when hasLastReadData is true.
+     */
+    private volatile long lastReadData;
+    private volatile boolean hasLastReadData;
+    private volatile long lastReadDataProcessedMillis;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -176,6 +185,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             // We *schedule* the REFRESH to avoid dead-lock situation where poller is trying update this
             // data thing with cached data (resulting in deadlock in two synchronized methods: this (handleCommand) and
             // onRegisters.
+            // Forget the previous data so that the channels are updated even if the data has not changed
+            hasLastReadData = false;
             scheduler.schedule(() -> poller.refresh(), 0, TimeUnit.SECONDS);
             return;
         } else if (hasConfigurationError()) {
@@ -413,6 +424,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        hasLastReadData = false;
+        lastReadDataProcessedMillis = 0;
     }
 
     @Override
@@ -701,6 +714,13 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             int itemsPerRegister = 16 / readValueType.getBits();
             extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
         }
+        int registerIndex = readIndex.get() - pollStart;
+        int registerCount = Math.max(1, readValueType.getBits() / 16);
+        if (registerIndex >= 0 && registerIndex + registerCount <= registers.size()
+                && isUnchangedReadData(packRegisters(registers, registerIndex, registerCount))) {
+            onUnchangedReadData();
+            return;
+        }
         numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
                 .map(state -> (State) state).orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
@@ -718,6 +738,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        if (isUnchangedReadData(boolValue ? 1L : 0L)) {
+            onUnchangedReadData();
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
         logger.debug(
@@ -826,6 +850,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return Collections.emptyMap();
         }
         Map<ChannelUID, State> states = new HashMap<>();
+        // Channels requiring transformation. The value is transformed only once for all of them.
+        List<String> transformedChannelIds = new ArrayList<>();
+        List<List<Class<? extends State>>> transformedChannelTypes = new ArrayList<>();
         CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
             ChannelUID channelUID = getChannelUID(channelId);
             if (!isLinked(channelUID)) {
@@ -845,39 +872,38 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 boolLikeState = null;
             }
 
-            State transformedState;
-            if (localReadTransformation.isIdentityTransform()) {
-                if (boolLikeState != null) {
-                    // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
-                    transformedState = boolLikeState;
-                } else {
-                    // Numeric states always go through transformation. This allows value of 17.5 to be
-                    // converted to
-                    // 17.5% with percent types (instead of raising error)
-                    transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
-                            numericState);
-                }
+            if (localReadTransformation.isIdentityTransform() && boolLikeState != null) {
+                // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
+                logTransformedState(channelId, boolLikeState, numericState, boolValue, localReadTransformation);
+                states.put(channelUID, boolLikeState);
             } else {
-                transformedState = localReadTransformation.transformState(bundleContext, acceptedDataTypes,
-                        numericState);
+                // Numeric states always go through transformation. This allows value of 17.5 to be
+                // converted to
+                // 17.5% with percent types (instead of raising error)
+                transformedChannelIds.add(channelId);
+                transformedChannelTypes.add(acceptedDataTypes);
             }
+        });
 
-            if (transformedState != null) {
-                logger.trace(
-                        "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
-                        readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
-                states.put(channelUID, transformedState);
-            } else {
-                String types = StringUtils.join(acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(),
-                        ", ");
-                logger.warn(
-                        "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, types, numericState, readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+        if (!transformedChannelIds.isEmpty()) {
+            List<@Nullable State> transformedStates = localReadTransformation.transformStates(bundleContext,
+                    transformedChannelTypes, numericState);
+            for (int i = 0; i < transformedChannelIds.size(); i++) {
+                String channelId = transformedChannelIds.get(i);
+                State transformedState = transformedStates.get(i);
+                if (transformedState != null) {
+                    logTransformedState(channelId, transformedState, numericState, boolValue, localReadTransformation);
+                    states.put(getChannelUID(channelId), transformedState);
+                } else {
+                    String types = StringUtils.join(
+                            transformedChannelTypes.get(i).stream().map(cls -> cls.getSimpleName()).toArray(), ", ");
+                    logger.warn(
+                            "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
+                            channelId, types, numericState, readValueType, boolValue,
+                            localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+                }
             }
-        });
+        }
 
         ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
         if (isLinked(lastReadSuccessUID)) {
@@ -887,6 +913,64 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         return states;
     }
 
+    /**
+     * Check whether the polled data read by this thing is unchanged since the data was last processed
+     *
+     * Processing of unchanged data can be skipped until it is time to update the unchanged values (see
+     * updateUnchangedValuesEveryMillis), since it would result in the same channel states.
+     *
+     * @param data part of the polled data this thing reads
+     * @return whether processing of the data can be skipped
+     */
+    private boolean isUnchangedReadData(long data) {
+        long now = System.currentTimeMillis();
+        if (updateUnchangedValuesEveryMillis > 0L && hasLastReadData && data == lastReadData
+                && now - lastReadDataProcessedMillis <= updateUnchangedValuesEveryMillis) {
+            return true;
+        }
+        lastReadData = data;
+        hasLastReadData = true;
+        lastReadDataProcessedMillis = now;
+        return false;
+    }
+
+    /**
+     * Pack the bytes of the registers holding the value into a long, reading the polled data in place
+     *
+     * @param registers polled registers
+     * @param index index of the first register of the value
+     * @param count number of registers of the value, at most four
+     * @return register bytes, high byte of the first register being the most significant
+     */
+    private static long packRegisters(ModbusRegisterArray registers, int index, int count) {
+        ByteBuffer buffer = registers.getBuffer();
+        long packed = 0;
+        for (int i = index * 2; i < (index + count) * 2; i++) {
+            packed = (packed << 8) | (buffer.get(i) & 0xff);
+        }
+        return packed;
+    }
+
+    /**
+     * Update status and last read success channel, without processing the unchanged data
+     */
+    private void onUnchangedReadData() {
+        logger.trace("Thing {} data unchanged, not updating the data channels", thing.getUID());
+        updateStatusIfChanged(ThingStatus.ONLINE);
+        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        if (isLinked(lastReadSuccessUID)) {
+            tryUpdateState(lastReadSuccessUID, new DateTimeType());
+        }
+    }
+
+    private void logTransformedState(String channelId, State transformedState, State numericState, boolean boolValue,
+            Transformation transformation) {
+        logger.trace(
+                "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
+                channelId, transformedState, transformedState.getClass().getSimpleName(), numericState, readValueType,
+                boolValue, transformation.isIdentityTransform() ? "<identity>" : transformation);
+    }
+
     private void updateExpiredChannels(Map<ChannelUID, State> states) {
         synchronized (this) {
             updateStatusIfChanged(ThingStatus.ONLINE);
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+
+/**
+ * @author agent - Initial contribution
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TransformationTest {
+
+    @Mock
+    private BundleContext context;
+    @Mock
+    private Bundle bundle;
+    @Mock
+    private ServiceReference<TransformationService> reference;
+    @Mock
+    private TransformationService service;
+
+    @Before
+    public void setUp() throws InvalidSyntaxException, TransformationException {
+        when(context.getServiceReferences(eq(TransformationService.class), anyString()))
+                .thenReturn(Collections.singletonList(reference));
+        when(context.getService(reference)).thenReturn(service);
+        when(reference.getBundle()).thenReturn(bundle);
+        when(service.transform(anyString(), anyString())).thenAnswer(invocation -> invocation.getArgument(0) + ":"
+                + invocation.getArgument(1));
+    }
+
+    @Test
+    public void testResolvedServiceIsReused() throws InvalidSyntaxException {
+        Transformation transformation = new Transformation("MAP(a.map)");
+        assertThat(transformation.transform(context, "1"), is(equalTo("a.map:1")));
+        assertThat(transformation.transform(context, "2"), is(equalTo("a.map:2")));
+
+        verify(context, times(1)).getServiceReferences(TransformationService.class, "(smarthome.transform=MAP)");
+        verify(context, times(1)).getService(reference);
+    }
+
+    @Test
+    public void testServiceIsResolvedAgainWhenUnregistered() throws InvalidSyntaxException {
+        Transformation transformation = new Transformation("MAP(a.map)");
+        assertThat(transformation.transform(context, "1"), is(equalTo("a.map:1")));
+        // Bundle of the reference is null after the service has been unregistered
+        when(reference.getBundle()).thenReturn(null);
+        assertThat(transformation.transform(context, "2"), is(equalTo("a.map:2")));
+
+        verify(context, times(2)).getServiceReferences(TransformationService.class, "(smarthome.transform=MAP)");
+    }
+
+    @Test
+    public void testServiceIsResolvedAgainWithOtherContext() throws InvalidSyntaxException {
+        Transformation transformation = new Transformation("MAP(a.map)");
+        BundleContext otherContext = mock(BundleContext.class);
+        when(otherContext.getServiceReferences(eq(TransformationService.class), anyString()))
+                .thenReturn(Collections.singletonList(reference));
+        when(otherContext.getService(reference)).thenReturn(service);
+
+        assertThat(transformation.transform(context, "1"), is(equalTo("a.map:1")));
+        assertThat(transformation.transform(otherContext, "2"), is(equalTo("a.map:2")));
+
+        verify(context, times(1)).getServiceReferences(TransformationService.class, "(smarthome.transform=MAP)");
+        verify(otherContext, times(1)).getServiceReferences(TransformationService.class, "(smarthome.transform=MAP)");
+    }
+
+    @Test
+    public void testChangedTransformationIsNotServedFromCache() throws InvalidSyntaxException {
+        Transformation transformation = new Transformation("MAP(a.map)");
+        assertThat(transformation.transform(context, "1"), is(equalTo("a.map:1")));
+
+        // Changed configuration results in new transformation, which resolves its own service
+        Transformation changed = new Transformation("JS(b.js)");
+        assertThat(changed.transform(context, "1"), is(equalTo("b.js:1")));
+        assertThat(transformation.transform(context, "1"), is(equalTo("a.map:1")));
+
+        verify(context, times(1)).getServiceReferences(TransformationService.class, "(smarthome.transform=MAP)");
+        verify(context, times(1)).getServiceReferences(TransformationService.class, "(smarthome.transform=JS)");
+    }
+}
@@ -46,6 +46,8 @@ import org.openhab.binding.mqtt.generic.utils.FutureCollector;
 import org.openhab.binding.mqtt.generic.values.OnOffValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
+import org.openhab.binding.mqtt.handler.OutboundPublisher;
+import org.openhab.binding.mqtt.subscription.SharedSubscriptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,6 +84,10 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
     private final int subscribeTimeout;
 
     protected @Nullable MqttBrokerConnection connection;
+    // The outbound stage of the broker connection, coalescing and rate limiting published values
+    protected @Nullable OutboundPublisher outboundPublisher;
+    // The subscriptions of the broker connection, shared with other things and discovery
+    protected @Nullable SharedSubscriptions subscriptions;
 
     private AtomicBoolean messageReceived = new AtomicBoolean(false);
     private Map<String, @Nullable ChannelState> availabilityStates = new ConcurrentHashMap<>();
@@ -145,7 +151,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             return;
         }
 
-        final CompletableFuture<Boolean> future = data.publishValue(command);
+        final CompletableFuture<Boolean> future = data.publishValue(command, outboundPublisher);
         future.handle((v, ex) -> {
             if (ex != null) {
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, ex.getLocalizedMessage());
@@ -164,6 +170,8 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.BRIDGE_OFFLINE);
             stop();
             connection = null;
+            outboundPublisher = null;
+            subscriptions = null;
             return;
         }
         if (bridgeStatusInfo.getStatus() != ThingStatus.ONLINE) {
@@ -189,6 +197,9 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             return;
         }
         this.connection = connection;
+        this.outboundPublisher = h.getOutboundPublisher();
+        final SharedSubscriptions subscriptions = h.getSharedSubscriptions();
+        this.subscriptions = subscriptions;
 
         // Start up (subscribe to MQTT topics). Limit with a timeout and catch exceptions.
         // We do not set the thing to ONLINE here in the AbstractBase, that is the responsibility of a derived
@@ -196,7 +207,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
         try {
             Collection<CompletableFuture<@Nullable Void>> futures = availabilityStates.values().stream().map(s -> {
                 if (s != null) {
-                    return s.start(connection, scheduler, 0);
+                    return s.start(connection, subscriptions, scheduler, 0);
                 }
                 return CompletableFuture.allOf();
             }).collect(Collectors.toList());
@@ -256,6 +267,8 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             logger.warn("unsubscription on disposal failed for {}: ", thing.getUID(), e);
         }
         connection = null;
+        outboundPublisher = null;
+        subscriptions = null;
         super.dispose();
     }
 
@@ -324,7 +337,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
                     });
             MqttBrokerConnection connection = getConnection();
             if (connection != null) {
-                state.start(connection, scheduler, 0);
+                state.start(connection, subscriptions, scheduler, 0);
             }
 
             return state;
@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.IllegalFormatException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -27,14 +28,21 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.binding.mqtt.generic.tools.JsonPathSelector;
+import org.openhab.binding.mqtt.generic.tools.SharedJsonDocument;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.binding.mqtt.handler.OutboundPublisher;
+import org.openhab.binding.mqtt.subscription.SharedSubscriptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+
 /**
  * This object consists of an {@link Value}, which is updated on the respective MQTT topic change.
  * Updates to the value are propagated via the {@link ChannelStateUpdateListener}.
@@ -55,12 +63,19 @@ public class ChannelState implements MqttMessageSubscriber {
 
     // Runtime variables
     private @Nullable MqttBrokerConnection connection;
+    private @Nullable SharedSubscriptions subscriptions;
     protected final List<ChannelStateTransformation> transformationsIn = new ArrayList<>();
     protected final List<ChannelStateTransformation> transformationsOut = new ArrayList<>();
     private @Nullable ChannelStateUpdateListener channelStateUpdateListener;
     protected boolean hasSubscribed = false;
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
+    // The last payload that updated the state, and the resulting state, to drop identical consecutive payloads
+    private byte @Nullable [] lastPayload;
+    private @Nullable State lastPayloadState;
+    // JSON document shared with other channels of the state topic, and the selector replacing the first transformation
+    private @Nullable SharedJsonDocument sharedDocument;
+    private @Nullable JsonPathSelector sharedSelector;
 
     /**
      * Creates a new channel state.
@@ -110,6 +125,37 @@ public class ChannelState implements MqttMessageSubscriber {
     public void clearTransformations() {
         transformationsIn.clear();
         transformationsOut.clear();
+        sharedDocument = null;
+        sharedSelector = null;
+    }
+
+    /**
+     * Returns true if the first incoming transformation is a JSONPATH transformation.
+     */
+    public boolean hasJsonPathTransformation() {
+        return !transformationsIn.isEmpty() && "JSONPATH".equals(transformationsIn.get(0).serviceName);
+    }
+
+    /**
+     * Share the parsed JSON document with other channels of the same state topic.
+     * The first incoming transformation, a JSONPATH transformation, is then evaluated against the shared document,
+     * instead of parsing the payload again. Expressions not supported by {@link JsonPathSelector} and non-primitive
+     * results still use the transformation service.
+     *
+     * @param sharedDocument The document shared by all channels of the state topic
+     * @return Returns true if the document is used
+     */
+    public boolean setSharedJsonDocument(SharedJsonDocument sharedDocument) {
+        if (!hasJsonPathTransformation()) {
+            return false;
+        }
+        final JsonPathSelector selector = JsonPathSelector.compile(transformationsIn.get(0).pattern);
+        if (selector == null) {
+            return false;
+        }
+        this.sharedSelector = selector;
+        this.sharedDocument = sharedDocument;
+        return true;
     }
 
     /**
@@ -145,39 +191,57 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        if (isUnchangedPayload(payload)) {
+            logger.trace("Unchanged payload on topic {} for channel {}, skipping", topic, channelUID);
+            receivedOrTimeout();
+            return;
+        }
+
         if (cachedValue.isBinary()) {
             cachedValue.update(payload);
+            rememberPayload(payload);
             channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
             receivedOrTimeout();
             return;
         }
 
-        // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
-            String transformedValue = t.processValue(strValue);
-            if (transformedValue != null) {
-                strValue = transformedValue;
-            } else {
-                logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue, t.serviceName);
+        // Fast path: Without transformations the value may parse the payload directly
+        Command command = transformationsIn.isEmpty() && !config.trigger ? cachedValue.parseCommand(payload) : null;
+        if (command == null) {
+            // String value: Apply transformations
+            String strValue = selectFromSharedDocument(payload);
+            int firstTransformation = 1;
+            if (strValue == null) {
+                strValue = new String(payload, StandardCharsets.UTF_8);
+                firstTransformation = 0;
+            }
+            for (int i = firstTransformation; i < transformationsIn.size(); i++) {
+                final ChannelStateTransformation t = transformationsIn.get(i);
+                String transformedValue = t.processValue(strValue);
+                if (transformedValue != null) {
+                    strValue = transformedValue;
+                } else {
+                    logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue,
+                            t.serviceName);
+                    receivedOrTimeout();
+                    return;
+                }
+            }
+
+            // Is trigger?: Special handling
+            if (config.trigger) {
+                channelStateUpdateListener.triggerChannel(channelUID, strValue);
                 receivedOrTimeout();
                 return;
             }
-        }
-
-        // Is trigger?: Special handling
-        if (config.trigger) {
-            channelStateUpdateListener.triggerChannel(channelUID, strValue);
-            receivedOrTimeout();
-            return;
-        }
 
-        Command command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
-        if (command == null) {
-            logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
-                    cachedValue.getClass().getSimpleName());
-            receivedOrTimeout();
-            return;
+            command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
+            if (command == null) {
+                logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
+                        cachedValue.getClass().getSimpleName());
+                receivedOrTimeout();
+                return;
+            }
         }
 
         Command postOnlyCommand = cachedValue.isPostOnly(command);
@@ -191,7 +255,7 @@ public class ChannelState implements MqttMessageSubscriber {
         try {
             cachedValue.update(command);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            logger.warn("Command '{}' not supported by type '{}': {}", strValue, cachedValue.getClass().getSimpleName(),
+            logger.warn("Command '{}' not supported by type '{}': {}", command, cachedValue.getClass().getSimpleName(),
                     e.getMessage());
             receivedOrTimeout();
             return;
@@ -200,11 +264,44 @@ public class ChannelState implements MqttMessageSubscriber {
         if (config.postCommand) {
             channelStateUpdateListener.postChannelCommand(channelUID, (Command) cachedValue.getChannelState());
         } else {
+            rememberPayload(payload);
             channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
         }
         receivedOrTimeout();
     }
 
+    /**
+     * Applies the first transformation to the shared JSON document of the state topic.
+     *
+     * @return The selected value, or null if the first transformation still needs to be applied to the payload.
+     */
+    private @Nullable String selectFromSharedDocument(byte[] payload) {
+        final SharedJsonDocument sharedDocument = this.sharedDocument;
+        final JsonPathSelector sharedSelector = this.sharedSelector;
+        if (sharedDocument == null || sharedSelector == null) {
+            return null;
+        }
+        final JsonElement document = sharedDocument.getDocument(payload);
+        return document == null ? null : sharedSelector.select(document);
+    }
+
+    /**
+     * Returns true if the payload equals the last payload that updated the state, and the state has not changed since,
+     * for example by a command. Triggers and commands are never considered unchanged.
+     */
+    private boolean isUnchangedPayload(byte[] payload) {
+        final byte[] lastPayload = this.lastPayload;
+        return lastPayload != null && !config.trigger && !config.postCommand
+                && cachedValue.getChannelState() == lastPayloadState && Arrays.equals(payload, lastPayload);
+    }
+
+    private void rememberPayload(byte[] payload) {
+        if (!config.trigger && !config.postCommand) {
+            lastPayload = payload;
+            lastPayloadState = cachedValue.getChannelState();
+        }
+    }
+
     /**
      * Returns the state topic. Might be an empty string if this is a stateless channel (TRIGGER kind channel).
      */
@@ -241,8 +338,10 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<@Nullable Void> stop() {
         final MqttBrokerConnection connection = this.connection;
+        final SharedSubscriptions subscriptions = this.subscriptions;
         if (connection != null && StringUtils.isNotBlank(config.stateTopic)) {
-            return connection.unsubscribe(config.stateTopic, this).thenRun(this::internalStop);
+            return (subscriptions != null ? subscriptions.unsubscribe(config.stateTopic, this)
+                    : connection.unsubscribe(config.stateTopic, this)).thenRun(this::internalStop);
         } else {
             internalStop();
             return CompletableFuture.completedFuture(null);
@@ -252,8 +351,11 @@ public class ChannelState implements MqttMessageSubscriber {
     private void internalStop() {
         logger.debug("Unsubscribed channel {} form topic: {}", this.channelUID, config.stateTopic);
         this.connection = null;
+        this.subscriptions = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
+        lastPayload = null;
+        lastPayloadState = null;
         cachedValue.resetState();
     }
 
@@ -287,6 +389,23 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<@Nullable Void> start(MqttBrokerConnection connection, ScheduledExecutorService scheduler,
             int timeout) {
+        return start(connection, null, scheduler, timeout);
+    }
+
+    /**
+     * Subscribes to the state topic on the given connection and informs about updates on the given listener.
+     *
+     * @param connection A broker connection
+     * @param subscriptions The shared subscriptions of the broker connection, see
+     *            {@link org.openhab.binding.mqtt.handler.AbstractBrokerHandler#getSharedSubscriptions()}. If null,
+     *            the state topic is subscribed on the connection directly.
+     * @param scheduler A scheduler to realize the timeout
+     * @param timeout A timeout in milliseconds. Can be 0 to disable the timeout and let the future return earlier.
+     * @return A future that completes with true if the subscribing worked, with false if the stateTopic is not set
+     *         and exceptionally otherwise.
+     */
+    public CompletableFuture<@Nullable Void> start(MqttBrokerConnection connection,
+            @Nullable SharedSubscriptions subscriptions, ScheduledExecutorService scheduler, int timeout) {
         // if the connection is still the same, the subscription is still present, otherwise we need to renew
         if (hasSubscribed && connection.equals(this.connection)) {
             return CompletableFuture.completedFuture(null);
@@ -295,13 +414,20 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         this.connection = connection;
+        this.subscriptions = subscriptions;
 
         if (StringUtils.isBlank(config.stateTopic)) {
             return CompletableFuture.completedFuture(null);
         }
 
         this.future = new CompletableFuture<>();
-        connection.subscribe(config.stateTopic, this).thenRun(() -> {
+        // With shared subscriptions, channels and things with the same state topic share one subscription. Only the
+        // last message of a stateful channel is replayed to channels subscribing later, because only its state topic
+        // is expected to be retained.
+        final CompletableFuture<Boolean> subscribed = subscriptions != null
+                ? subscriptions.subscribe(config.stateTopic, this, isStateful())
+                : connection.subscribe(config.stateTopic, this);
+        subscribed.thenRun(() -> {
             hasSubscribed = true;
             logger.debug("Subscribed channel {} to topic: {}", this.channelUID, config.stateTopic);
             if (timeout > 0 && !future.isDone()) {
@@ -330,6 +456,20 @@ public class ChannelState implements MqttMessageSubscriber {
      *         and exceptionally otherwise.
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
+        return publishValue(command, null);
+    }
+
+    /**
+     * Publishes a value on MQTT through the outbound stage of the broker. A command topic needs to be set in the
+     * configuration.
+     *
+     * @param command The command to send
+     * @param outboundPublisher The outbound stage of the broker connection. If null, the value is published
+     *            directly on the broker connection.
+     * @return A future that completes with true if the publishing worked and false if it is a readonly topic
+     *         and exceptionally otherwise.
+     */
+    public CompletableFuture<Boolean> publishValue(Command command, @Nullable OutboundPublisher outboundPublisher) {
         cachedValue.update(command);
 
         Value mqttCommandValue = cachedValue;
@@ -381,6 +521,9 @@ public class ChannelState implements MqttMessageSubscriber {
 
         int qos = (config.qos != null) ? config.qos : connection.getQos();
 
+        if (outboundPublisher != null) {
+            return outboundPublisher.publish(config.commandTopic, commandString.getBytes(), qos, config.retained);
+        }
         return connection.publish(config.commandTopic, commandString.getBytes(), qos, config.retained);
     }
 
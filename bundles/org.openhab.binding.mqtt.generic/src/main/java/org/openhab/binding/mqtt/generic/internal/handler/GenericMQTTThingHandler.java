@@ -38,6 +38,7 @@ import org.openhab.binding.mqtt.generic.ChannelStateTransformation;
 import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
 import org.openhab.binding.mqtt.generic.MqttChannelStateDescriptionProvider;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
+import org.openhab.binding.mqtt.generic.tools.SharedJsonDocument;
 import org.openhab.binding.mqtt.generic.utils.FutureCollector;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.binding.mqtt.generic.values.ValueFactory;
@@ -84,7 +85,7 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
      */
     @Override
     protected CompletableFuture<@Nullable Void> start(MqttBrokerConnection connection) {
-        return channelStateByChannelUID.values().stream().map(c -> c.start(connection, scheduler, 0))
+        return channelStateByChannelUID.values().stream().map(c -> c.start(connection, subscriptions, scheduler, 0))
                 .collect(FutureCollector.allOf()).thenRun(this::calculateThingStatus);
     }
 
@@ -175,6 +176,8 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
             }
         }
 
+        shareJsonDocuments();
+
         // If some channels could not start up, put the entire thing offline and display the channels
         // in question to the user.
         if (!configErrors.isEmpty()) {
@@ -185,6 +188,24 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
         super.initialize();
     }
 
+    /**
+     * Channels with a JSONPATH transformation on the same state topic share the parsed JSON document,
+     * so that every message is parsed only once.
+     */
+    private void shareJsonDocuments() {
+        final Map<String, List<ChannelState>> jsonChannelsByTopic = channelStateByChannelUID.values().stream()
+                .filter(c -> StringUtils.isNotBlank(c.getStateTopic()) && c.hasJsonPathTransformation())
+                .collect(Collectors.groupingBy(ChannelState::getStateTopic));
+        jsonChannelsByTopic.forEach((topic, channels) -> {
+            if (channels.size() < 2) {
+                return;
+            }
+            final SharedJsonDocument sharedDocument = new SharedJsonDocument();
+            long shared = channels.stream().filter(c -> c.setSharedJsonDocument(sharedDocument)).count();
+            logger.debug("{} channels of thing {} share the JSON document of topic {}", shared, thing.getUID(), topic);
+        });
+    }
+
     @Override
     protected void updateThingStatus(boolean messageReceived, boolean availibilityTopicsSeen) {
         if (messageReceived || availibilityTopicsSeen) {
@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.binding.mqtt.generic.tools.WildcardSubscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -107,6 +108,7 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
     protected transient AttributeChanged attributeChangedListener = (b, c, d, e, f) -> {
     };
     private transient boolean complete = false;
+    private transient @Nullable WildcardSubscription wildcardSubscription;
 
     /**
      * Implement this interface to be notified of an updated field.
@@ -145,7 +147,7 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
             return CompletableFuture.completedFuture(null);
         }
 
-        final CompletableFuture<?>[] futures = subscriptions.stream().map(m -> connection.unsubscribe(m.topic, m))
+        final CompletableFuture<?>[] futures = subscriptions.stream().map(m -> m.unsubscribe(connection))
                 .toArray(CompletableFuture[]::new);
         subscriptions.clear();
         return CompletableFuture.allOf(futures);
@@ -245,7 +247,21 @@ public abstract class AbstractMqttAttributeClass implements SubscribeFieldToMQTT
 
         final String topic = basetopic + "/" + localPrefix + field.getName();
 
-        return createSubscriber(scheduler, field, topic, mandatory);
+        final SubscribeFieldToMQTTtopic subscriber = createSubscriber(scheduler, field, topic, mandatory);
+        subscriber.setWildcardSubscription(wildcardSubscription);
+        return subscriber;
+    }
+
+    /**
+     * Receive the attribute topics from the given wildcard subscription instead of subscribing to each
+     * topic on the broker. The wildcard subscription must cover the base topic and must be set before
+     * {@link #subscribeAndReceive(MqttBrokerConnection, ScheduledExecutorService, String, AttributeChanged, int)}
+     * is called.
+     *
+     * @param wildcardSubscription A wildcard subscription or null
+     */
+    public void setWildcardSubscription(@Nullable WildcardSubscription wildcardSubscription) {
+        this.wildcardSubscription = wildcardSubscription;
     }
 
     /**
@@ -25,6 +25,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttException;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.binding.mqtt.generic.tools.WildcardSubscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +48,7 @@ public class SubscribeFieldToMQTTtopic implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private final boolean mandatory;
     private boolean receivedValue = false;
+    private @Nullable WildcardSubscription wildcardSubscription;
 
     /**
      * Implement this interface to be notified of an updated field.
@@ -180,7 +182,11 @@ public class SubscribeFieldToMQTTtopic implements MqttMessageSubscriber {
      * @throws MqttException If an MQTT IO exception happens this exception is thrown.
      */
     public CompletableFuture<@Nullable Void> subscribeAndReceive(MqttBrokerConnection connection, int timeout) {
-        connection.subscribe(topic, this).exceptionally(e -> {
+        final WildcardSubscription wildcardSubscription = this.wildcardSubscription;
+        final CompletableFuture<Boolean> subscribeFuture = wildcardSubscription != null
+                ? wildcardSubscription.subscribe(topic, this)
+                : connection.subscribe(topic, this);
+        subscribeFuture.exceptionally(e -> {
             logger.debug("Failed to subscribe to topic {}", topic, e);
             final ScheduledFuture<?> scheduledFuture = this.scheduledFuture;
             if (scheduledFuture != null) { // Cancel timeout
@@ -197,6 +203,30 @@ public class SubscribeFieldToMQTTtopic implements MqttMessageSubscriber {
         return future;
     }
 
+    /**
+     * Unsubscribe from the MQTT topic.
+     *
+     * @param connection An MQTT connection.
+     * @return Returns a future that completes as soon as the unsubscription has been performed.
+     */
+    public CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection) {
+        final WildcardSubscription wildcardSubscription = this.wildcardSubscription;
+        if (wildcardSubscription != null) {
+            return wildcardSubscription.unsubscribe(topic, this);
+        }
+        return connection.unsubscribe(topic, this);
+    }
+
+    /**
+     * Receive values from the given wildcard subscription instead of subscribing to the topic on the broker.
+     * Must be set before {@link #subscribeAndReceive(MqttBrokerConnection, int)} is called.
+     *
+     * @param wildcardSubscription A wildcard subscription that covers {@link #topic} or null
+     */
+    public void setWildcardSubscription(@Nullable WildcardSubscription wildcardSubscription) {
+        this.wildcardSubscription = wildcardSubscription;
+    }
+
     /**
      * Return true if the corresponding field has received a value at least once.
      */
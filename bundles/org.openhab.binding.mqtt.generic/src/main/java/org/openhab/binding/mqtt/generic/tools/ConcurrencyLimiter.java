@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Limits the number of concurrently running asynchronous tasks. A task is a supplier of a future, the task
+ * is considered running until the returned future completes. Tasks beyond the limit are queued and started
+ * in submission order as soon as running tasks complete.
+ *
+ * <p>
+ * Use this to start many subscriptions at once, for example on startup, without flooding the broker connection.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ConcurrencyLimiter {
+    private final int limit;
+    private final Executor executor;
+    private final Queue<Runnable> queue = new ArrayDeque<>();
+    private int running = 0;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param limit The maximum number of concurrently running tasks. Must be at least 1.
+     * @param executor The executor that starts queued tasks.
+     */
+    public ConcurrencyLimiter(int limit, Executor executor) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("The limit must be at least 1!");
+        }
+        this.limit = limit;
+        this.executor = executor;
+    }
+
+    /**
+     * Submits a task. If the limit is not reached, the task is started immediately on the calling thread.
+     * Otherwise it is queued.
+     *
+     * @param task The task. The supplied future must complete eventually, otherwise the slot is never released.
+     * @return A future that completes with the result of the future supplied by the task.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Runnable runnable = () -> run(task, result);
+        synchronized (this) {
+            if (running >= limit) {
+                queue.add(runnable);
+                return result;
+            }
+            running++;
+        }
+        runnable.run();
+        return result;
+    }
+
+    private <T> void run(Supplier<CompletableFuture<T>> task, CompletableFuture<T> result) {
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((r, e) -> {
+            release();
+            if (e != null) {
+                result.completeExceptionally(e);
+            } else {
+                result.complete(r);
+            }
+        });
+    }
+
+    private void release() {
+        final Runnable next;
+        synchronized (this) {
+            next = queue.poll();
+            if (next == null) {
+                running--;
+                return;
+            }
+        }
+        // The slot is passed on to the next task. Start it on the executor to not grow the stack.
+        executor.execute(next);
+    }
+
+    /**
+     * Returns the number of running tasks.
+     */
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    /**
+     * Returns the number of queued tasks.
+     */
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * A compiled JSONPath selector, evaluated against an already parsed JSON document.
+ *
+ * <p>
+ * Only definite paths made of member names and array indices are supported, like
+ * <code>$.device.status.temperature</code>, <code>$['device'].values[0]</code>.
+ * Wildcards, deep scans, filters, slices and functions are left to the JSONPATH transformation service.
+ * </p>
+ *
+ * <p>
+ * Only primitive results are returned, formatted the same way as by the JSONPATH transformation service.
+ * For everything else (missing members, null, objects and arrays) {@link #select(JsonElement)} returns null
+ * and the caller is expected to fall back to the transformation service.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JsonPathSelector {
+    // Longer floating point numbers are kept as BigDecimal by the transformation service
+    private static final int MAX_DOUBLE_LENGTH = 18;
+
+    private final String path;
+    // Either a member name (String) or an array index (Integer)
+    private final List<Object> steps;
+
+    private JsonPathSelector(String path, List<Object> steps) {
+        this.path = path;
+        this.steps = steps;
+    }
+
+    /**
+     * Compiles a JSONPath expression.
+     *
+     * @param path A JSONPath expression
+     * @return A selector or null if the expression is not supported.
+     */
+    public static @Nullable JsonPathSelector compile(String path) {
+        final String trimmed = path.trim();
+        if (!trimmed.startsWith("$")) {
+            return null;
+        }
+        final List<Object> steps = new ArrayList<>();
+        int i = 1;
+        final int length = trimmed.length();
+        while (i < length) {
+            final char c = trimmed.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < length && isNameChar(trimmed.charAt(end))) {
+                    end++;
+                }
+                if (end == i + 1) {
+                    // Deep scan, wildcard or empty name
+                    return null;
+                }
+                steps.add(trimmed.substring(i + 1, end));
+                i = end;
+            } else if (c == '[' && i + 1 < length) {
+                final char quote = trimmed.charAt(i + 1);
+                if (quote == '\'' || quote == '"') {
+                    final int end = trimmed.indexOf(quote, i + 2);
+                    if (end < 0 || end + 1 >= length || trimmed.charAt(end + 1) != ']') {
+                        return null;
+                    }
+                    final String name = trimmed.substring(i + 2, end);
+                    if (name.indexOf('\\') >= 0) {
+                        return null;
+                    }
+                    steps.add(name);
+                    i = end + 2;
+                } else {
+                    int end = i + 1;
+                    while (end < length && Character.isDigit(trimmed.charAt(end))) {
+                        end++;
+                    }
+                    if (end == i + 1 || end - i > 10 || end >= length || trimmed.charAt(end) != ']') {
+                        return null;
+                    }
+                    steps.add(Integer.valueOf(trimmed.substring(i + 1, end)));
+                    i = end + 1;
+                }
+            } else {
+                return null;
+            }
+        }
+        return new JsonPathSelector(trimmed, steps);
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-';
+    }
+
+    /**
+     * Selects the value from the given document.
+     *
+     * @param document A parsed JSON document
+     * @return The value as string, or null if the path does not lead to a primitive value.
+     */
+    public @Nullable String select(JsonElement document) {
+        JsonElement element = document;
+        for (Object step : steps) {
+            if (step instanceof String) {
+                if (!element.isJsonObject()) {
+                    return null;
+                }
+                final @Nullable JsonElement member = ((JsonObject) element).get((String) step);
+                if (member == null) {
+                    return null;
+                }
+                element = member;
+            } else {
+                final int index = (Integer) step;
+                if (!element.isJsonArray() || index >= ((JsonArray) element).size()) {
+                    return null;
+                }
+                element = ((JsonArray) element).get(index);
+            }
+        }
+        if (!element.isJsonPrimitive()) {
+            return null;
+        }
+        final JsonPrimitive primitive = (JsonPrimitive) element;
+        if (!primitive.isNumber()) {
+            return primitive.getAsString();
+        }
+        final String number = primitive.getAsString();
+        try {
+            if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+                return new BigInteger(number).toString();
+            } else if (number.length() > MAX_DOUBLE_LENGTH) {
+                return new BigDecimal(number).toString();
+            } else {
+                return Double.toString(Double.parseDouble(number));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
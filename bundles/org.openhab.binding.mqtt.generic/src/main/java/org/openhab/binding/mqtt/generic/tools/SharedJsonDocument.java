@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * The parsed JSON document of the latest message on a state topic, shared by all channels of that topic.
+ *
+ * <p>
+ * Every subscriber of a topic receives the same payload array. The first channel to ask for the document
+ * parses the payload, all further channels reuse the parsed document.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SharedJsonDocument {
+    private final JsonParser parser = new JsonParser();
+    private byte @Nullable [] payload;
+    private @Nullable JsonElement document;
+    private long parseCount;
+
+    /**
+     * Returns the parsed document of the given payload.
+     *
+     * @param payload The MQTT payload
+     * @return The document or null if the payload is not valid JSON.
+     */
+    public synchronized @Nullable JsonElement getDocument(byte[] payload) {
+        if (payload != this.payload) {
+            this.payload = payload;
+            parseCount++;
+            try {
+                document = parser.parse(new String(payload, StandardCharsets.UTF_8));
+            } catch (JsonParseException e) {
+                document = null;
+            }
+        }
+        return document;
+    }
+
+    /**
+     * Returns how many payloads have been parsed.
+     */
+    public synchronized long getParseCount() {
+        return parseCount;
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * A single wildcard subscription to all topics below a base topic. Subscribers for single topics below the base topic
+ * are served from this subscription instead of subscribing to the broker themselves.
+ *
+ * <p>
+ * The last received value of each subscribed topic is kept. A subscriber for a topic that already received a value
+ * gets this value immediately, like it would get the retained value from the broker. The broker sends the retained
+ * values right after subscribing, before attributes are subscribed. The values of attribute topics, with a last
+ * level starting with "$", are therefore kept even without a subscriber.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class WildcardSubscription implements MqttMessageSubscriber {
+    private static final String ATTRIBUTE_PREFIX = "$";
+
+    private final String baseTopic;
+    private final Map<String, List<MqttMessageSubscriber>> subscribers = new HashMap<>();
+    private final Map<String, byte[]> lastValues = new HashMap<>();
+    private @Nullable MqttBrokerConnection connection;
+    private CompletableFuture<Boolean> started = new CompletableFuture<>();
+
+    /**
+     * Creates a wildcard subscription for "baseTopic/#".
+     *
+     * @param baseTopic The base topic
+     */
+    public WildcardSubscription(String baseTopic) {
+        this.baseTopic = baseTopic;
+    }
+
+    /**
+     * Subscribes to all topics below the base topic. Does nothing if already subscribed on the given connection.
+     *
+     * @param connection A broker connection
+     * @return Completes with true as soon as the subscription has been performed.
+     */
+    public synchronized CompletableFuture<Boolean> start(MqttBrokerConnection connection) {
+        if (connection.equals(this.connection)) {
+            return started;
+        }
+        final MqttBrokerConnection oldConnection = this.connection;
+        if (oldConnection != null) {
+            oldConnection.unsubscribe(getTopicFilter(), this);
+        }
+        this.connection = connection;
+        lastValues.clear();
+        final CompletableFuture<Boolean> started = connection.subscribe(getTopicFilter(), this);
+        this.started = started;
+        return started;
+    }
+
+    /**
+     * Unsubscribes from the broker and forgets all subscribers and values.
+     *
+     * @return Completes as soon as the unsubscription has been performed.
+     */
+    public synchronized CompletableFuture<Boolean> stop() {
+        final MqttBrokerConnection connection = this.connection;
+        this.connection = null;
+        started = new CompletableFuture<>();
+        subscribers.clear();
+        lastValues.clear();
+        if (connection == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return connection.unsubscribe(getTopicFilter(), this);
+    }
+
+    /**
+     * Returns the topic filter of the broker subscription.
+     */
+    public String getTopicFilter() {
+        return baseTopic + "/#";
+    }
+
+    /**
+     * Adds a subscriber for a single topic below the base topic. The last value of that topic is
+     * passed to the subscriber as soon as the broker subscription has been performed.
+     *
+     * @param topic A topic without wildcards
+     * @param subscriber The subscriber
+     * @return Completes with true as soon as the broker subscription has been performed
+     *         and the last value, if any, has been passed on.
+     */
+    public CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+        final CompletableFuture<Boolean> started;
+        final byte @Nullable [] lastValue;
+        synchronized (this) {
+            final List<MqttMessageSubscriber> list = subscribers.computeIfAbsent(topic, t -> new ArrayList<>());
+            if (list.contains(subscriber)) {
+                return this.started;
+            }
+            list.add(subscriber);
+            started = this.started;
+            lastValue = lastValues.get(topic);
+        }
+        return started.thenApply(result -> {
+            final boolean replay;
+            synchronized (this) {
+                // A newer value has already been passed on by processMessage()
+                replay = lastValue != null && lastValue == lastValues.get(topic)
+                        && subscribers.getOrDefault(topic, Collections.emptyList()).contains(subscriber);
+            }
+            if (replay && lastValue != null) {
+                subscriber.processMessage(topic, lastValue);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Removes a subscriber.
+     *
+     * @param topic The topic
+     * @param subscriber The subscriber
+     * @return A completed future. There is no broker interaction involved.
+     */
+    public synchronized CompletableFuture<Boolean> unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+        final List<MqttMessageSubscriber> list = subscribers.get(topic);
+        if (list != null) {
+            list.remove(subscriber);
+            if (list.isEmpty()) {
+                subscribers.remove(topic);
+                if (!isAttributeTopic(topic)) {
+                    lastValues.remove(topic);
+                }
+            }
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    /**
+     * Returns the number of topics with subscribers.
+     */
+    public synchronized int getSubscribedTopicCount() {
+        return subscribers.size();
+    }
+
+    private static boolean isAttributeTopic(String topic) {
+        return topic.substring(topic.lastIndexOf('/') + 1).startsWith(ATTRIBUTE_PREFIX);
+    }
+
+    @Override
+    public void processMessage(String topic, byte[] payload) {
+        final List<MqttMessageSubscriber> copy;
+        synchronized (this) {
+            final List<MqttMessageSubscriber> list = subscribers.get(topic);
+            if (payload.length == 0) {
+                lastValues.remove(topic);
+            } else if (list != null || isAttributeTopic(topic)) {
+                lastValues.put(topic, payload);
+            }
+            if (list == null) {
+                return;
+            }
+            // Subscribers are called outside of the lock and may add or remove subscribers meanwhile
+            copy = new ArrayList<>(list);
+        }
+        for (MqttMessageSubscriber subscriber : copy) {
+            subscriber.processMessage(topic, payload);
+        }
+    }
+}
@@ -87,6 +87,12 @@ public class NumberValue extends Value {
         return state.format(formatPattern);
     }
 
+    @Override
+    public @Nullable Command parseCommand(byte[] payload) {
+        // A plain number is parsed as a dimensionless quantity otherwise, which results in the same decimal state
+        return parseDecimal(payload);
+    }
+
     @Override
     public void update(Command command) throws IllegalArgumentException {
         DecimalType oldvalue = (state == UnDefType.UNDEF) ? new DecimalType() : (DecimalType) state;
@@ -73,6 +73,11 @@ public class PercentageValue extends Value {
         this.stepPercent = this.step.multiply(HUNDRED).divide(this.span, MathContext.DECIMAL128);
     }
 
+    @Override
+    public @Nullable Command parseCommand(byte[] payload) {
+        return parseDecimal(payload);
+    }
+
     @Override
     public void update(Command command) throws IllegalArgumentException {
         PercentType oldvalue = (state == UnDefType.UNDEF) ? new PercentType() : (PercentType) state;
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.mqtt.generic.values;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -58,6 +59,11 @@ public class TextValue extends Value {
         this.states = null;
     }
 
+    @Override
+    public @Nullable Command parseCommand(byte[] payload) {
+        return new StringType(new String(payload, StandardCharsets.UTF_8));
+    }
+
     @Override
     public void update(Command command) throws IllegalArgumentException {
         final Set<String> states = this.states;
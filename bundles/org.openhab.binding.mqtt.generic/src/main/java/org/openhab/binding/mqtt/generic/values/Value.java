@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic.values;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.URLConnection;
 import java.util.List;
 
@@ -136,6 +137,50 @@ public abstract class Value {
         return null;
     }
 
+    /**
+     * Parses the given MQTT payload directly into a command, without decoding it into a string first.
+     * <p>
+     * This is a fast path for payloads without transformations. It must return the same command
+     * the framework would parse from the decoded string with {@link #getSupportedCommandTypes()}.
+     * Return null if the payload is not handled by the fast path, the payload is then parsed
+     * the usual way. The base implementation always returns null.
+     * </p>
+     *
+     * @param payload The MQTT payload
+     * @return A command or null
+     */
+    public @Nullable Command parseCommand(byte[] payload) {
+        return null;
+    }
+
+    /**
+     * Parses a plain decimal number like "-12.5" from the payload, without exponent, unit or whitespace.
+     *
+     * @param payload The MQTT payload
+     * @return A decimal type or null if the payload is not a plain decimal number
+     */
+    protected static @Nullable DecimalType parseDecimal(byte[] payload) {
+        final int length = payload.length;
+        if (length == 0 || length > 32) {
+            return null;
+        }
+        final char[] chars = new char[length];
+        boolean digits = false;
+        boolean point = false;
+        for (int i = 0; i < length; i++) {
+            final byte b = payload[i];
+            if (b >= '0' && b <= '9') {
+                digits = true;
+            } else if (b == '.' && !point) {
+                point = true;
+            } else if (b != '-' || i != 0) {
+                return null;
+            }
+            chars[i] = (char) b;
+        }
+        return digits ? new DecimalType(new BigDecimal(chars)) : null;
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
@@ -47,6 +47,7 @@ import org.openhab.binding.mqtt.generic.values.DateTimeValue;
 import org.openhab.binding.mqtt.generic.values.ImageValue;
 import org.openhab.binding.mqtt.generic.values.LocationValue;
 import org.openhab.binding.mqtt.generic.values.NumberValue;
+import org.openhab.binding.mqtt.generic.values.OnOffValue;
 import org.openhab.binding.mqtt.generic.values.PercentageValue;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 
@@ -96,9 +97,9 @@ public class ChannelStateTests {
     public void noInteractionTimeoutTest() throws InterruptedException, ExecutionException, TimeoutException {
         ChannelState c = spy(new ChannelState(config, channelUID, textValue, channelStateUpdateListener));
         c.start(connection, scheduler, 50).get(100, TimeUnit.MILLISECONDS);
-        verify(connection).subscribe(eq("state"), eq(c));
+        verify(connection).subscribe(eq("state"), any());
         c.stop().get();
-        verify(connection).unsubscribe(eq("state"), eq(c));
+        verify(connection).unsubscribe(eq("state"), any());
     }
 
     @Test
@@ -106,7 +107,7 @@ public class ChannelStateTests {
         ChannelState c = spy(new ChannelState(config, channelUID, textValue, channelStateUpdateListener));
 
         c.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
-        verify(connection).subscribe(eq("state"), eq(c));
+        verify(connection).subscribe(eq("state"), any());
 
         c.publishValue(new StringType("UPDATE")).get();
         verify(connection).publish(eq("command"), argThat(p -> Arrays.equals(p, "UPDATE".getBytes())), anyInt(),
@@ -128,7 +129,7 @@ public class ChannelStateTests {
         verify(connection).publish(eq("command"), any(), anyInt(), eq(true));
 
         c.stop().get();
-        verify(connection).unsubscribe(eq("state"), eq(c));
+        verify(connection).unsubscribe(eq("state"), any());
     }
 
     @Test
@@ -324,4 +325,37 @@ public class ChannelStateTests {
         assertThat(value.getChannelState(), is(instanceOf(RawType.class)));
         assertThat(((RawType) value.getChannelState()).getMimeType(), is("image/jpeg"));
     }
+
+    @Test
+    public void receiveIdenticalPayloadTest() throws InterruptedException, ExecutionException, TimeoutException {
+        NumberValue value = new NumberValue(null, null, null, null);
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "21.5".getBytes());
+        c.processMessage("state", "21.5".getBytes());
+        verify(channelStateUpdateListener, times(1)).updateChannelState(eq(channelUID), any());
+
+        // A command changed the state in the meantime, the same payload has to be processed again
+        c.publishValue(new StringType("18")).get(50, TimeUnit.MILLISECONDS);
+        c.processMessage("state", "21.5".getBytes());
+        assertThat(value.getChannelState().toString(), is("21.5"));
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), any());
+    }
+
+    @Test
+    public void receiveOnOffFastPathTest() {
+        OnOffValue value = new OnOffValue("1", "0");
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "1".getBytes());
+        assertThat(value.getChannelState().toString(), is("ON"));
+        c.processMessage("state", "OFF".getBytes());
+        assertThat(value.getChannelState().toString(), is("OFF"));
+        c.processMessage("state", "ON".getBytes());
+        assertThat(value.getChannelState().toString(), is("ON"));
+        c.processMessage("state", "0".getBytes());
+        assertThat(value.getChannelState().toString(), is("OFF"));
+    }
 }
@@ -24,6 +24,7 @@ import java.util.concurrent.CompletableFuture;
 import javax.naming.ConfigurationException;
 
 import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
@@ -37,6 +38,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.openhab.binding.mqtt.generic.internal.handler.GenericMQTTThingHandler;
+import org.openhab.binding.mqtt.generic.tools.SharedJsonDocument;
+import org.openhab.binding.mqtt.generic.values.NumberValue;
+import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
 
 /**
@@ -128,4 +132,32 @@ public class ChannelStateTransformationTests {
         verify(callback).stateUpdated(eq(textChannelUID), argThat(arg -> "23.2".equals(arg.toString())));
         assertThat(channelConfig.getCache().getChannelState().toString(), is("23.2"));
     }
+
+    @Test
+    public void processMessageWithSharedJsonDocument() throws Exception {
+        ChannelConfig config = ChannelConfigBuilder.create("state", null).build();
+        ChannelStateUpdateListener listener = mock(ChannelStateUpdateListener.class);
+        NumberValue temperature = new NumberValue(null, null, null, null);
+        TextValue status = new TextValue();
+        ChannelState c1 = new ChannelState(config, new ChannelUID(testGenericThing, "num"), temperature, listener);
+        c1.addTransformation(
+                new ChannelStateTransformation("JSONPATH", jsonPathPattern, transformationServiceProvider));
+        ChannelState c2 = new ChannelState(config, textChannelUID, status, listener);
+        c2.addTransformation(
+                new ChannelStateTransformation("JSONPATH", "$['device'].name", transformationServiceProvider));
+
+        SharedJsonDocument sharedDocument = new SharedJsonDocument();
+        assertThat(c1.setSharedJsonDocument(sharedDocument), is(true));
+        assertThat(c2.setSharedJsonDocument(sharedDocument), is(true));
+
+        byte payload[] = "{ \"device\": { \"name\": \"sensor\", \"status\": { \"temperature\": 23.20 }}}"
+                .getBytes();
+        c1.processMessage("state", payload);
+        c2.processMessage("state", payload);
+
+        assertThat(temperature.getChannelState().toString(), is("23.2"));
+        assertThat(status.getChannelState().toString(), is("sensor"));
+        assertThat(sharedDocument.getParseCount(), is(1L));
+        verify(jsonPathService, times(0)).transform(any(), any());
+    }
 }
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ * Tests the {@link JsonPathSelector} class.
+ *
+ * @author agent - Initial contribution
+ */
+public class JsonPathSelectorTests {
+    private final JsonElement document = new JsonParser().parse("{ \"device\": { \"status\": { \"temperature\": 23.20,"
+            + " \"humidity\": 45, \"on\": true, \"name\": \"kitchen\", \"missing\": null },"
+            + " \"values\": [ 1.5, 2.5 ], \"big-number\": 123456789012345678901234 } }");
+
+    private String select(String path) {
+        JsonPathSelector selector = JsonPathSelector.compile(path);
+        assertThat(selector, is(notNullValue()));
+        return selector.select(document);
+    }
+
+    @Test
+    public void selectPrimitives() {
+        // Numbers are formatted like the JSONPATH transformation service does
+        assertThat(select("$.device.status.temperature"), is("23.2"));
+        assertThat(select("$.device.status.humidity"), is("45"));
+        assertThat(select("$.device.status.on"), is("true"));
+        assertThat(select("$['device'][\"status\"].name"), is("kitchen"));
+        assertThat(select("$.device.values[1]"), is("2.5"));
+        assertThat(select("$.device.big-number"), is("123456789012345678901234"));
+    }
+
+    @Test
+    public void fallbackForNonPrimitives() {
+        assertThat(select("$.device.status"), is(nullValue()));
+        assertThat(select("$.device.values"), is(nullValue()));
+        assertThat(select("$.device.status.missing"), is(nullValue()));
+        assertThat(select("$.device.status.unknown"), is(nullValue()));
+        assertThat(select("$.device.values[2]"), is(nullValue()));
+    }
+
+    @Test
+    public void unsupportedExpressions() {
+        assertThat(JsonPathSelector.compile("$..temperature"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$.device.*"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$.device.values[-1]"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$.device.values[0:1]"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$.device.values[?(@ > 1)]"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$.device.values.length()"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("device.status"), is(nullValue()));
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Tests the {@link WildcardSubscription} and {@link ConcurrencyLimiter} classes.
+ *
+ * @author agent - Initial contribution
+ */
+public class WildcardSubscriptionTests {
+    @Mock
+    private MqttBrokerConnection connection;
+
+    @Mock
+    private MqttMessageSubscriber subscriber;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+    }
+
+    @Test
+    public void singleBrokerSubscription() {
+        WildcardSubscription subscription = new WildcardSubscription("homie/device");
+        assertTrue(subscription.start(connection).join());
+        subscription.start(connection);
+        verify(connection, times(1)).subscribe("homie/device/#", subscription);
+
+        assertTrue(subscription.subscribe("homie/device/$name", subscriber).join());
+        assertTrue(subscription.subscribe("homie/device/node/$name", subscriber).join());
+        verify(connection, times(1)).subscribe(any(), any());
+        assertThat(subscription.getSubscribedTopicCount(), is(2));
+
+        final byte[] payload = "name".getBytes();
+        subscription.processMessage("homie/device/$name", payload);
+        subscription.processMessage("homie/device/$state", "ready".getBytes());
+        verify(subscriber).processMessage("homie/device/$name", payload);
+        verify(subscriber, times(1)).processMessage(any(), any());
+
+        subscription.unsubscribe("homie/device/$name", subscriber).join();
+        subscription.processMessage("homie/device/$name", payload);
+        verify(subscriber, times(1)).processMessage(any(), any());
+        verify(connection, never()).unsubscribe(any(), any());
+
+        subscription.stop().join();
+        verify(connection).unsubscribe("homie/device/#", subscription);
+        assertThat(subscription.getSubscribedTopicCount(), is(0));
+    }
+
+    @Test
+    public void lastValueIsPassedToLateSubscribers() {
+        WildcardSubscription subscription = new WildcardSubscription("homie/device");
+        subscription.start(connection);
+        final byte[] payload = "ready".getBytes();
+        subscription.processMessage("homie/device/$state", payload);
+
+        subscription.subscribe("homie/device/$state", subscriber).join();
+        verify(subscriber).processMessage("homie/device/$state", payload);
+
+        // An empty payload removes a retained value
+        subscription.processMessage("homie/device/$state", new byte[0]);
+        MqttMessageSubscriber other = mock(MqttMessageSubscriber.class);
+        subscription.subscribe("homie/device/$state", other).join();
+        verifyNoInteractions(other);
+    }
+
+    @Test
+    public void onlyAttributesAndSubscribedTopicsAreKept() {
+        WildcardSubscription subscription = new WildcardSubscription("homie/device");
+        subscription.start(connection);
+        final byte[] payload = "21.5".getBytes();
+        subscription.processMessage("homie/device/node/temperature", payload);
+
+        subscription.subscribe("homie/device/node/temperature", subscriber).join();
+        verifyNoInteractions(subscriber);
+
+        subscription.processMessage("homie/device/node/temperature", payload);
+        MqttMessageSubscriber other = mock(MqttMessageSubscriber.class);
+        subscription.subscribe("homie/device/node/temperature", other).join();
+        verify(other).processMessage("homie/device/node/temperature", payload);
+
+        // The value is dropped with the last subscriber
+        subscription.unsubscribe("homie/device/node/temperature", subscriber);
+        subscription.unsubscribe("homie/device/node/temperature", other);
+        subscription.subscribe("homie/device/node/temperature", other).join();
+        verify(other, times(1)).processMessage(any(), any());
+    }
+
+    @Test
+    public void lastValueIsNotPassedTwice() {
+        CompletableFuture<Boolean> subscribed = new CompletableFuture<>();
+        doReturn(subscribed).when(connection).subscribe(any(), any());
+        WildcardSubscription subscription = new WildcardSubscription("homie/device");
+        subscription.start(connection);
+
+        // The value is received while waiting for the broker subscription
+        CompletableFuture<Boolean> future = subscription.subscribe("homie/device/$name", subscriber);
+        final byte[] payload = "name".getBytes();
+        subscription.processMessage("homie/device/$name", payload);
+        subscribed.complete(true);
+        future.join();
+        verify(subscriber, times(1)).processMessage("homie/device/$name", payload);
+
+        // Subscribing again does not pass the value again
+        subscription.subscribe("homie/device/$name", subscriber).join();
+        verify(subscriber, times(1)).processMessage("homie/device/$name", payload);
+    }
+
+    @Test
+    public void subscribersWaitForBrokerSubscription() {
+        CompletableFuture<Boolean> subscribed = new CompletableFuture<>();
+        doReturn(subscribed).when(connection).subscribe(any(), any());
+        WildcardSubscription subscription = new WildcardSubscription("homie/device");
+        subscription.start(connection);
+
+        CompletableFuture<Boolean> future = subscription.subscribe("homie/device/$name", subscriber);
+        assertFalse(future.isDone());
+        subscribed.complete(true);
+        assertTrue(future.join());
+    }
+
+    @Test
+    public void concurrencyLimiterQueuesTasks() {
+        List<Runnable> executed = new ArrayList<>();
+        Executor executor = executed::add;
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, executor);
+        CompletableFuture<Integer> task1 = new CompletableFuture<>();
+        CompletableFuture<Integer> task2 = new CompletableFuture<>();
+        CompletableFuture<Integer> task3 = CompletableFuture.completedFuture(3);
+
+        CompletableFuture<Integer> result1 = limiter.submit(() -> task1);
+        limiter.submit(() -> task2);
+        CompletableFuture<Integer> result3 = limiter.submit(() -> task3);
+        assertThat(limiter.getRunningCount(), is(2));
+        assertThat(limiter.getQueuedCount(), is(1));
+
+        task1.complete(1);
+        assertThat(result1.join(), is(1));
+        // The queued task is started on the executor
+        assertThat(executed.size(), is(1));
+        assertFalse(result3.isDone());
+        executed.get(0).run();
+        assertThat(result3.join(), is(3));
+        assertThat(limiter.getRunningCount(), is(1));
+        assertThat(limiter.getQueuedCount(), is(0));
+    }
+}
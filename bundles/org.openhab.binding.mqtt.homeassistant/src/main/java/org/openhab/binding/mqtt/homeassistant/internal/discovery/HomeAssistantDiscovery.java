@@ -14,14 +14,16 @@ package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -51,21 +53,64 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 
 /**
  * The {@link HomeAssistantDiscovery} is responsible for discovering device nodes that follow the
  * Home Assistant MQTT discovery convention (https://www.home-assistant.io/docs/mqtt/discovery/).
  *
+ * <p>
+ * Discovered components are kept in an index by their {@link HaID}. A config message only updates the index entry of
+ * its component and marks the thing of that component as changed. Config payloads that did not change since the last
+ * message are not parsed again. The index is kept when the discovery is stopped, so that the retained config messages
+ * received after a restart of the discovery or a reconnect to the broker do not need to be parsed again.
+ * </p>
+ *
+ * <p>
+ * Discovery results of changed things are published a few seconds after the first change, in batches of at most
+ * {@link #MAX_RESULTS_PER_BATCH} results.
+ * </p>
+ *
  * @author David Graeff - Initial contribution
  */
 @Component(immediate = true, service = DiscoveryService.class, configurationPid = "discovery.mqttha")
 @NonNullByDefault
 public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
-    @SuppressWarnings("unused")
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantDiscovery.class);
-    protected final Map<String, Set<HaID>> componentsPerThingID = new TreeMap<>();
-    protected final Map<String, ThingUID> thingIDPerTopic = new TreeMap<>();
-    protected final Map<String, DiscoveryResult> results = new ConcurrentHashMap<>();
+
+    // Components are collected for this time before results are published, in seconds
+    static final int COLLECT_DELAY = 2;
+    // Maximum number of results published at once, and the delay before the next batch in milliseconds
+    static final int MAX_RESULTS_PER_BATCH = 50;
+    static final int BATCH_DELAY = 200;
+
+    /**
+     * A discovered component, its config payload and the parsed configuration
+     */
+    protected static class DiscoveredComponent {
+        final HaID haID;
+        final ThingUID bridgeUID;
+        final byte[] payload;
+        final BaseChannelConfiguration config;
+        final String thingID;
+
+        DiscoveredComponent(HaID haID, ThingUID bridgeUID, byte[] payload, BaseChannelConfiguration config) {
+            this.haID = haID;
+            this.bridgeUID = bridgeUID;
+            this.payload = payload;
+            this.config = config;
+            this.thingID = config.getThingId(haID.objectID);
+        }
+    }
+
+    // Index of all discovered components
+    protected final Map<HaID, DiscoveredComponent> components = new HashMap<>();
+    // The components of each thing, by thing ID. The last changed component is the last entry.
+    protected final Map<String, Set<HaID>> componentsPerThingID = new HashMap<>();
+    // Things that changed since their last discovery result, by thing ID
+    protected final Set<String> changedThingIDs = new LinkedHashSet<>();
+    // Things that got a discovery result since the discovery has been started
+    protected final Set<String> publishedThingIDs = new HashSet<>();
 
     private @Nullable ScheduledFuture<?> future;
     private final Gson gson;
@@ -126,6 +171,26 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         return typeProvider.getThingTypeUIDs();
     }
 
+    @Override
+    protected void startScan() {
+        resetPublishedThings();
+        super.startScan();
+    }
+
+    @Override
+    protected void startBackgroundDiscovery() {
+        resetPublishedThings();
+        super.startBackgroundDiscovery();
+    }
+
+    /**
+     * Older results are removed when the discovery starts. The things of all indexed components
+     * need a new result, even if their config does not change.
+     */
+    private synchronized void resetPublishedThings() {
+        publishedThingIDs.clear();
+    }
+
     @Override
     public void receivedMessage(ThingUID connectionBridge, MqttBrokerConnection connection, String topic,
             byte[] payload) {
@@ -139,65 +204,153 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             return;
         }
 
-        // Reset the found-component timer.
-        // We will collect components for the thing label description for another 2 seconds.
-        final ScheduledFuture<?> future = this.future;
-        if (future != null) {
-            future.cancel(false);
+        final HaID haID;
+        try {
+            haID = new HaID(topic);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring topic {}: {}", topic, e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            final DiscoveredComponent existing = components.get(haID);
+            if (existing != null && Arrays.equals(existing.payload, payload)
+                    && existing.bridgeUID.equals(connectionBridge)) {
+                // Unchanged config. Only a thing without a result since the discovery started needs one.
+                if (!publishedThingIDs.contains(existing.thingID)) {
+                    markChanged(existing.thingID);
+                }
+                return;
+            }
         }
-        this.future = scheduler.schedule(this::publishResults, 2, TimeUnit.SECONDS);
 
-        BaseChannelConfiguration config = BaseChannelConfiguration
-                .fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        final BaseChannelConfiguration config;
+        try {
+            config = BaseChannelConfiguration.fromString(new String(payload, StandardCharsets.UTF_8), gson);
+        } catch (JsonParseException e) {
+            logger.debug("Ignoring invalid config on topic {}: {}", topic, e.getMessage());
+            return;
+        }
+        final DiscoveredComponent component = new DiscoveredComponent(haID, connectionBridge, payload, config);
 
         // We will of course find multiple of the same unique Thing IDs, for each different component another one.
         // Therefore the components are assembled into a list and given to the DiscoveryResult label for the user to
         // easily recognize object capabilities.
+        synchronized (this) {
+            final DiscoveredComponent previous = components.put(haID, component);
+            if (previous != null && (!previous.thingID.equals(component.thingID)
+                    || !previous.bridgeUID.equals(component.bridgeUID))) {
+                removeFromThing(previous);
+            }
+            final Set<HaID> thingComponents = componentsPerThingID.computeIfAbsent(component.thingID,
+                    key -> new LinkedHashSet<>());
+            thingComponents.remove(haID);
+            thingComponents.add(haID);
+            markChanged(component.thingID);
+        }
+    }
 
-        HaID haID = new HaID(topic);
-        final String thingID = config.getThingId(haID.objectID);
+    /**
+     * Marks the thing as changed and arms the timer to publish the results, if not armed yet.
+     * The timer is not restarted for further changes, so that results are published even if
+     * config messages keep coming in.
+     */
+    private void markChanged(String thingID) {
+        changedThingIDs.add(thingID);
+        final ScheduledFuture<?> future = this.future;
+        if (future == null || future.isDone()) {
+            this.future = scheduler.schedule(this::publishResults, COLLECT_DELAY, TimeUnit.SECONDS);
+        }
+    }
 
+    /**
+     * Removes the component from its thing. Removes the discovery result if this was the last component of the thing.
+     */
+    private void removeFromThing(DiscoveredComponent component) {
+        final Set<HaID> thingComponents = componentsPerThingID.get(component.thingID);
+        if (thingComponents == null) {
+            return;
+        }
+        thingComponents.remove(component.haID);
+        if (thingComponents.isEmpty()) {
+            componentsPerThingID.remove(component.thingID);
+            changedThingIDs.remove(component.thingID);
+            publishedThingIDs.remove(component.thingID);
+            thingRemoved(createThingUID(component.bridgeUID, component.thingID));
+        } else {
+            markChanged(component.thingID);
+        }
+    }
+
+    private static ThingUID createThingUID(ThingUID connectionBridge, String thingID) {
         final ThingTypeUID typeID = new ThingTypeUID(MqttBindingConstants.BINDING_ID,
                 MqttBindingConstants.HOMEASSISTANT_MQTT_THING.getId() + "_" + thingID);
+        return new ThingUID(typeID, connectionBridge, thingID);
+    }
 
-        final ThingUID thingUID = new ThingUID(typeID, connectionBridge, thingID);
-
-        thingIDPerTopic.put(topic, thingUID);
-
-        // We need to keep track of already found component topics for a specific thing
-        Set<HaID> components = componentsPerThingID.computeIfAbsent(thingID, key -> ConcurrentHashMap.newKeySet());
-        components.add(haID);
-
-        final String componentNames = components.stream().map(id -> id.component)
+    /**
+     * Creates the discovery result of a thing from the indexed components.
+     *
+     * @param thingComponents The components of the thing. The configuration of the last component is used for the
+     *            thing name and properties.
+     */
+    private static DiscoveryResult createResult(String thingID, List<DiscoveredComponent> thingComponents) {
+        final DiscoveredComponent last = thingComponents.get(thingComponents.size() - 1);
+        final ThingUID thingUID = createThingUID(last.bridgeUID, thingID);
+
+        final String componentNames = thingComponents.stream().map(c -> c.haID.component)
                 .map(c -> HA_COMP_TO_NAME.getOrDefault(c, c)).collect(Collectors.joining(", "));
 
-        final List<String> topics = components.stream().map(HaID::toShortTopic).collect(Collectors.toList());
+        final List<String> topics = thingComponents.stream().map(c -> c.haID.toShortTopic())
+                .collect(Collectors.toList());
 
         Map<String, Object> properties = new HashMap<>();
-        HandlerConfiguration handlerConfig = new HandlerConfiguration(haID.baseTopic, topics);
+        HandlerConfiguration handlerConfig = new HandlerConfiguration(last.haID.baseTopic, topics);
         properties = handlerConfig.appendToProperties(properties);
-        properties = config.appendToProperties(properties);
+        properties = last.config.appendToProperties(properties);
 
-        // Because we need the new properties map with the updated "components" list
-        results.put(thingUID.getAsString(),
-                DiscoveryResultBuilder.create(thingUID).withProperties(properties).withRepresentationProperty(thingID)
-                        .withBridge(connectionBridge).withLabel(config.getThingName() + " (" + componentNames + ")")
-                        .build());
+        return DiscoveryResultBuilder.create(thingUID).withProperties(properties).withRepresentationProperty(thingID)
+                .withBridge(last.bridgeUID).withLabel(last.config.getThingName() + " (" + componentNames + ")")
+                .build();
     }
 
+    /**
+     * Publishes the results of up to {@link #MAX_RESULTS_PER_BATCH} changed things.
+     * Schedules the next batch if more things changed.
+     */
     protected void publishResults() {
-        Collection<DiscoveryResult> localResults;
+        final Map<String, List<DiscoveredComponent>> changedThings = new LinkedHashMap<>();
+        synchronized (this) {
+            Iterator<String> it = changedThingIDs.iterator();
+            while (it.hasNext() && changedThings.size() < MAX_RESULTS_PER_BATCH) {
+                final String thingID = it.next();
+                it.remove();
+                final Set<HaID> thingComponents = componentsPerThingID.get(thingID);
+                if (thingComponents == null || thingComponents.isEmpty()) {
+                    continue;
+                }
+                final List<DiscoveredComponent> list = new ArrayList<>(thingComponents.size());
+                for (HaID haID : thingComponents) {
+                    final DiscoveredComponent component = components.get(haID);
+                    if (component != null) {
+                        list.add(component);
+                    }
+                }
+                changedThings.put(thingID, list);
+                publishedThingIDs.add(thingID);
+            }
+            if (!changedThingIDs.isEmpty()) {
+                future = scheduler.schedule(this::publishResults, BATCH_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
 
-        localResults = new ArrayList<>(results.values());
-        results.clear();
-        componentsPerThingID.clear();
-        for (DiscoveryResult result : localResults) {
+        changedThings.forEach((thingID, thingComponents) -> {
+            final DiscoveryResult result = createResult(thingID, thingComponents);
             final ThingTypeUID typeID = result.getThingTypeUID();
             ThingType type = typeProvider.derive(typeID, MqttBindingConstants.HOMEASSISTANT_MQTT_THING).build();
             typeProvider.setThingTypeIfAbsent(typeID, type);
 
             thingDiscovered(result);
-        }
+        });
     }
 
     @Override
@@ -205,16 +358,16 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
-        if (thingIDPerTopic.containsKey(topic)) {
-            ThingUID thingUID = thingIDPerTopic.remove(topic);
-            final String thingID = thingUID.getId();
-
-            HaID haID = new HaID(topic);
-
-            Set<HaID> components = componentsPerThingID.getOrDefault(thingID, Collections.emptySet());
-            components.remove(haID);
-            if (components.isEmpty()) {
-                thingRemoved(thingUID);
+        final HaID haID;
+        try {
+            haID = new HaID(topic);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        synchronized (this) {
+            final DiscoveredComponent component = components.remove(haID);
+            if (component != null) {
+                removeFromThing(component);
             }
         }
     }
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.eclipse.smarthome.config.discovery.DiscoveryListener;
+import org.eclipse.smarthome.config.discovery.DiscoveryResult;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingTypeBuilder;
+import org.eclipse.smarthome.core.thing.type.ThingTypeRegistry;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
+import org.openhab.binding.mqtt.homeassistant.generic.internal.MqttBindingConstants;
+import org.openhab.binding.mqtt.homeassistant.internal.HaID;
+
+/**
+ * Tests the incremental component index of the {@link HomeAssistantDiscovery}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HomeAssistantDiscoveryTests {
+    private static final ThingUID BRIDGE_UID = new ThingUID("mqtt", "broker", "bridge");
+
+    @Mock
+    private ThingTypeRegistry thingTypeRegistry;
+
+    @Mock
+    private MqttBrokerConnection connection;
+
+    @Mock
+    private DiscoveryListener listener;
+
+    private HomeAssistantDiscovery discovery;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doReturn(ThingTypeBuilder.instance(MqttBindingConstants.HOMEASSISTANT_MQTT_THING, "HomeAssistant").build())
+                .when(thingTypeRegistry).getThingType(MqttBindingConstants.HOMEASSISTANT_MQTT_THING);
+        discovery = new HomeAssistantDiscovery();
+        discovery.setTypeProvider(new MqttChannelTypeProvider(thingTypeRegistry));
+        discovery.addDiscoveryListener(listener);
+    }
+
+    private static byte[] config(String deviceId, String name) {
+        return ("{ \"name\": \"" + name + "\", \"state_topic\": \"state\", \"device\": { \"identifiers\": [\""
+                + deviceId + "\"], \"name\": \"Device " + deviceId + "\" } }").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void componentsOfADeviceFormOneResult() {
+        discovery.receivedMessage(BRIDGE_UID, connection, "homeassistant/switch/dev1/a/config", config("dev1", "A"));
+        discovery.receivedMessage(BRIDGE_UID, connection, "homeassistant/sensor/dev1/b/config", config("dev1", "B"));
+        discovery.receivedMessage(BRIDGE_UID, connection, "homeassistant/sensor/dev1/b/state", config("dev1", "B"));
+        discovery.publishResults();
+
+        ArgumentCaptor<DiscoveryResult> result = ArgumentCaptor.forClass(DiscoveryResult.class);
+        verify(listener).thingDiscovered(eq(discovery), result.capture());
+        assertThat(result.getValue().getLabel(), is("Device dev1 (Switch, Sensor)"));
+        assertThat(result.getValue().getThingTypeUID(),
+                is(new ThingTypeUID(MqttBindingConstants.BINDING_ID, "homeassistant_dev1")));
+        assertThat(result.getValue().getProperties().get("topics"),
+                is((Object) Arrays.asList("switch/dev1/a", "sensor/dev1/b")));
+
+        discovery.topicVanished(BRIDGE_UID, connection, "homeassistant/switch/dev1/a/config");
+        verify(listener, never()).thingRemoved(any(), any());
+        discovery.topicVanished(BRIDGE_UID, connection, "homeassistant/sensor/dev1/b/config");
+        verify(listener).thingRemoved(discovery, result.getValue().getThingUID());
+    }
+
+    @Test
+    public void unchangedConfigIsNotParsedAgain() {
+        final String topic = "homeassistant/switch/dev1/a/config";
+        final HaID haID = new HaID(topic);
+        discovery.receivedMessage(BRIDGE_UID, connection, topic, config("dev1", "A"));
+        discovery.publishResults();
+        final HomeAssistantDiscovery.DiscoveredComponent component = discovery.components.get(haID);
+
+        // The retained config is received again, for example after a reconnect
+        discovery.receivedMessage(BRIDGE_UID, connection, topic, config("dev1", "A"));
+        assertThat(discovery.components.get(haID), is(sameInstance(component)));
+        assertThat(discovery.changedThingIDs.isEmpty(), is(true));
+
+        discovery.receivedMessage(BRIDGE_UID, connection, topic, config("dev1", "A2"));
+        assertThat(discovery.components.get(haID), is(not(sameInstance(component))));
+        assertThat(discovery.changedThingIDs, hasItem("dev1"));
+    }
+
+    @Test
+    public void resultsArePublishedInBatches() {
+        final int things = HomeAssistantDiscovery.MAX_RESULTS_PER_BATCH + 10;
+        for (int i = 0; i < things; i++) {
+            discovery.receivedMessage(BRIDGE_UID, connection, "homeassistant/switch/dev" + i + "/a/config",
+                    config("dev" + i, "A"));
+        }
+        discovery.publishResults();
+
+        verify(listener, times(HomeAssistantDiscovery.MAX_RESULTS_PER_BATCH)).thingDiscovered(any(), any());
+        assertThat(discovery.changedThingIDs.size(), is(10));
+    }
+}
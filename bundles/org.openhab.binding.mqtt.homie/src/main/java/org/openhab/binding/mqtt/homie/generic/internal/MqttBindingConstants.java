@@ -37,4 +37,5 @@ public class MqttBindingConstants {
     public static final int HOMIE_DEVICE_TIMEOUT_MS = 15000;
     public static final int HOMIE_SUBSCRIBE_TIMEOUT_MS = 500;
     public static final int HOMIE_ATTRIBUTE_TIMEOUT_MS = 200;
+    public static final int HOMIE_MAX_CONCURRENT_DEVICES = 20;
 }
@@ -18,6 +18,7 @@ import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
@@ -28,6 +29,7 @@ import org.eclipse.smarthome.core.transform.TransformationService;
 import org.openhab.binding.mqtt.generic.MqttChannelStateDescriptionProvider;
 import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
+import org.openhab.binding.mqtt.generic.tools.ConcurrencyLimiter;
 import org.openhab.binding.mqtt.homie.internal.handler.HomieThingHandler;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -48,6 +50,9 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements
     private @NonNullByDefault({}) MqttChannelStateDescriptionProvider stateDescriptionProvider;
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Stream
             .of(MqttBindingConstants.HOMIE300_MQTT_THING).collect(Collectors.toSet());
+    // Shared by all handlers, so that not all devices subscribe to their device tree at the same time
+    private final ConcurrencyLimiter startLimiter = new ConcurrencyLimiter(
+            MqttBindingConstants.HOMIE_MAX_CONCURRENT_DEVICES, ThreadPoolManager.getScheduledPool("thingHandler"));
 
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
@@ -90,7 +95,8 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements
 
         if (thingTypeUID.equals(MqttBindingConstants.HOMIE300_MQTT_THING)) {
             return new HomieThingHandler(thing, typeProvider, MqttBindingConstants.HOMIE_DEVICE_TIMEOUT_MS,
-                    MqttBindingConstants.HOMIE_SUBSCRIBE_TIMEOUT_MS, MqttBindingConstants.HOMIE_ATTRIBUTE_TIMEOUT_MS);
+                    MqttBindingConstants.HOMIE_SUBSCRIBE_TIMEOUT_MS, MqttBindingConstants.HOMIE_ATTRIBUTE_TIMEOUT_MS,
+                    startLimiter);
         }
         return null;
     }
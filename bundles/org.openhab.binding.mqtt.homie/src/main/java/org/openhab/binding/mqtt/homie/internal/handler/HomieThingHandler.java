@@ -15,6 +15,8 @@ package org.openhab.binding.mqtt.homie.internal.handler;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -29,6 +31,7 @@ import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.binding.mqtt.generic.AbstractMQTTThingHandler;
 import org.openhab.binding.mqtt.generic.ChannelState;
 import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
+import org.openhab.binding.mqtt.generic.tools.ConcurrencyLimiter;
 import org.openhab.binding.mqtt.generic.tools.DelayedBatchProcessing;
 import org.openhab.binding.mqtt.homie.generic.internal.MqttBindingConstants;
 import org.openhab.binding.mqtt.homie.internal.homie300.Device;
@@ -59,6 +62,8 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
     protected HandlerConfiguration config = new HandlerConfiguration();
     protected DelayedBatchProcessing<Object> delayedProcessing;
     private @Nullable ScheduledFuture<?> heartBeatTimer;
+    // Limits the number of devices that subscribe to their device tree at the same time
+    private final ConcurrencyLimiter startLimiter;
 
     /**
      * Create a new thing handler for homie discovered things. A channel type provider and a topic value receive timeout
@@ -74,7 +79,24 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
      */
     public HomieThingHandler(Thing thing, MqttChannelTypeProvider channelTypeProvider, int deviceTimeout,
             int subscribeTimeout, int attributeReceiveTimeout) {
+        this(thing, channelTypeProvider, deviceTimeout, subscribeTimeout, attributeReceiveTimeout,
+                new ConcurrencyLimiter(1, Runnable::run));
+    }
+
+    /**
+     * Create a new thing handler for homie discovered things, that shares a start limiter with other handlers.
+     *
+     * @param thing The thing of this handler
+     * @param channelTypeProvider A channel type provider
+     * @param deviceTimeout Timeout for the entire device subscription. In milliseconds.
+     * @param subscribeTimeout Timeout for an entire attribute class subscription and receive. In milliseconds.
+     * @param attributeReceiveTimeout The timeout per attribute field subscription. In milliseconds.
+     * @param startLimiter Limits how many devices subscribe to their device tree at the same time.
+     */
+    public HomieThingHandler(Thing thing, MqttChannelTypeProvider channelTypeProvider, int deviceTimeout,
+            int subscribeTimeout, int attributeReceiveTimeout, ConcurrencyLimiter startLimiter) {
         super(thing, deviceTimeout);
+        this.startLimiter = startLimiter;
         this.channelTypeProvider = channelTypeProvider;
         this.deviceTimeout = deviceTimeout;
         this.subscribeTimeout = subscribeTimeout;
@@ -125,11 +147,41 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
                     "Homie devices require QoS 1 but Qos 0/2 is configured. Using override. Please check the configuration");
             connection.setQos(1);
         }
-        return device.subscribe(connection, scheduler, attributeReceiveTimeout).thenCompose((Void v) -> {
-            return device.startChannels(connection, scheduler, attributeReceiveTimeout, this);
-        }).thenRun(() -> {
-            logger.debug("Homie device {} fully attached", device.attributes.name);
+        // The number of device trees subscribed at the same time is limited by the shared start limiter. Waiting for
+        // a free slot must neither block the caller nor count against its subscribe timeout, so the device tree is
+        // subscribed in the background and failures are reported when they occur. The device timeout still limits
+        // the subscription itself once it has started.
+        startLimiter.submit(() -> {
+            if (!connection.equals(this.connection)) {
+                // Stopped or restarted while waiting for a free slot
+                return CompletableFuture.<@Nullable Void> completedFuture(null);
+            }
+            return subscribeDeviceTree(connection);
+        }).whenComplete((result, e) -> {
+            if (!connection.equals(this.connection)) {
+                return;
+            }
+            if (e != null) {
+                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getLocalizedMessage());
+            } else {
+                logger.debug("Homie device {} fully attached", device.attributes.name);
+            }
         });
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private CompletableFuture<@Nullable Void> subscribeDeviceTree(MqttBrokerConnection connection) {
+        final CompletableFuture<@Nullable Void> future = device
+                .subscribe(connection, scheduler, attributeReceiveTimeout).thenCompose((Void v) -> {
+                    return device.startChannels(connection, scheduler, attributeReceiveTimeout, this);
+                });
+        if (!future.isDone()) {
+            final ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+                future.completeExceptionally(new TimeoutException("Did not receive all required topics"));
+            }, deviceTimeout, TimeUnit.MILLISECONDS);
+            future.whenComplete((r, e) -> timeout.cancel(false));
+        }
+        return future;
     }
 
     @Override
@@ -29,6 +29,7 @@ import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.binding.mqtt.generic.ChannelConfig;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
+import org.openhab.binding.mqtt.generic.tools.WildcardSubscription;
 import org.openhab.binding.mqtt.homie.internal.handler.HomieThingHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +65,8 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
     private String topic = "";
     public String deviceID = "";
     private boolean initialized = false;
+    // One subscription for the entire device tree, attribute topics are routed locally
+    private WildcardSubscription wildcardSubscription = new WildcardSubscription("");
 
     /**
      * Creates a Homie Device structure. It consists of device attributes, device statistics and nodes.
@@ -101,6 +104,9 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
      *
      * Call {@link #startChannels(MqttBrokerConnection)} subsequently.
      *
+     * Only a single wildcard subscription to the device topic is performed on the broker. The attributes of the
+     * device, nodes and properties receive their values from that subscription.
+     *
      * @param connection A broker connection
      * @param scheduler A scheduler to realize the timeout
      * @param timeout A timeout in milliseconds
@@ -113,7 +119,10 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
             throw new IllegalStateException("You must call initialize()!");
         }
 
-        return attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout)
+        final WildcardSubscription wildcardSubscription = this.wildcardSubscription;
+        attributes.setWildcardSubscription(wildcardSubscription);
+        return wildcardSubscription.start(connection)
+                .thenCompose(b -> attributes.subscribeAndReceive(connection, scheduler, topic, this, timeout))
                 // On success, create all nodes and tell the handler about the ready state
                 .thenCompose(b -> attributesReceived(connection, scheduler, timeout))
                 // No matter if values have been received or not -> the subscriptions have been performed
@@ -174,6 +183,7 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
      * Unsubscribe from everything.
      */
     public CompletableFuture<@Nullable Void> stop() {
+        wildcardSubscription.stop();
         return attributes.unsubscribe().thenCompose(
                 b -> CompletableFuture.allOf(nodes.stream().map(Node::stop).toArray(CompletableFuture[]::new)));
     }
@@ -201,6 +211,8 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
     public void initialize(String baseTopic, String deviceID, List<Channel> channels) {
         this.topic = baseTopic + "/" + deviceID;
         this.deviceID = deviceID;
+        wildcardSubscription.stop();
+        wildcardSubscription = new WildcardSubscription(topic);
         nodes.clear();
         for (Channel channel : channels) {
             final ChannelConfig channelConfig = channel.getConfiguration().as(ChannelConfig.class);
@@ -275,11 +287,14 @@ public class Device implements AbstractMqttAttributeClass.AttributeChanged {
 
     CompletableFuture<@Nullable Void> applyNodes(MqttBrokerConnection connection, ScheduledExecutorService scheduler,
             int timeout) {
-        return nodes.apply(attributes.nodes, node -> node.subscribe(connection, scheduler, timeout), this::createNode,
-                this::notifyNodeRemoved).exceptionally(e -> {
-                    logger.warn("Could not subscribe", e);
-                    return null;
-                });
+        final WildcardSubscription wildcardSubscription = this.wildcardSubscription;
+        return nodes.apply(attributes.nodes, node -> {
+            node.setWildcardSubscription(wildcardSubscription);
+            return node.subscribe(connection, scheduler, timeout);
+        }, this::createNode, this::notifyNodeRemoved).exceptionally(e -> {
+            logger.warn("Could not subscribe", e);
+            return null;
+        });
     }
 
     @Override
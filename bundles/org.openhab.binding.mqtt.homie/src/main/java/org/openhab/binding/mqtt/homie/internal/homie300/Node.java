@@ -32,6 +32,7 @@ import org.eclipse.smarthome.core.util.UIDUtils;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.binding.mqtt.generic.mapping.AbstractMqttAttributeClass;
 import org.openhab.binding.mqtt.generic.tools.ChildMap;
+import org.openhab.binding.mqtt.generic.tools.WildcardSubscription;
 import org.openhab.binding.mqtt.homie.generic.internal.MqttBindingConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,6 +59,7 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
     public final ChannelGroupTypeUID channelGroupTypeUID;
     private final String topic;
     private boolean initialized = false;
+    private @Nullable WildcardSubscription wildcardSubscription;
 
     /**
      * Creates a Homie Node.
@@ -99,6 +101,17 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
         return applyProperties(connection, scheduler, timeout);
     }
 
+    /**
+     * Receive the node and property attributes from the given wildcard subscription of the device.
+     * Must be called before {@link #subscribe(MqttBrokerConnection, ScheduledExecutorService, int)}.
+     *
+     * @param wildcardSubscription The wildcard subscription of the device or null
+     */
+    public void setWildcardSubscription(@Nullable WildcardSubscription wildcardSubscription) {
+        this.wildcardSubscription = wildcardSubscription;
+        attributes.setWildcardSubscription(wildcardSubscription);
+    }
+
     public void nodeRestoredFromConfig() {
         initialized = true;
     }
@@ -174,11 +187,14 @@ public class Node implements AbstractMqttAttributeClass.AttributeChanged {
 
     protected CompletableFuture<@Nullable Void> applyProperties(MqttBrokerConnection connection,
             ScheduledExecutorService scheduler, int timeout) {
-        return properties.apply(attributes.properties, prop -> prop.subscribe(connection, scheduler, timeout),
-                this::createProperty, this::notifyPropertyRemoved).exceptionally(e -> {
-                    logger.warn("Could not subscribe", e);
-                    return null;
-                });
+        final WildcardSubscription wildcardSubscription = this.wildcardSubscription;
+        return properties.apply(attributes.properties, prop -> {
+            prop.attributes.setWildcardSubscription(wildcardSubscription);
+            return prop.subscribe(connection, scheduler, timeout);
+        }, this::createProperty, this::notifyPropertyRemoved).exceptionally(e -> {
+            logger.warn("Could not subscribe", e);
+            return null;
+        });
     }
 
     @Override
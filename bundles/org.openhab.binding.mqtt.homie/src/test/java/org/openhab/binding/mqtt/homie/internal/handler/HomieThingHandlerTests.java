@@ -47,6 +47,7 @@ import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.invocation.InvocationOnMock;
@@ -178,8 +179,8 @@ public class HomieThingHandlerTests {
     @Test
     public void initializeGeneralTimeout() throws InterruptedException {
         // A non completed future is returned for a subscribe call to the attributes
-        doReturn(future).when(thingHandler.device.attributes).subscribeAndReceive(any(), any(), anyString(), any(),
-                anyInt());
+        doReturn(new CompletableFuture<>()).when(thingHandler.device.attributes).subscribeAndReceive(any(), any(),
+                anyString(), any(), anyInt());
         doReturn(future).when(thingHandler.device.attributes).unsubscribe();
 
         // Prevent a call to accept, that would update our thing.
@@ -187,6 +188,11 @@ public class HomieThingHandlerTests {
 
         thingHandler.initialize();
 
+        // The device tree is subscribed in the background, let the device timeout expire
+        ArgumentCaptor<Runnable> timeout = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(timeout.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        timeout.getValue().run();
+
         verify(callback).statusUpdated(eq(thing), argThat((arg) -> arg.getStatus().equals(ThingStatus.OFFLINE)
                 && arg.getStatusDetail().equals(ThingStatusDetail.COMMUNICATION_ERROR)));
     }
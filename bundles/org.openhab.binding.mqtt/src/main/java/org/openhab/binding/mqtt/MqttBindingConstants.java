@@ -12,6 +12,10 @@
  */
 package org.openhab.binding.mqtt;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 
@@ -30,4 +34,10 @@ public class MqttBindingConstants {
     public static final ThingTypeUID BRIDGE_TYPE_BROKER = new ThingTypeUID(BINDING_ID, "broker");
 
     public static final String PUBLISH_TRIGGER_CHANNEL = "publishTrigger";
+
+    // Broker channels
+    public static final String CHANNEL_PUBLISH_LATENCY = "publishLatency";
+    public static final String CHANNEL_PUBLISH_QUEUE_DEPTH = "publishQueueDepth";
+    public static final List<String> PUBLISH_METRICS_CHANNELS = Collections
+            .unmodifiableList(Arrays.asList(CHANNEL_PUBLISH_LATENCY, CHANNEL_PUBLISH_QUEUE_DEPTH));
 }
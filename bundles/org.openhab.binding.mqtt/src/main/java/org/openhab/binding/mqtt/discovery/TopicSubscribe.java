@@ -19,6 +19,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.binding.mqtt.subscription.SharedSubscriptions;
 
 /**
  * Represents a MQTT subscription for one specific topic. This is an immutable class.
@@ -28,6 +29,7 @@ import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
 @NonNullByDefault
 public class TopicSubscribe implements MqttMessageSubscriber {
     final @Nullable MqttBrokerConnection connection;
+    final @Nullable SharedSubscriptions subscriptions;
     final ThingUID thing;
     final String topic;
     final MQTTTopicDiscoveryParticipant topicDiscoveredListener;
@@ -45,6 +47,25 @@ public class TopicSubscribe implements MqttMessageSubscriber {
     public TopicSubscribe(@Nullable MqttBrokerConnection connection, String topic,
             MQTTTopicDiscoveryParticipant topicDiscoveredListener, ThingUID thing) {
         this.connection = connection;
+        this.subscriptions = null;
+        this.thing = thing;
+        this.topic = topic;
+        this.topicDiscoveredListener = topicDiscoveredListener;
+    }
+
+    /**
+     * Creates a {@link TopicSubscribe} object, that subscribes via the given shared subscriptions.
+     * Several discovery participants can thus share the subscription of the same topic.
+     *
+     * @param subscriptions The shared subscriptions of the broker connection
+     * @param topic The topic
+     * @param topicDiscoveredListener A listener
+     * @param thing A thing, used as an argument to the listener callback.
+     */
+    public TopicSubscribe(SharedSubscriptions subscriptions, String topic,
+            MQTTTopicDiscoveryParticipant topicDiscoveredListener, ThingUID thing) {
+        this.connection = subscriptions.getConnection();
+        this.subscriptions = subscriptions;
         this.thing = thing;
         this.topic = topic;
         this.topicDiscoveredListener = topicDiscoveredListener;
@@ -68,6 +89,11 @@ public class TopicSubscribe implements MqttMessageSubscriber {
      * @return Completes with true if successful. Completes with false if not connected yet. Exceptionally otherwise.
      */
     public CompletableFuture<Boolean> start() {
+        final SharedSubscriptions subscriptions = this.subscriptions;
+        if (subscriptions != null) {
+            isStarted = true;
+            return subscriptions.subscribe(topic, this);
+        }
         CompletableFuture<Boolean> startFuture = connection == null ? CompletableFuture.completedFuture(true)
                 : connection.subscribe(topic, this);
         isStarted = true;
@@ -80,6 +106,11 @@ public class TopicSubscribe implements MqttMessageSubscriber {
      * @return Completes with true if successful. Exceptionally otherwise.
      */
     public CompletableFuture<Boolean> stop() {
+        final SharedSubscriptions subscriptions = this.subscriptions;
+        if (subscriptions != null) {
+            isStarted = false;
+            return subscriptions.unsubscribe(topic, this);
+        }
         CompletableFuture<Boolean> stopFuture = connection == null ? CompletableFuture.completedFuture(true)
                 : connection.unsubscribe(topic, this);
         isStarted = false;
@@ -17,21 +17,27 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.*;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerService;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionObserver;
 import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionState;
 import org.eclipse.smarthome.io.transport.mqtt.MqttService;
+import org.openhab.binding.mqtt.MqttBindingConstants;
 import org.openhab.binding.mqtt.action.MQTTActions;
 import org.openhab.binding.mqtt.discovery.MQTTTopicDiscoveryParticipant;
 import org.openhab.binding.mqtt.discovery.TopicSubscribe;
+import org.openhab.binding.mqtt.subscription.SharedSubscriptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,12 +51,17 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements MqttConnectionObserver {
     public static final int TIMEOUT_DEFAULT = 1200; /* timeout in milliseconds */
+    public static final int METRICS_INTERVAL = 10; /* publish metrics update interval in seconds */
     private final Logger logger = LoggerFactory.getLogger(AbstractBrokerHandler.class);
 
     final Map<ChannelUID, PublishTriggerChannel> channelStateByChannelUID = new HashMap<>();
     private final Map<String, @Nullable Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe>> discoveryTopics = new HashMap<>();
 
     protected @Nullable MqttBrokerConnection connection;
+    private @Nullable SharedSubscriptions sharedSubscriptions;
+    private @Nullable OutboundPublisher outboundPublisher;
+    private @Nullable ScheduledFuture<?> metricsFuture;
+    private final Map<String, State> publishMetrics = new HashMap<>();
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
 
     public AbstractBrokerHandler(Bridge thing) {
@@ -77,6 +88,34 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         return connection;
     }
 
+    /**
+     * Returns the outbound stage of the underlying {@link MqttBrokerConnection}. Things should publish their values
+     * through this stage, so that values are coalesced and rate limited as configured on the broker.
+     * Returns null if the handler is not initialized.
+     */
+    public @Nullable OutboundPublisher getOutboundPublisher() {
+        return outboundPublisher;
+    }
+
+    /**
+     * Returns the subscriptions of the underlying {@link MqttBrokerConnection}. Things and discovery participants
+     * should subscribe through them, so that subscribers of the same topic filter share one subscription.
+     * Returns null if the handler is not initialized.
+     */
+    public @Nullable SharedSubscriptions getSharedSubscriptions() {
+        return sharedSubscriptions;
+    }
+
+    /**
+     * Creates the outbound stage for the given connection. The base implementation neither coalesces
+     * nor rate limits values.
+     *
+     * @param connection The broker connection
+     */
+    protected OutboundPublisher createOutboundPublisher(MqttBrokerConnection connection) {
+        return new OutboundPublisher(connection, scheduler, 0, 0);
+    }
+
     /**
      * Does nothing in the base implementation.
      */
@@ -96,6 +135,9 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             return;
         }
         for (Channel channel : thing.getChannels()) {
+            if (MqttBindingConstants.PUBLISH_METRICS_CHANNELS.contains(channel.getUID().getId())) {
+                continue;
+            }
             final PublishTriggerChannelConfig channelConfig = channel.getConfiguration()
                     .as(PublishTriggerChannelConfig.class);
             PublishTriggerChannel c = new PublishTriggerChannel(channelConfig, channel.getUID(), connection, this);
@@ -114,15 +156,22 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
                 connectionStateChanged(MqttConnectionState.CONNECTED, null);
             }
         });
+        stopOutboundPublisher();
+        outboundPublisher = createOutboundPublisher(connection);
+        startPublishMetrics();
         connectionFuture.complete(connection);
 
+        // Discovery participants and things listening to the same topic share a single subscription
+        final SharedSubscriptions sharedSubscriptions = new SharedSubscriptions(connection);
+        this.sharedSubscriptions = sharedSubscriptions;
         discoveryTopics.forEach((topic, listenerMap) -> {
             listenerMap.replaceAll((listener, oldTopicSubscribe) -> {
                 if (oldTopicSubscribe.isStarted()) {
                     oldTopicSubscribe.stop();
                 }
 
-                TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
+                TopicSubscribe topicSubscribe = new TopicSubscribe(sharedSubscriptions, topic, listener,
+                        thing.getUID());
                 if (discoveryEnabled()) {
                     topicSubscribe.start().handle((result, ex) -> {
                         if (ex != null) {
@@ -155,6 +204,85 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         }
     }
 
+    private void stopOutboundPublisher() {
+        stopPublishMetrics();
+        final OutboundPublisher outboundPublisher = this.outboundPublisher;
+        if (outboundPublisher != null) {
+            outboundPublisher.stop();
+            this.outboundPublisher = null;
+        }
+    }
+
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        super.channelLinked(channelUID);
+        if (MqttBindingConstants.PUBLISH_METRICS_CHANNELS.contains(channelUID.getId())) {
+            synchronized (publishMetrics) {
+                // The new link gets the current value with the next update
+                publishMetrics.remove(channelUID.getId());
+            }
+            startPublishMetrics();
+        }
+    }
+
+    @Override
+    public void channelUnlinked(ChannelUID channelUID) {
+        super.channelUnlinked(channelUID);
+        if (MqttBindingConstants.PUBLISH_METRICS_CHANNELS.contains(channelUID.getId())
+                && MqttBindingConstants.PUBLISH_METRICS_CHANNELS.stream().noneMatch(this::isLinked)) {
+            stopPublishMetrics();
+        }
+    }
+
+    /**
+     * Updates the publish metric channels periodically, as long as one of them is linked.
+     */
+    private synchronized void startPublishMetrics() {
+        if (metricsFuture != null || outboundPublisher == null
+                || MqttBindingConstants.PUBLISH_METRICS_CHANNELS.stream().noneMatch(this::isLinked)) {
+            return;
+        }
+        metricsFuture = scheduler.scheduleWithFixedDelay(this::updatePublishMetrics, METRICS_INTERVAL,
+                METRICS_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    private synchronized void stopPublishMetrics() {
+        final ScheduledFuture<?> metricsFuture = this.metricsFuture;
+        if (metricsFuture != null) {
+            metricsFuture.cancel(false);
+            this.metricsFuture = null;
+        }
+        synchronized (publishMetrics) {
+            publishMetrics.clear();
+        }
+    }
+
+    private void updatePublishMetrics() {
+        final OutboundPublisher outboundPublisher = this.outboundPublisher;
+        if (outboundPublisher == null) {
+            return;
+        }
+        updatePublishMetric(MqttBindingConstants.CHANNEL_PUBLISH_LATENCY,
+                new DecimalType(Math.round(outboundPublisher.pollAveragePublishLatency())));
+        updatePublishMetric(MqttBindingConstants.CHANNEL_PUBLISH_QUEUE_DEPTH,
+                new DecimalType(outboundPublisher.getQueueDepth()));
+    }
+
+    /**
+     * Updates a publish metric channel, if it is linked and its value has changed.
+     */
+    private void updatePublishMetric(String channelId, State state) {
+        if (!isLinked(channelId)) {
+            return;
+        }
+        synchronized (publishMetrics) {
+            if (state.equals(publishMetrics.put(channelId, state))) {
+                return;
+            }
+        }
+        updateState(channelId, state);
+    }
+
     @Override
     protected void triggerChannel(ChannelUID channelUID, String event) {
         super.triggerChannel(channelUID, event);
@@ -174,6 +302,8 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
                 topicSubscribe.stop();
             });
         });
+        sharedSubscriptions = null;
+        stopOutboundPublisher();
 
         if (connection != null) {
             connection.removeConnectionObserver(this);
@@ -202,7 +332,10 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
                 v.stop();
             }
 
-            TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
+            final SharedSubscriptions sharedSubscriptions = this.sharedSubscriptions;
+            TopicSubscribe topicSubscribe = sharedSubscriptions != null
+                    ? new TopicSubscribe(sharedSubscriptions, topic, listener, thing.getUID())
+                    : new TopicSubscribe(connection, topic, listener, thing.getUID());
             if (discoveryEnabled()) {
                 topicSubscribe.start().handle((result, ex) -> {
                     if (ex != null) {
@@ -128,6 +128,12 @@ public class BrokerHandler extends AbstractBrokerHandler implements PinnedCallba
         return config.enableDiscovery;
     }
 
+    @Override
+    protected OutboundPublisher createOutboundPublisher(MqttBrokerConnection connection) {
+        return new OutboundPublisher(connection, scheduler, Math.max(0, config.publishCoalesceWindow),
+                Math.max(0, config.maxPublishRate));
+    }
+
     /**
      * Reads the thing configuration related to public key or certificate pinning, creates an appropriate a
      * {@link PinningSSLContextProvider} and assigns it to the {@link MqttBrokerConnection} instance.
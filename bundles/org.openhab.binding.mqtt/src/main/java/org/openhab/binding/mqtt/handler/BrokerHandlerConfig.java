@@ -36,4 +36,9 @@ public class BrokerHandlerConfig extends MqttBrokerConnectionConfig {
     public String publickey = "";
 
     public boolean enableDiscovery = true;
+
+    // Outbound publishes: Coalesce window in milliseconds and maximum messages per second. 0 disables each.
+
+    public int publishCoalesceWindow = 0;
+    public int maxPublishRate = 0;
 }
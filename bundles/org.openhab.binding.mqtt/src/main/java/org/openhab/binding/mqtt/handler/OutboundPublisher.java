@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+
+/**
+ * The outbound stage of a broker connection. Values published through this class are
+ * <ul>
+ * <li>coalesced per topic: Within the coalesce window only the latest value of a topic is kept and published,</li>
+ * <li>rate limited: At most the given number of messages per second are handed to the broker connection.</li>
+ * </ul>
+ *
+ * Like the DelayedBatchProcessing of the generic MQTT bundle, pending values are collected until a delay passed by.
+ * The delay is not restarted by new values though, so that a continuously moving slider still gets published once
+ * per window.
+ *
+ * If neither a coalesce window nor a rate limit is configured, values are published immediately.
+ * The publish latency and the number of pending messages are tracked in either case.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class OutboundPublisher {
+    private final MqttBrokerConnection connection;
+    private final ScheduledExecutorService scheduler;
+    private final int coalesceWindow;
+    private final long publishInterval;
+
+    // Pending values by topic, in the order the topics have been queued
+    private final Map<String, PendingPublish> pending = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> flushFuture;
+    private long nextPublishTime;
+
+    private long latencySum;
+    private long latencyCount;
+    private long coalescedCount;
+
+    private static class PendingPublish {
+        final long queuedTime;
+        final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        byte[] payload;
+        int qos;
+        boolean retain;
+
+        PendingPublish(long queuedTime, byte[] payload, int qos, boolean retain) {
+            this.queuedTime = queuedTime;
+            this.payload = payload;
+            this.qos = qos;
+            this.retain = retain;
+        }
+    }
+
+    /**
+     * Creates an outbound stage.
+     *
+     * @param connection The broker connection
+     * @param scheduler A scheduled executor service for the delayed publishes
+     * @param coalesceWindow The coalesce window in milliseconds. 0 disables coalescing.
+     * @param maxPublishRate The maximum number of messages per second. 0 disables the rate limit.
+     */
+    public OutboundPublisher(MqttBrokerConnection connection, ScheduledExecutorService scheduler, int coalesceWindow,
+            int maxPublishRate) {
+        if (coalesceWindow < 0 || maxPublishRate < 0) {
+            throw new IllegalArgumentException("Coalesce window and publish rate must not be negative!");
+        }
+        this.connection = connection;
+        this.scheduler = scheduler;
+        this.coalesceWindow = coalesceWindow;
+        this.publishInterval = maxPublishRate > 0 ? TimeUnit.SECONDS.toNanos(1) / maxPublishRate : 0;
+    }
+
+    /**
+     * Publishes a value. If a value for the same topic is still pending, it is replaced by this value.
+     *
+     * @param topic The topic
+     * @param payload The message payload
+     * @param qos The quality of service for this message
+     * @param retain Set to true to retain the message on the broker
+     * @return Completes with true if the value (or a value that replaced it) has been published and false
+     *         if the connection is not available or the outbound stage has been stopped.
+     */
+    public CompletableFuture<Boolean> publish(String topic, byte[] payload, int qos, boolean retain) {
+        final long now = System.nanoTime();
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        synchronized (this) {
+            final PendingPublish existing = pending.get(topic);
+            if (existing != null) {
+                existing.payload = payload;
+                existing.qos = qos;
+                existing.retain = retain;
+                existing.futures.add(future);
+                coalescedCount++;
+                return future;
+            }
+            if (coalesceWindow > 0 || !pending.isEmpty() || now < nextPublishTime) {
+                final PendingPublish entry = new PendingPublish(now, payload, qos, retain);
+                entry.futures.add(future);
+                pending.put(topic, entry);
+                if (flushFuture == null) {
+                    final long delay = Math.max(TimeUnit.MILLISECONDS.toNanos(coalesceWindow), nextPublishTime - now);
+                    flushFuture = scheduler.schedule(this::flush, delay, TimeUnit.NANOSECONDS);
+                }
+                return future;
+            }
+            nextPublishTime = now + publishInterval;
+        }
+        send(topic, payload, qos, retain, now, future);
+        return future;
+    }
+
+    /**
+     * Publishes pending values, as far as the rate limit allows.
+     */
+    private void flush() {
+        final Map<String, PendingPublish> toSend = new LinkedHashMap<>();
+        synchronized (this) {
+            flushFuture = null;
+            long now = System.nanoTime();
+            Iterator<Map.Entry<String, PendingPublish>> it = pending.entrySet().iterator();
+            while (it.hasNext() && (publishInterval == 0 || nextPublishTime <= now)) {
+                Map.Entry<String, PendingPublish> entry = it.next();
+                toSend.put(entry.getKey(), entry.getValue());
+                it.remove();
+                nextPublishTime = Math.max(now, nextPublishTime) + publishInterval;
+            }
+            if (!pending.isEmpty()) {
+                flushFuture = scheduler.schedule(this::flush, nextPublishTime - now, TimeUnit.NANOSECONDS);
+            }
+        }
+        toSend.forEach((topic, entry) -> {
+            final CompletableFuture<Boolean> future = new CompletableFuture<>();
+            future.whenComplete((result, e) -> entry.futures.forEach(f -> {
+                if (e != null) {
+                    f.completeExceptionally(e);
+                } else {
+                    f.complete(result);
+                }
+            }));
+            send(topic, entry.payload, entry.qos, entry.retain, entry.queuedTime, future);
+        });
+    }
+
+    private void send(String topic, byte[] payload, int qos, boolean retain, long queuedTime,
+            CompletableFuture<Boolean> future) {
+        connection.publish(topic, payload, qos, retain).whenComplete((result, e) -> {
+            synchronized (this) {
+                latencySum += System.nanoTime() - queuedTime;
+                latencyCount++;
+            }
+            if (e != null) {
+                future.completeExceptionally(e);
+            } else {
+                future.complete(result);
+            }
+        });
+    }
+
+    /**
+     * Drops all pending values and completes their futures with false.
+     */
+    public void stop() {
+        final List<PendingPublish> dropped;
+        synchronized (this) {
+            final ScheduledFuture<?> flushFuture = this.flushFuture;
+            if (flushFuture != null) {
+                flushFuture.cancel(false);
+                this.flushFuture = null;
+            }
+            dropped = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        dropped.forEach(entry -> entry.futures.forEach(f -> f.complete(false)));
+    }
+
+    /**
+     * Returns the number of topics with a pending value.
+     */
+    public synchronized int getQueueDepth() {
+        return pending.size();
+    }
+
+    /**
+     * Returns how many values have been replaced by a newer value before they were published.
+     */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Returns the average time in milliseconds from queuing a value until the broker connection acknowledged it,
+     * for all values published since the last call of this method. Returns 0 if nothing has been published.
+     */
+    public synchronized double pollAveragePublishLatency() {
+        final double average = latencyCount == 0 ? 0 : (double) latencySum / latencyCount / 1000000;
+        latencySum = 0;
+        latencyCount = 0;
+        return average;
+    }
+}
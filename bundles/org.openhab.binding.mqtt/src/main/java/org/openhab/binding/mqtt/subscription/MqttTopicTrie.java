@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Index of MQTT topic filters, with one or more values per filter.
+ *
+ * The filters are stored as a trie of topic levels. Finding the values of all the filters matching a topic
+ * therefore depends on the number of topic levels and wildcards, and not on the total number of filters.
+ * Single level ("+") and multi level ("#") wildcards are supported. As required by the MQTT specification, wildcards on
+ * the first level do not match topics starting with '$'.
+ *
+ * Lookups do not lock and can be done concurrently with modifications.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> Type of the values, usually subscribers
+ */
+@NonNullByDefault
+public class MqttTopicTrie<T> {
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private static class Node<T> {
+        final Map<String, Node<T>> children = new ConcurrentHashMap<>();
+        // Copy on write, so that lookups can return the list as is
+        volatile List<T> values = Collections.emptyList();
+
+        boolean isEmpty() {
+            return values.isEmpty() && children.isEmpty();
+        }
+    }
+
+    private final Node<T> root = new Node<>();
+    private int filterCount;
+
+    /**
+     * Adds a value to a topic filter.
+     *
+     * @param filter The topic filter. Can contain wildcards.
+     * @param value The value
+     * @return Returns true if the filter had no values before.
+     */
+    public synchronized boolean add(String filter, T value) {
+        Node<T> node = root;
+        for (String level : levels(filter)) {
+            node = node.children.computeIfAbsent(level, l -> new Node<>());
+        }
+        final List<T> values = node.values;
+        if (values.contains(value)) {
+            return false;
+        }
+        final List<T> newValues = new ArrayList<>(values.size() + 1);
+        newValues.addAll(values);
+        newValues.add(value);
+        node.values = Collections.unmodifiableList(newValues);
+        if (values.isEmpty()) {
+            filterCount++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a value from a topic filter.
+     *
+     * @param filter The topic filter, as given to {@link #add(String, Object)}
+     * @param value The value
+     * @return Returns true if the value was removed and it was the last value of the filter.
+     */
+    public synchronized boolean remove(String filter, T value) {
+        final String[] levels = levels(filter);
+        final List<Node<T>> path = new ArrayList<>(levels.length + 1);
+        Node<T> node = root;
+        path.add(node);
+        for (String level : levels) {
+            node = node.children.get(level);
+            if (node == null) {
+                return false;
+            }
+            path.add(node);
+        }
+        final List<T> values = node.values;
+        if (!values.contains(value)) {
+            return false;
+        }
+        final List<T> newValues = new ArrayList<>(values);
+        newValues.remove(value);
+        node.values = newValues.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(newValues);
+        if (!newValues.isEmpty()) {
+            return false;
+        }
+        filterCount--;
+        // Prune nodes that neither have values nor children anymore
+        for (int i = levels.length; i > 0 && path.get(i).isEmpty(); i--) {
+            path.get(i - 1).children.remove(levels[i - 1]);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the values of exactly the given topic filter. Wildcards are not expanded.
+     *
+     * @param filter The topic filter, as given to {@link #add(String, Object)}
+     * @return An unmodifiable list of values, in the order they were added. Empty if the filter is unknown.
+     */
+    public List<T> get(String filter) {
+        Node<T> node = root;
+        for (String level : levels(filter)) {
+            node = node.children.get(level);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+        }
+        return node.values;
+    }
+
+    /**
+     * Returns the values of all the filters matching the given topic.
+     *
+     * @param topic A topic, without wildcards
+     * @return The matching values. Values of several matching filters are only included once.
+     */
+    public Set<T> match(String topic) {
+        final Set<T> result = new LinkedHashSet<>();
+        final String[] levels = levels(topic);
+        match(root, levels, 0, !topic.startsWith("$"), result);
+        return result;
+    }
+
+    private void match(Node<T> node, String[] levels, int index, boolean wildcardsAllowed, Set<T> result) {
+        if (wildcardsAllowed) {
+            // "a/#" also matches "a", so check this before the end of the topic
+            final @Nullable Node<T> multiLevel = node.children.get(MULTI_LEVEL_WILDCARD);
+            if (multiLevel != null) {
+                result.addAll(multiLevel.values);
+            }
+        }
+        if (index == levels.length) {
+            result.addAll(node.values);
+            return;
+        }
+        final @Nullable Node<T> exact = node.children.get(levels[index]);
+        if (exact != null) {
+            match(exact, levels, index + 1, true, result);
+        }
+        if (wildcardsAllowed) {
+            final @Nullable Node<T> singleLevel = node.children.get(SINGLE_LEVEL_WILDCARD);
+            if (singleLevel != null) {
+                match(singleLevel, levels, index + 1, true, result);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of topic filters with at least one value.
+     */
+    public synchronized int size() {
+        return filterCount;
+    }
+
+    public boolean isEmpty() {
+        return root.isEmpty();
+    }
+
+    private static String[] levels(String topic) {
+        // Keep empty levels, "a//b" and "/a" are valid topics
+        return topic.split("/", -1);
+    }
+}
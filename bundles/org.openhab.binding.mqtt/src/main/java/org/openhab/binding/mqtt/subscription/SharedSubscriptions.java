@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.subscription;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares subscriptions to the same topic filter on a {@link MqttBrokerConnection}.
+ *
+ * The broker connection is subscribed only once per topic filter, no matter how many {@link MqttMessageSubscriber}s
+ * are interested in it. All the filters are subscribed with the same connection-level subscriber, which dispatches a
+ * received message to the subscribers of all the matching filters, as found by the {@link MqttTopicTrie}. The broker
+ * connection calls that subscriber once for each subscribed filter matching the topic. Only the first call dispatches
+ * the message, so that a subscriber receives a message once, even if it subscribed to several matching filters.
+ *
+ * The broker only sends retained messages when subscribing. For filters with subscribers expecting retained messages,
+ * the last message of each topic is therefore kept and replayed to subscribers that join the already subscribed filter.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SharedSubscriptions {
+    private final Logger logger = LoggerFactory.getLogger(SharedSubscriptions.class);
+
+    private final MqttBrokerConnection connection;
+    private final MqttTopicTrie<MqttMessageSubscriber> subscribers = new MqttTopicTrie<>();
+    private final MqttTopicTrie<FilterSubscription> filters = new MqttTopicTrie<>();
+    private final Map<String, FilterSubscription> subscriptions = new HashMap<>();
+    private final MqttMessageSubscriber dispatcher = this::dispatch;
+    private final ThreadLocal<Delivery> lastDelivery = ThreadLocal.withInitial(Delivery::new);
+
+    /**
+     * The single subscription of one topic filter on the broker connection
+     */
+    private static class FilterSubscription {
+        final Set<MqttMessageSubscriber> retainedSubscribers = ConcurrentHashMap.newKeySet();
+        final Map<String, byte[]> lastMessages = new ConcurrentHashMap<>();
+        final CompletableFuture<Boolean> subscribed = new CompletableFuture<>();
+    }
+
+    /**
+     * The message last dispatched by a thread, and how many more times the broker connection delivers it
+     */
+    private static class Delivery {
+        @Nullable
+        String topic;
+        byte @Nullable [] payload;
+        int pendingDuplicates;
+    }
+
+    public SharedSubscriptions(MqttBrokerConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Returns the broker connection the subscriptions are made on.
+     */
+    public MqttBrokerConnection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Subscribes to a topic filter with retained topics. The broker connection is only subscribed for the first
+     * subscriber of the filter.
+     *
+     * @param filter The topic filter. Can contain wildcards.
+     * @param subscriber The subscriber
+     * @return Completes with the result of subscribing the filter on the broker connection.
+     */
+    public CompletableFuture<Boolean> subscribe(String filter, MqttMessageSubscriber subscriber) {
+        return subscribe(filter, subscriber, true);
+    }
+
+    /**
+     * Subscribes to a topic filter. The broker connection is only subscribed for the first subscriber of the filter.
+     *
+     * @param filter The topic filter. Can contain wildcards.
+     * @param subscriber The subscriber
+     * @param retained True if the topics of the filter are retained. The last messages of the filter are then
+     *            replayed to the subscriber, if the filter is subscribed already.
+     * @return Completes with the result of subscribing the filter on the broker connection.
+     */
+    public CompletableFuture<Boolean> subscribe(String filter, MqttMessageSubscriber subscriber, boolean retained) {
+        final FilterSubscription subscription;
+        final boolean added;
+        final boolean created;
+        synchronized (subscriptions) {
+            added = !subscribers.get(filter).contains(subscriber);
+            subscribers.add(filter, subscriber);
+            final @Nullable FilterSubscription existing = subscriptions.get(filter);
+            created = existing == null;
+            if (existing == null) {
+                subscription = new FilterSubscription();
+                subscriptions.put(filter, subscription);
+                filters.add(filter, subscription);
+            } else {
+                subscription = existing;
+            }
+            if (retained) {
+                subscription.retainedSubscribers.add(subscriber);
+            }
+        }
+        if (!created) {
+            if (added && retained) {
+                // Replay outside of the lock, the subscriber may call back
+                subscription.lastMessages.forEach(subscriber::processMessage);
+            }
+            return subscription.subscribed;
+        }
+        logger.trace("Subscribing to shared topic filter {}", filter);
+        // The broker connection keeps the filter even if subscribing fails, and subscribes it again on reconnect
+        connection.subscribe(filter, dispatcher).whenComplete((result, e) -> {
+            if (e != null) {
+                subscription.subscribed.completeExceptionally(e);
+            } else {
+                subscription.subscribed.complete(result);
+            }
+        });
+        return subscription.subscribed;
+    }
+
+    /**
+     * Unsubscribes from a topic filter. The broker connection is only unsubscribed for the last subscriber of the
+     * filter.
+     *
+     * @param filter The topic filter, as given to {@link #subscribe(String, MqttMessageSubscriber)}
+     * @param subscriber The subscriber
+     * @return Completes with the result of unsubscribing the filter on the broker connection, or with true if other
+     *         subscribers of the filter remain.
+     */
+    public CompletableFuture<Boolean> unsubscribe(String filter, MqttMessageSubscriber subscriber) {
+        final @Nullable FilterSubscription subscription;
+        synchronized (subscriptions) {
+            final boolean last = subscribers.remove(filter, subscriber);
+            final @Nullable FilterSubscription existing = subscriptions.get(filter);
+            if (existing != null) {
+                existing.retainedSubscribers.remove(subscriber);
+                if (existing.retainedSubscribers.isEmpty()) {
+                    // No subscriber will ever get the messages replayed
+                    existing.lastMessages.clear();
+                }
+            }
+            if (!last) {
+                return CompletableFuture.completedFuture(true);
+            }
+            subscription = subscriptions.remove(filter);
+            if (subscription != null) {
+                filters.remove(filter, subscription);
+            }
+        }
+        if (subscription == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        logger.trace("Unsubscribing from shared topic filter {}", filter);
+        return connection.unsubscribe(filter, dispatcher);
+    }
+
+    /**
+     * Dispatches a message received by the broker connection to the subscribers of all matching filters.
+     *
+     * The broker connection calls the dispatcher for each subscribed filter matching the topic, one after the other
+     * and with the same payload. Those calls are recognized and skipped.
+     */
+    private void dispatch(String topic, byte[] payload) {
+        final Delivery last = lastDelivery.get();
+        if (last.pendingDuplicates > 0 && last.payload == payload && topic.equals(last.topic)) {
+            last.pendingDuplicates--;
+            return;
+        }
+        final Set<FilterSubscription> matching = filters.match(topic);
+        last.topic = topic;
+        last.payload = payload;
+        last.pendingDuplicates = matching.size() - 1;
+
+        for (FilterSubscription subscription : matching) {
+            if (!subscription.retainedSubscribers.isEmpty()) {
+                if (payload.length > 0) {
+                    subscription.lastMessages.put(topic, payload);
+                } else {
+                    subscription.lastMessages.remove(topic);
+                }
+            }
+        }
+        for (MqttMessageSubscriber subscriber : subscribers.match(topic)) {
+            subscriber.processMessage(topic, payload);
+        }
+    }
+
+    /**
+     * Returns the subscribers of all the topic filters matching the given topic.
+     *
+     * @param topic A topic, without wildcards
+     */
+    public Set<MqttMessageSubscriber> getSubscribers(String topic) {
+        return subscribers.match(topic);
+    }
+
+    /**
+     * Returns the number of topic filters subscribed on the broker connection.
+     */
+    public int getSubscriptionCount() {
+        return subscribers.size();
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Tests cases for {@link OutboundPublisher}.
+ *
+ * @author agent - Initial contribution
+ */
+public class OutboundPublisherTest {
+    @Mock
+    private MqttBrokerConnection connection;
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).publish(any(), any(), anyInt(),
+                anyBoolean());
+    }
+
+    @Test
+    public void publishImmediately() {
+        OutboundPublisher publisher = new OutboundPublisher(connection, scheduler, 0, 0);
+        final byte[] payload = "50".getBytes();
+
+        assertTrue(publisher.publish("dimmer/set", payload, 1, false).join());
+        assertTrue(publisher.publish("dimmer/set", payload, 1, false).join());
+
+        verify(connection, times(2)).publish("dimmer/set", payload, 1, false);
+        verifyNoInteractions(scheduler);
+        assertThat(publisher.getQueueDepth(), is(0));
+    }
+
+    @Test
+    public void coalesceWithinWindow() {
+        OutboundPublisher publisher = new OutboundPublisher(connection, scheduler, 100, 0);
+        final byte[] first = "10".getBytes();
+        final byte[] last = "30".getBytes();
+        final byte[] other = "ON".getBytes();
+
+        CompletableFuture<Boolean> f1 = publisher.publish("dimmer/set", first, 0, false);
+        CompletableFuture<Boolean> f2 = publisher.publish("dimmer/set", "20".getBytes(), 0, false);
+        CompletableFuture<Boolean> f3 = publisher.publish("switch/set", other, 1, true);
+        CompletableFuture<Boolean> f4 = publisher.publish("dimmer/set", last, 0, false);
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(flush.capture(), eq(TimeUnit.MILLISECONDS.toNanos(100)), eq(TimeUnit.NANOSECONDS));
+        verify(connection, never()).publish(any(), any(), anyInt(), anyBoolean());
+        assertThat(publisher.getQueueDepth(), is(2));
+        assertFalse(f1.isDone());
+
+        flush.getValue().run();
+
+        // Only the latest value of a topic is published, all callers are informed
+        verify(connection).publish("dimmer/set", last, 0, false);
+        verify(connection).publish("switch/set", other, 1, true);
+        verify(connection, times(2)).publish(any(), any(), anyInt(), anyBoolean());
+        assertTrue(f1.join() && f2.join() && f3.join() && f4.join());
+        assertThat(publisher.getQueueDepth(), is(0));
+        assertThat(publisher.getCoalescedCount(), is(2L));
+        assertThat(publisher.pollAveragePublishLatency(), is(greaterThanOrEqualTo(0.0)));
+    }
+
+    @Test
+    public void rateLimit() {
+        OutboundPublisher publisher = new OutboundPublisher(connection, scheduler, 0, 1);
+
+        publisher.publish("a", "1".getBytes(), 0, false);
+        verify(connection).publish(eq("a"), any(), anyInt(), anyBoolean());
+
+        // The second message within the same second is delayed
+        CompletableFuture<Boolean> delayed = publisher.publish("b", "2".getBytes(), 0, false);
+        verify(scheduler).schedule(any(Runnable.class), longThat(delay -> delay > 0), eq(TimeUnit.NANOSECONDS));
+        verify(connection, never()).publish(eq("b"), any(), anyInt(), anyBoolean());
+        assertThat(publisher.getQueueDepth(), is(1));
+
+        publisher.stop();
+        assertFalse(delayed.join());
+        assertThat(publisher.getQueueDepth(), is(0));
+    }
+}
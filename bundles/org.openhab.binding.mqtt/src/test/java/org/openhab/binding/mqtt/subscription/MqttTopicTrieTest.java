@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.subscription;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests cases for {@link MqttTopicTrie} and {@link SharedSubscriptions}.
+ *
+ * @author agent - Initial contribution
+ */
+public class MqttTopicTrieTest {
+    private MqttTopicTrie<String> trie;
+
+    @Before
+    public void setUp() {
+        trie = new MqttTopicTrie<>();
+        trie.add("home/livingroom/temperature", "exact");
+        trie.add("home/+/temperature", "single");
+        trie.add("home/#", "multi");
+        trie.add("#", "all");
+        trie.add("/leading", "leading");
+    }
+
+    @Test
+    public void match() {
+        assertThat(trie.match("home/livingroom/temperature"), contains("all", "multi", "exact", "single"));
+        assertThat(trie.match("home/kitchen/temperature"), contains("all", "multi", "single"));
+        assertThat(trie.match("home/kitchen/humidity"), contains("all", "multi"));
+        // "home/#" also matches the parent level
+        assertThat(trie.match("home"), contains("all", "multi"));
+        assertThat(trie.match("/leading"), contains("all", "leading"));
+        assertThat(trie.match("office/temperature"), contains("all"));
+    }
+
+    @Test
+    public void wildcardsDoNotMatchSystemTopics() {
+        trie.add("$SYS/broker/uptime", "sys");
+        assertThat(trie.match("$SYS/broker/uptime"), contains("sys"));
+    }
+
+    @Test
+    public void addAndRemove() {
+        assertThat(trie.size(), is(5));
+        assertFalse(trie.add("home/#", "multi"));
+        assertFalse(trie.add("home/#", "second"));
+        assertThat(trie.get("home/#"), contains("multi", "second"));
+
+        assertFalse(trie.remove("home/#", "multi"));
+        assertTrue(trie.remove("home/#", "second"));
+        assertFalse(trie.remove("home/#", "second"));
+        assertThat(trie.get("home/#"), is(empty()));
+        assertThat(trie.match("home/kitchen/humidity"), contains("all"));
+        assertThat(trie.size(), is(4));
+
+        trie.remove("home/livingroom/temperature", "exact");
+        trie.remove("home/+/temperature", "single");
+        trie.remove("#", "all");
+        trie.remove("/leading", "leading");
+        assertThat(trie.size(), is(0));
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    public void sharedSubscriptionFansOut() {
+        MqttBrokerConnection connection = mock(MqttBrokerConnection.class);
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+        MqttMessageSubscriber first = mock(MqttMessageSubscriber.class);
+        MqttMessageSubscriber second = mock(MqttMessageSubscriber.class);
+        SharedSubscriptions subscriptions = new SharedSubscriptions(connection);
+
+        assertTrue(subscriptions.subscribe("home/#", first).join());
+        ArgumentCaptor<MqttMessageSubscriber> captor = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection).subscribe(eq("home/#"), captor.capture());
+        final byte[] payload = "21.5".getBytes();
+        captor.getValue().processMessage("home/kitchen/temperature", payload);
+
+        // The second subscriber shares the subscription and gets the last message replayed
+        assertTrue(subscriptions.subscribe("home/#", second).join());
+        verify(connection, times(1)).subscribe(any(), any());
+        verify(second).processMessage("home/kitchen/temperature", payload);
+        assertThat(subscriptions.getSubscribers("home/kitchen"), containsInAnyOrder(first, second));
+
+        captor.getValue().processMessage("home/kitchen/humidity", payload);
+        verify(first).processMessage("home/kitchen/humidity", payload);
+        verify(second).processMessage("home/kitchen/humidity", payload);
+
+        subscriptions.unsubscribe("home/#", first);
+        verify(connection, times(0)).unsubscribe(any(), any());
+        subscriptions.unsubscribe("home/#", second);
+        verify(connection).unsubscribe("home/#", captor.getValue());
+        assertThat(subscriptions.getSubscriptionCount(), is(0));
+    }
+
+    @Test
+    public void overlappingFiltersDispatchOnce() {
+        MqttBrokerConnection connection = mock(MqttBrokerConnection.class);
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+        MqttMessageSubscriber all = mock(MqttMessageSubscriber.class);
+        MqttMessageSubscriber exact = mock(MqttMessageSubscriber.class);
+        SharedSubscriptions subscriptions = new SharedSubscriptions(connection);
+
+        subscriptions.subscribe("home/#", all, false);
+        subscriptions.subscribe("home/kitchen/temperature", all, false);
+        subscriptions.subscribe("home/kitchen/temperature", exact, false);
+        ArgumentCaptor<MqttMessageSubscriber> captor = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection, times(2)).subscribe(any(), captor.capture());
+        // All filters are subscribed with the same connection-level subscriber
+        final MqttMessageSubscriber dispatcher = captor.getAllValues().get(0);
+        assertThat(captor.getAllValues().get(1), is(sameInstance(dispatcher)));
+
+        // The broker connection delivers the message for both filters, but each subscriber only receives it once
+        final byte[] payload = "21.5".getBytes();
+        dispatcher.processMessage("home/kitchen/temperature", payload);
+        dispatcher.processMessage("home/kitchen/temperature", payload);
+        verify(all, times(1)).processMessage("home/kitchen/temperature", payload);
+        verify(exact, times(1)).processMessage("home/kitchen/temperature", payload);
+
+        // The same payload received again is a new message
+        dispatcher.processMessage("home/kitchen/temperature", payload);
+        dispatcher.processMessage("home/kitchen/temperature", payload);
+        verify(all, times(2)).processMessage("home/kitchen/temperature", payload);
+        verify(exact, times(2)).processMessage("home/kitchen/temperature", payload);
+
+        // With one filter left, the broker connection delivers each message once
+        subscriptions.unsubscribe("home/#", all);
+        verify(connection).unsubscribe("home/#", dispatcher);
+        final byte[] next = "22.0".getBytes();
+        dispatcher.processMessage("home/kitchen/temperature", next);
+        dispatcher.processMessage("home/kitchen/temperature", next);
+        verify(all, times(2)).processMessage("home/kitchen/temperature", next);
+        verify(exact, times(2)).processMessage("home/kitchen/temperature", next);
+    }
+
+    @Test
+    public void onlyRetainedMessagesAreReplayedOnce() {
+        MqttBrokerConnection connection = mock(MqttBrokerConnection.class);
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        MqttMessageSubscriber first = mock(MqttMessageSubscriber.class);
+        MqttMessageSubscriber second = mock(MqttMessageSubscriber.class);
+        SharedSubscriptions subscriptions = new SharedSubscriptions(connection);
+
+        subscriptions.subscribe("home/event", first, false);
+        ArgumentCaptor<MqttMessageSubscriber> captor = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection).subscribe(eq("home/event"), captor.capture());
+        final byte[] payload = "ring".getBytes();
+        captor.getValue().processMessage("home/event", payload);
+
+        // Messages of a filter without retained subscribers are not kept
+        subscriptions.subscribe("home/event", second, true);
+        verify(second, never()).processMessage(any(), any());
+
+        captor.getValue().processMessage("home/event", payload);
+        verify(second, times(1)).processMessage("home/event", payload);
+
+        // A subscriber added again does not get the message replayed twice
+        subscriptions.subscribe("home/event", second, true);
+        verify(second, times(1)).processMessage("home/event", payload);
+
+        // The kept messages are dropped with the last retained subscriber
+        subscriptions.unsubscribe("home/event", second);
+        subscriptions.subscribe("home/event", second, true);
+        verify(second, times(1)).processMessage("home/event", payload);
+    }
+}
@@ -14,6 +14,7 @@ package org.openhab.io.homekit;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
@@ -53,4 +54,9 @@ public interface Homekit {
      * clear all pairings with HomeKit clients
      */
     void clearHomekitPairings();
+
+    /**
+     * returns the counters of the characteristic change notifications sent to HomeKit clients, by name.
+     */
+    Map<String, Long> getNotificationStatistics();
 }
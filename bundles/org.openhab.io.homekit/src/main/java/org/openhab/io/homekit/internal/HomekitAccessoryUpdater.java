@@ -12,10 +12,17 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.StateChangeListener;
@@ -31,11 +38,28 @@ import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
  * HomeKit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Item changes are not passed on to HomeKit immediately, but collected for a short time. A scene which changes many
+ * items at once thereby results in one burst of notifications instead of a trickle, and a characteristic which changes
+ * several times within that time is notified only once, with its latest value.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitAccessoryUpdater {
+    /** The time in milliseconds during which item changes are collected before they are notified to HomeKit */
+    private static final long NOTIFICATION_DELAY = 50;
+
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
     private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
+
+    // guarded by pendingNotifications
+    private final Map<ItemKey, HomekitCharacteristicChangeCallback> pendingNotifications = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private long stateChanges;
+    private long coalescedChanges;
+    private long notifications;
+    private long batches;
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
@@ -57,7 +81,7 @@ public class HomekitAccessoryUpdater {
                 unsubscribe(item, key);
             }
             logger.trace("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = (changedItem, oldState, newState) -> notifyChanged(itemKey, callback);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -71,11 +95,63 @@ public class HomekitAccessoryUpdater {
         if (item == null) {
             return;
         }
-        subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
+        ItemKey itemKey = new ItemKey(item, key);
+        subscriptionsByName.computeIfPresent(itemKey, (k, v) -> {
             logger.trace("Removing existing subscription for {} / {}", item, key);
             item.removeStateChangeListener(v);
             return null;
         });
+        synchronized (pendingNotifications) {
+            pendingNotifications.remove(itemKey);
+        }
+    }
+
+    private void notifyChanged(ItemKey itemKey, HomekitCharacteristicChangeCallback callback) {
+        synchronized (pendingNotifications) {
+            stateChanges++;
+            if (pendingNotifications.put(itemKey, callback) != null) {
+                coalescedChanges++;
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flushNotifications, NOTIFICATION_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void flushNotifications() {
+        final List<HomekitCharacteristicChangeCallback> callbacks;
+        synchronized (pendingNotifications) {
+            callbacks = new ArrayList<>(pendingNotifications.values());
+            pendingNotifications.clear();
+            flushScheduled = false;
+            notifications += callbacks.size();
+            batches++;
+        }
+        logger.trace("Notifying {} changed characteristics", callbacks.size());
+        for (HomekitCharacteristicChangeCallback callback : callbacks) {
+            try {
+                // The value is read by the HomeKit server, so only the latest value of the item is sent
+                callback.changed();
+            } catch (RuntimeException e) {
+                logger.warn("Could not notify HomeKit about a changed characteristic: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the counters of the characteristic change notifications, by name.
+     */
+    public Map<String, Long> getStatistics() {
+        final Map<String, Long> statistics = new LinkedHashMap<>();
+        synchronized (pendingNotifications) {
+            statistics.put("item changes", stateChanges);
+            statistics.put("notifications", notifications);
+            statistics.put("coalesced changes", coalescedChanges);
+            statistics.put("notification batches", batches);
+            statistics.put("pending notifications", (long) pendingNotifications.size());
+        }
+        return statistics;
     }
 
     @FunctionalInterface
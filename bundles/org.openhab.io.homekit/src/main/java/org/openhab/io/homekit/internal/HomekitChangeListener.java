@@ -16,14 +16,18 @@ import java.time.Clock;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -59,7 +63,13 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private HomekitSettings settings;
     private int lastAccessoryCount;
 
-    private final Set<String> pendingUpdates = new HashSet<>();
+    private final Set<String> pendingUpdates = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The names of the accessory groups of each item, as they were when the accessories of the item were created.
+     * Items which don't belong to an accessory group are not stored.
+     */
+    private final Map<String, Set<String>> accessoryGroupsByItem = new ConcurrentHashMap<>();
 
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
@@ -84,11 +94,19 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                 Clock.systemUTC(), this::applyUpdates);
 
         itemRegistry.addRegistryChangeListener(this);
-        itemRegistry.getItems().forEach(this::createRootAccessories);
+        createInitialAccessories();
         initialiseRevision();
         logger.info("Created {} HomeKit items.", accessoryRegistry.getAllAccessories().size());
     }
 
+    /**
+     * Creates the accessories of all items. Looking up the metadata and groups of thousands of items takes a while,
+     * therefore the items are processed in parallel. Updates are applied after all items have been processed.
+     */
+    private synchronized void createInitialAccessories() {
+        itemRegistry.getItems().parallelStream().forEach(this::createRootAccessories);
+    }
+
     private void initialiseRevision() {
         int revision;
         try {
@@ -107,7 +125,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     }
 
     @Override
-    public synchronized void added(Item item) {
+    public void added(Item item) {
         markDirty(item);
     }
 
@@ -117,26 +135,20 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     }
 
     /**
-     * Mark an item as dirty, plus any accessory groups to which it pertains, so that after a debounce period the
-     * accessory update can be applied.
+     * Mark an item as dirty, so that after a debounce period the accessory update can be applied. The accessory groups
+     * to which the item pertains are determined when the update is applied, so that a bulk change of many items is
+     * not slowed down by registry lookups.
      *
      * @param item The item that has been changed or removed.
      */
-    private synchronized void markDirty(Item item) {
+    private void markDirty(Item item) {
         logger.trace("Mark dirty item {}", item.getName());
         pendingUpdates.add(item.getName());
-        /*
-         * If findMyAccessoryGroups fails because the accessory group has already been deleted, then we can count on a
-         * later update telling us that the accessory group was removed.
-         */
-        for (Item accessoryGroup : HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry)) {
-            pendingUpdates.add(accessoryGroup.getName());
-        }
         applyUpdatesDebouncer.call();
     }
 
     @Override
-    public synchronized void removed(Item item) {
+    public void removed(Item item) {
         markDirty(item);
     }
 
@@ -157,19 +169,48 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         storage.put(ACCESSORY_COUNT, "" + lastAccessoryCount);
     }
 
+    /**
+     * Rebuilds the accessories of the dirty items and of the accessory groups to which they belonged or belong now.
+     * All other accessories are left untouched.
+     */
     private synchronized void applyUpdates() {
         logger.trace("apply updates");
-        for (final String name : pendingUpdates) {
-            accessoryRegistry.remove(name);
-            logger.trace(" add items {}", name);
-            getItemOptional(name).ifPresent(this::createRootAccessories);
+        final Set<String> dirtyItems = new HashSet<>();
+        for (Iterator<String> iterator = pendingUpdates.iterator(); iterator.hasNext();) {
+            dirtyItems.add(iterator.next());
+            iterator.remove();
+        }
+        final Set<String> accessoryGroups = new HashSet<>();
+        for (final String name : dirtyItems) {
+            accessoryGroups.addAll(rebuildAccessories(name));
         }
-        if (!pendingUpdates.isEmpty()) {
+        accessoryGroups.removeAll(dirtyItems);
+        for (final String name : accessoryGroups) {
+            rebuildAccessories(name);
+        }
+        if (!dirtyItems.isEmpty()) {
             makeNewConfigurationRevision();
-            pendingUpdates.clear();
         }
     }
 
+    /**
+     * Removes the accessories of an item and creates them again, if the item still exists.
+     *
+     * @param name The name of the item
+     * @return The names of the accessory groups to which the item belonged before and belongs now
+     */
+    private Set<String> rebuildAccessories(String name) {
+        accessoryRegistry.remove(name);
+        final Set<String> accessoryGroups = new HashSet<>();
+        final @Nullable Set<String> previousAccessoryGroups = accessoryGroupsByItem.remove(name);
+        if (previousAccessoryGroups != null) {
+            accessoryGroups.addAll(previousAccessoryGroups);
+        }
+        logger.trace(" add items {}", name);
+        getItemOptional(name).ifPresent(item -> accessoryGroups.addAll(createRootAccessories(item)));
+        return accessoryGroups;
+    }
+
     @Override
     public void updated(Item oldElement, Item element) {
         markDirty(oldElement);
@@ -197,6 +238,10 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         this.updater = updater;
     }
 
+    public HomekitAccessoryUpdater getUpdater() {
+        return updater;
+    }
+
     public void updateSettings(HomekitSettings settings) {
         this.settings = settings;
     }
@@ -237,11 +282,16 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      * Switch light "Light" (gLight) {homekit="Lighting.OnState"}
      *
      * @param item openHAB item
+     * @return names of the accessory groups of the item
      */
-    private void createRootAccessories(Item item) {
+    private Set<String> createRootAccessories(Item item) {
         final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = HomekitAccessoryFactory
                 .getAccessoryTypes(item, metadataRegistry);
         final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
+        final Set<String> groupNames = groups.stream().map(Item::getName).collect(Collectors.toSet());
+        if (!groupNames.isEmpty()) {
+            accessoryGroupsByItem.put(item.getName(), groupNames);
+        }
         if (!accessoryTypes.isEmpty()
                 && (groups.isEmpty() || groups.stream().noneMatch(g -> g.getBaseItem() == null))) {
             logger.trace("Item {} is a HomeKit accessory of types {}", item.getName(), accessoryTypes);
@@ -249,6 +299,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
             accessoryTypes.forEach(rootAccessory -> createRootAccessory(new HomekitTaggedItem(itemProxy,
                     rootAccessory.getKey(), HomekitAccessoryFactory.getItemConfiguration(item, metadataRegistry))));
         }
+        return groupNames;
     }
 
     private void createRootAccessory(HomekitTaggedItem taggedItem) {
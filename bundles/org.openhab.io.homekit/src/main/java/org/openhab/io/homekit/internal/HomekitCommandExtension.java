@@ -38,6 +38,7 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
     private static final String SUBCMD_LIST_ACCESSORIES = "list";
     private static final String SUBCMD_PRINT_ACCESSORY = "show";
     private static final String SUBCMD_ALLOW_UNAUTHENTICATED = "allowUnauthenticated";
+    private static final String SUBCMD_PRINT_STATISTICS = "statistics";
     @Deprecated
     private static final String LEGACY_SUBCMD_LIST_ACCESSORIES = "listAccessories";
     @Deprecated
@@ -68,6 +69,9 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
                         console.println("true/false is required as an argument");
                     }
                     break;
+                case SUBCMD_PRINT_STATISTICS:
+                    printStatistics(console);
+                    break;
                 case SUBCMD_LIST_ACCESSORIES:
                 case LEGACY_SUBCMD_LIST_ACCESSORIES:
                     listAccessories(console);
@@ -104,6 +108,8 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
                 buildCommandUsage(SUBCMD_PRINT_ACCESSORY + " <accessory id | accessory name>",
                         "print additional details of the accessories which partially match provided ID or name."),
                 buildCommandUsage(SUBCMD_CLEAR_PAIRINGS, "removes all pairings with HomeKit clients."),
+                buildCommandUsage(SUBCMD_PRINT_STATISTICS,
+                        "print the counters of the characteristic change notifications sent to HomeKit clients."),
                 buildCommandUsage(SUBCMD_ALLOW_UNAUTHENTICATED + " <boolean>",
                         "enables or disables unauthenticated access to facilitate debugging"));
     }
@@ -123,6 +129,10 @@ public class HomekitCommandExtension extends AbstractConsoleCommandExtension {
         console.println((allow ? "Enabled " : "Disabled ") + "unauthenticated HomeKit access");
     }
 
+    private void printStatistics(Console console) {
+        homekit.getNotificationStatistics().forEach((name, value) -> console.println(name + ": " + value));
+    }
+
     private void listAccessories(Console console) {
         homekit.getAccessories().forEach(v -> {
             try {
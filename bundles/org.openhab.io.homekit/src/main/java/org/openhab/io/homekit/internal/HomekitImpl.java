@@ -201,6 +201,11 @@ public class HomekitImpl implements Homekit {
         return new ArrayList<>(this.changeListener.getAccessories().values());
     }
 
+    @Override
+    public Map<String, Long> getNotificationStatistics() {
+        return changeListener.getUpdater().getStatistics();
+    }
+
     @Override
     public void clearHomekitPairings() {
         try {
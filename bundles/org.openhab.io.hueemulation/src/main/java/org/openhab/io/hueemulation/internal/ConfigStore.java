@@ -101,6 +101,12 @@ public class ConfigStore {
             .registerTypeAdapter(HueSuccessResponseStateChanged.class, new HueSuccessResponseStateChanged.Serializer())
             .registerTypeAdapter(HueGroupEntry.class, new HueGroupEntry.Serializer(this)).create();
 
+    /**
+     * The serialized lights and groups, which are only recomputed if a light or group has changed
+     */
+    public final JsonFragmentCache<HueLightEntry> lightsJson = new JsonFragmentCache<>(gson);
+    public final JsonFragmentCache<HueGroupEntry> groupsJson = new JsonFragmentCache<>(gson);
+
     @Reference
     protected @NonNullByDefault({}) ConfigurationAdmin configAdmin;
 
@@ -176,6 +182,8 @@ public class ConfigStore {
     @Modified
     public void modified(Map<String, Object> properties) {
         this.config = new Configuration(properties).as(HueEmulationConfig.class);
+        lightsJson.clear();
+        groupsJson.clear();
 
         switchFilter = Collections.unmodifiableSet(
                 Stream.of(config.restrictToTagsSwitches.split(",")).map(String::trim).collect(Collectors.toSet()));
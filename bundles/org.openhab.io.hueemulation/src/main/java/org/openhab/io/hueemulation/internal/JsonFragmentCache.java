@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+/**
+ * Keeps the serialized json of the entries of a hue data store map, like all lights or all groups.
+ *
+ * <p>
+ * Hue clients like Amazon Echos or Harmony hubs poll the lights and groups several times a second. Instead of
+ * serializing every entry on every request, the json of an entry is kept until the entry is invalidated with
+ * {@link #invalidate(String)}. The owner of the data store invalidates an entry whenever something the serialized
+ * entry depends on changes, for example the item state or label of a light. The json of the whole map is assembled
+ * from the cached fragments and is only rebuilt if one of the fragments or the set of entries has changed.
+ * </p>
+ *
+ * <p>
+ * Each built json gets a new version, which can be used as entity tag.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> The type of the map entries
+ */
+@NonNullByDefault
+public class JsonFragmentCache<T> {
+    private final Gson gson;
+    private final Map<String, Fragment<T>> fragments = new HashMap<>();
+    private @Nullable VersionedJson json;
+    // Starts with the current time, so that versions of a previous run are not handed out again
+    private long version = System.currentTimeMillis();
+
+    /**
+     * A serialized json and its version. The version changes whenever the json is rebuilt.
+     */
+    public static class VersionedJson {
+        public final String json;
+        public final long version;
+
+        VersionedJson(String json, long version) {
+            this.json = json;
+            this.version = version;
+        }
+    }
+
+    private static class Fragment<T> {
+        final T entry;
+        final VersionedJson json;
+
+        Fragment(T entry, VersionedJson json) {
+            this.entry = entry;
+            this.json = json;
+        }
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param gson The gson instance with the serializers of the entry type
+     */
+    public JsonFragmentCache(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Returns the json of the given entry, which is stored under the given id.
+     */
+    public String toJson(String id, T entry) {
+        return toVersionedJson(id, entry).json;
+    }
+
+    /**
+     * Returns the json and its version of the given entry, which is stored under the given id.
+     */
+    public synchronized VersionedJson toVersionedJson(String id, T entry) {
+        return update(id, entry).json;
+    }
+
+    /**
+     * Returns the json of the given map, equal to {@link Gson#toJson(Object)}. The same string instance is returned as
+     * long as no entry has changed.
+     *
+     * @param entries A map of ids to entries. The map is expected to iterate in a stable order.
+     */
+    public String toJson(Map<String, T> entries) {
+        return toVersionedJson(entries).json;
+    }
+
+    /**
+     * Returns the json and its version of the given map, see {@link #toJson(Map)}.
+     *
+     * @param entries A map of ids to entries. The map is expected to iterate in a stable order.
+     */
+    public synchronized VersionedJson toVersionedJson(Map<String, T> entries) {
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            update(entry.getKey(), entry.getValue());
+        }
+        if (fragments.size() != entries.size()) {
+            // Entries have been removed
+            fragments.keySet().retainAll(entries.keySet());
+            json = null;
+        }
+
+        VersionedJson json = this.json;
+        if (json != null) {
+            return json;
+        }
+        StringBuilder builder = new StringBuilder("{");
+        for (String id : entries.keySet()) {
+            Fragment<T> fragment = fragments.get(id);
+            if (fragment != null) {
+                if (builder.length() > 1) {
+                    builder.append(',');
+                }
+                builder.append(gson.toJson(id)).append(':').append(fragment.json.json);
+            }
+        }
+        json = new VersionedJson(builder.append('}').toString(), ++version);
+        this.json = json;
+        return json;
+    }
+
+    /**
+     * Drops the cached json of the entry with the given id. It is serialized again on the next request.
+     */
+    public synchronized void invalidate(String id) {
+        if (fragments.remove(id) != null) {
+            json = null;
+        }
+    }
+
+    /**
+     * Removes all cached fragments.
+     */
+    public synchronized void clear() {
+        fragments.clear();
+        json = null;
+    }
+
+    private Fragment<T> update(String id, T entry) {
+        Fragment<T> fragment = fragments.get(id);
+        if (fragment == null || fragment.entry != entry) {
+            fragment = new Fragment<>(entry, new VersionedJson(gson.toJson(entry), ++version));
+            fragments.put(id, fragment);
+            json = null;
+        }
+        return fragment;
+    }
+}
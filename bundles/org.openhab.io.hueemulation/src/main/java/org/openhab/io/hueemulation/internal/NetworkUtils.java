@@ -20,11 +20,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.hueemulation.internal.JsonFragmentCache.VersionedJson;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponse;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponse.HueErrorMessage;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponseSuccessSimple;
@@ -114,6 +117,23 @@ public class NetworkUtils {
         return Response.status(httpCode).entity(str).build();
     }
 
+    /**
+     * Creates a json response with an entity tag. If the client already knows the json, because it has sent a matching
+     * "If-None-Match" header, a "304 Not Modified" response without a body is created instead.
+     *
+     * @param request The request
+     * @param json The json body. The tag is derived from its version.
+     * @return
+     */
+    public static Response taggedResponse(Request request, VersionedJson json) {
+        EntityTag tag = new EntityTag(Long.toHexString(json.version));
+        ResponseBuilder response = request.evaluatePreconditions(tag);
+        if (response == null) {
+            response = Response.ok(json.json);
+        }
+        return response.tag(tag).build();
+    }
+
     public static Response singleSuccess(Gson gson, String message, String uriPart) {
         List<HueResponse> responses = new ArrayList<>();
         responses.add(new HueResponse(new HueSuccessGeneric(message, uriPart)));
@@ -27,6 +27,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -38,9 +39,11 @@ import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.StateChangeListener;
 import org.eclipse.smarthome.core.items.events.ItemEventFactory;
 import org.eclipse.smarthome.core.library.CoreItemFactory;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
 import org.openhab.io.hueemulation.internal.ConfigStore;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.NetworkUtils;
@@ -97,7 +100,7 @@ import io.swagger.annotations.ApiResponses;
 @NonNullByDefault
 @Path("")
 @Produces(MediaType.APPLICATION_JSON)
-public class LightsAndGroups implements RegistryChangeListener<Item> {
+public class LightsAndGroups implements RegistryChangeListener<Item>, StateChangeListener {
     public static final String EXPOSE_AS_DEVICE_TAG = "huelight";
     private final Logger logger = LoggerFactory.getLogger(LightsAndGroups.class);
     private static final String ITEM_TYPE_GROUP = "Group";
@@ -129,11 +132,27 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     }
 
     /**
-     * Unregisters from the {@link ItemRegistry}.
+     * Unregisters from the {@link ItemRegistry} and the light items.
      */
     @Deactivate
     protected void deactivate() {
         itemRegistry.removeRegistryChangeListener(this);
+        for (HueLightEntry light : cs.ds.lights.values()) {
+            light.item.removeStateChangeListener(this);
+        }
+    }
+
+    /**
+     * The serialized state of a light has changed
+     */
+    @Override
+    public void stateChanged(Item item, State oldState, State newState) {
+        cs.lightsJson.invalidate(cs.mapItemUIDtoHueID(item));
+    }
+
+    @Override
+    public void stateUpdated(Item item, State state) {
+        // Only changes are of interest
     }
 
     @Override
@@ -142,6 +161,8 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             return;
         }
         GenericItem element = (GenericItem) newElement;
+        // Group members and the lights of group 0 might change
+        cs.groupsJson.clear();
 
         if (!(element instanceof GroupItem) && !ALLOWED_ITEM_TYPES.contains(element.getType())) {
             return;
@@ -177,6 +198,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         } else {
             HueLightEntry device = new HueLightEntry(element, cs.ds.config.uuid + "-" + hueID.toString(), deviceType);
             device.item = element;
+            element.addStateChangeListener(this);
             cs.ds.lights.put(hueID, device);
             updateGroup0();
         }
@@ -194,8 +216,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     public synchronized void removed(Item element) {
         String hueID = cs.mapItemUIDtoHueID(element);
         logger.debug("Remove item {}", hueID);
+        if (element instanceof GenericItem) {
+            ((GenericItem) element).removeStateChangeListener(this);
+        }
         cs.ds.lights.remove(hueID);
         cs.ds.groups.remove(hueID);
+        cs.groupsJson.clear();
         updateGroup0();
     }
 
@@ -209,8 +235,14 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             return;
         }
         GenericItem element = (GenericItem) newElement;
+        if (oldElement instanceof GenericItem) {
+            ((GenericItem) oldElement).removeStateChangeListener(this);
+        }
+        // The label, tags or group memberships might have changed
+        cs.groupsJson.clear();
 
         String hueID = cs.mapItemUIDtoHueID(element);
+        cs.lightsJson.invalidate(hueID);
 
         HueGroupEntry hueGroup = cs.ds.groups.get(hueID);
         if (hueGroup != null) {
@@ -237,18 +269,19 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         }
 
         hueDevice.updateItem(element);
+        element.addStateChangeListener(this);
     }
 
     @GET
     @Path("{username}/lights")
     @ApiOperation(value = "Return all lights")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @ApiParam(value = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return NetworkUtils.taggedResponse(request, cs.lightsJson.toVersionedJson(cs.ds.lights));
     }
 
     @GET
@@ -279,13 +312,17 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Path("{username}/lights/{id}")
     @ApiOperation(value = "Return a light")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getLightApi(@Context UriInfo uri, //
+    public Response getLightApi(@Context UriInfo uri, @Context Request request, //
             @PathParam("username") @ApiParam(value = "username") String username,
             @PathParam("id") @ApiParam(value = "light id") String id) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        HueLightEntry hueDevice = cs.ds.lights.get(id);
+        if (hueDevice == null) {
+            return Response.ok(cs.gson.toJson(hueDevice)).build();
+        }
+        return NetworkUtils.taggedResponse(request, cs.lightsJson.toVersionedJson(id, hueDevice));
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -382,6 +419,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             }
             hueDevice.lastCommand = command;
             hueDevice.lastHueChange = newState;
+            cs.lightsJson.invalidate(id);
         }
 
         return Response.ok(cs.gson.toJson(responses, new TypeToken<List<?>>() {
@@ -413,6 +451,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
 
         // First synchronize the internal state information with the framework
         hueDevice.action = StateUtils.colorStateFromItemState(groupItem.getState(), hueDevice.deviceType);
+        cs.groupsJson.invalidate(id);
 
         List<HueResponse> responses = new ArrayList<>();
         Command command = StateUtils.computeCommandByState(responses, "/groups/" + id + "/state/", hueDevice.action,
@@ -438,25 +477,29 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Path("{username}/groups")
     @ApiOperation(value = "Return all groups")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @ApiParam(value = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return NetworkUtils.taggedResponse(request, cs.groupsJson.toVersionedJson(cs.ds.groups));
     }
 
     @GET
     @Path("{username}/groups/{id}")
     @ApiOperation(value = "Return a group")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getGroupApi(@Context UriInfo uri, //
+    public Response getGroupApi(@Context UriInfo uri, @Context Request request, //
             @PathParam("username") @ApiParam(value = "username") String username,
             @PathParam("id") @ApiParam(value = "group id") String id) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups.get(id))).build();
+        HueGroupEntry hueGroup = cs.ds.groups.get(id);
+        if (hueGroup == null) {
+            return Response.ok(cs.gson.toJson(hueGroup)).build();
+        }
+        return NetworkUtils.taggedResponse(request, cs.groupsJson.toVersionedJson(id, hueGroup));
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -31,12 +31,14 @@ import org.eclipse.smarthome.core.library.items.ColorItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
 import org.eclipse.smarthome.core.library.types.HSBType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.test.java.JavaTest;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.openhab.io.hueemulation.internal.ConfigStore;
 import org.openhab.io.hueemulation.internal.DeviceType;
+import org.openhab.io.hueemulation.internal.JsonFragmentCache.VersionedJson;
 import org.openhab.io.hueemulation.internal.dto.HueGroupEntry;
 import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
 import org.openhab.io.hueemulation.internal.dto.HueStateColorBulb;
@@ -49,7 +51,7 @@ import org.openhab.io.hueemulation.internal.rest.mocks.DummyItemRegistry;
  * @author David Graeff - Initial contribution
  */
 @NonNullByDefault
-public class LightsAndGroupsTests {
+public class LightsAndGroupsTests extends JavaTest {
     protected @NonNullByDefault({}) CommonSetup commonSetup;
     protected @NonNullByDefault({}) ItemRegistry itemRegistry;
     protected @NonNullByDefault({}) ConfigStore cs;
@@ -334,6 +336,55 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void cachedLightsAndGroups() {
+        SwitchItem item = new SwitchItem("switch1");
+        item.addTag("Switchable");
+        itemRegistry.add(item);
+        String id = cs.mapItemUIDtoHueID(item);
+
+        VersionedJson lights = cs.lightsJson.toVersionedJson(cs.ds.lights);
+        assertThat(lights.json, is(cs.gson.toJson(cs.ds.lights)));
+        assertThat(cs.groupsJson.toJson(cs.ds.groups), is(cs.gson.toJson(cs.ds.groups)));
+        assertThat(cs.lightsJson.toVersionedJson(cs.ds.lights), is(sameInstance(lights)));
+
+        // A changed item state invalidates the cached json of the light
+        item.setState(OnOffType.ON);
+        waitForAssert(() -> assertThat(cs.lightsJson.toJson(id, cs.ds.lights.get(id)), containsString("\"on\":true")));
+        VersionedJson changedLights = cs.lightsJson.toVersionedJson(cs.ds.lights);
+        assertThat(changedLights.json, is(cs.gson.toJson(cs.ds.lights)));
+        assertThat(changedLights.version, is(not(lights.version)));
+
+        // A removed light is removed from the lights and from group 0
+        itemRegistry.remove(item.getUID());
+        assertThat(cs.lightsJson.toJson(cs.ds.lights), is(cs.gson.toJson(cs.ds.lights)));
+        assertThat(cs.groupsJson.toJson(cs.ds.groups), is(cs.gson.toJson(cs.ds.groups)));
+    }
+
+    @Test
+    public void notModifiedLights() {
+        SwitchItem item = new SwitchItem("switch1");
+        item.addTag("Switchable");
+        itemRegistry.add(item);
+
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        String tag = response.getHeaderString("ETag");
+        assertThat(tag, is(notNullValue()));
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header("If-None-Match", tag).get();
+        assertEquals(304, response.getStatus());
+
+        item.setState(OnOffType.ON);
+        waitForAssert(() -> {
+            Response changed = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                    .header("If-None-Match", tag).get();
+            assertEquals(200, changed.getStatus());
+            assertThat(changed.getHeaderString("ETag"), is(not(tag)));
+        });
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
@@ -22,13 +22,19 @@ import java.util.Dictionary;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.Response;
 
+import org.eclipse.smarthome.core.items.GroupItem;
+import org.eclipse.smarthome.core.library.items.ColorItem;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.openhab.io.hueemulation.internal.ConfigStore;
+import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.HueEmulationConfig;
+import org.openhab.io.hueemulation.internal.dto.HueGroupEntry;
+import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
 import org.openhab.io.hueemulation.internal.dto.HueUnauthorizedConfig;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponse;
 import org.openhab.io.hueemulation.internal.dto.response.HueSuccessResponseCreateUser;
@@ -136,4 +142,16 @@ public class UsersAndConfigTests {
         assertThat(response.getStatus(), is(403));
         assertThat(response.readEntity(String.class), containsString("error"));
     }
+
+    @Test
+    public void fullDataStoreEqualsSerializedDataStore() {
+        commonSetup.cs.ds.lights.put("1", new HueLightEntry(new SwitchItem("switch"), "switch", DeviceType.SwitchType));
+        commonSetup.cs.ds.lights.put("2", new HueLightEntry(new ColorItem("color"), "color", DeviceType.ColorType));
+        commonSetup.cs.ds.groups.put("10",
+                new HueGroupEntry("name", new GroupItem("white", new SwitchItem("switch")), DeviceType.SwitchType));
+
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser").request().get();
+        assertThat(response.getStatus(), is(200));
+        assertThat(response.readEntity(String.class), is(commonSetup.cs.gson.toJson(commonSetup.cs.ds)));
+    }
 }
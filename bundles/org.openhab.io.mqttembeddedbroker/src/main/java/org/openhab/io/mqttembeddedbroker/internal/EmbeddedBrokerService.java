@@ -15,6 +15,7 @@ package org.openhab.io.mqttembeddedbroker.internal;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -27,6 +28,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -45,6 +47,7 @@ import org.eclipse.smarthome.io.transport.mqtt.MqttService;
 import org.eclipse.smarthome.io.transport.mqtt.MqttServiceObserver;
 import org.openhab.io.mqttembeddedbroker.Constants;
 import org.openhab.io.mqttembeddedbroker.internal.MqttEmbeddedBrokerDetectStart.MqttEmbeddedBrokerStartedListener;
+import org.openhab.io.mqttembeddedbroker.internal.RetainedMessageLog.RetainedEntry;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -67,6 +70,11 @@ import io.moquette.interception.messages.InterceptDisconnectMessage;
 import io.moquette.interception.messages.InterceptPublishMessage;
 import io.moquette.interception.messages.InterceptSubscribeMessage;
 import io.moquette.interception.messages.InterceptUnsubscribeMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.mqtt.MqttMessageBuilders;
+import io.netty.handler.codec.mqtt.MqttPublishMessage;
+import io.netty.handler.codec.mqtt.MqttQoS;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 
@@ -87,13 +95,27 @@ import io.netty.handler.ssl.SslContextBuilder;
 @NonNullByDefault
 public class EmbeddedBrokerService
         implements MqttConnectionObserver, MqttServiceObserver, MqttEmbeddedBrokerStartedListener {
+    /** Moquettes own persistence store */
+    public static final String PERSISTENCE_MVSTORE = "mvstore";
+    /** Retained messages are stored in a {@link RetainedMessageLog} */
+    public static final String PERSISTENCE_LOG = "log";
+    // The interval for flushing and compacting the retained message log, in seconds
+    private static final int PERSISTENCE_INTERVAL = 30;
+    /** The used size of the retained message log in bytes is published on this topic */
+    public static final String TOPIC_STORE_SIZE = "$SYS/broker/store/size";
+    /** The bytes per second written to the retained message log are published on this topic */
+    public static final String TOPIC_STORE_THROUGHPUT = "$SYS/broker/store/throughput";
+
     private final MqttService service;
     private String persistenceFilename = "";
+    private String persistenceType = PERSISTENCE_MVSTORE;
+    private int persistenceMaxSize = 16;
+    private @Nullable RetainedMessageLog retainedMessageLog;
+    private @Nullable ScheduledFuture<?> persistenceFuture;
     // private NetworkServerTls networkServerTls; //TODO wait for NetworkServerTls implementation
 
     @NonNullByDefault({})
     class BrokerMetricsListenerEx implements InterceptHandler {
-
         @Override
         public String getID() {
             return "logger";
@@ -101,7 +123,8 @@ public class EmbeddedBrokerService
 
         @Override
         public Class<?>[] getInterceptedMessageTypes() {
-            return new Class<?>[] { InterceptConnectMessage.class, InterceptDisconnectMessage.class };
+            return new Class<?>[] { InterceptConnectMessage.class, InterceptDisconnectMessage.class,
+                    InterceptPublishMessage.class };
         }
 
         @Override
@@ -124,6 +147,20 @@ public class EmbeddedBrokerService
 
         @Override
         public void onPublish(InterceptPublishMessage arg0) {
+            final RetainedMessageLog log = retainedMessageLog;
+            if (log == null || !arg0.isRetainFlag()) {
+                return;
+            }
+            final ByteBuf buffer = arg0.getPayload();
+            final byte[] payload = new byte[buffer.readableBytes()];
+            buffer.getBytes(buffer.readerIndex(), payload);
+            try {
+                if (!log.retain(arg0.getTopicName(), payload, arg0.getQos().value())) {
+                    logger.warn("Retained message on {} exceeds the persistence size limit", arg0.getTopicName());
+                }
+            } catch (IOException e) {
+                logger.warn("Could not store retained message on {}", arg0.getTopicName(), e);
+            }
         }
 
         @Override
@@ -133,6 +170,28 @@ public class EmbeddedBrokerService
         @Override
         public void onUnsubscribe(InterceptUnsubscribeMessage arg0) {
         }
+
+        /**
+         * Publishes the size and the write throughput of the log on the broker's $SYS topics.
+         * The messages are not retained, so that they are not written to the log themselves.
+         */
+        void reportStoreMetrics(RetainedMessageLog log, int intervalSeconds) {
+            final int size = log.getSize();
+            final long throughput = log.pollWrittenBytes() / intervalSeconds;
+            logger.debug("Broker store size: {} bytes, write throughput: {} bytes/s", size, throughput);
+            final Server server = EmbeddedBrokerService.this.server;
+            if (server != null) {
+                publishMetric(server, TOPIC_STORE_SIZE, size);
+                publishMetric(server, TOPIC_STORE_THROUGHPUT, throughput);
+            }
+        }
+
+        private void publishMetric(Server server, String topic, long value) {
+            MqttPublishMessage message = MqttMessageBuilders.publish().topicName(topic).retained(false)
+                    .qos(MqttQoS.AT_MOST_ONCE)
+                    .payload(Unpooled.copiedBuffer(String.valueOf(value), StandardCharsets.UTF_8)).build();
+            server.internalPublish(message, Constants.CLIENTID);
+        }
     }
 
     protected @Nullable Server server;
@@ -174,6 +233,8 @@ public class EmbeddedBrokerService
             connection.setCredentials(config.username, config.password);
         }
 
+        persistenceType = PERSISTENCE_LOG.equals(config.persistenceType) ? PERSISTENCE_LOG : PERSISTENCE_MVSTORE;
+        persistenceMaxSize = config.persistenceMaxSize;
         if (!config.persistenceFile.isEmpty()) {
             final String persistenceFilename = config.persistenceFile;
             if (!Paths.get(persistenceFilename).isAbsolute()) {
@@ -218,6 +279,7 @@ public class EmbeddedBrokerService
             logger.warn("Could not cleanly shutdown connection or server.", e);
         }
         connection = null;
+        closeRetainedMessageLog();
     }
 
     @Override
@@ -292,7 +354,12 @@ public class EmbeddedBrokerService
             logger.debug("Broker anonymous access enabled");
         }
 
-        if (!persistenceFilename.isEmpty()) { // Persistence: If not set, an in-memory database is used.
+        RetainedMessageLog retainedMessageLog = null;
+        if (!persistenceFilename.isEmpty() && PERSISTENCE_LOG.equals(persistenceType)) {
+            // Moquette keeps everything in memory. Retained messages are restored from the log after the start.
+            retainedMessageLog = new RetainedMessageLog(Paths.get(persistenceFilename + ".log"),
+                    (int) Math.min(persistenceMaxSize * 1024L * 1024L, Integer.MAX_VALUE));
+        } else if (!persistenceFilename.isEmpty()) { // Persistence: If not set, an in-memory database is used.
             properties.put(BrokerConstants.PERSISTENT_STORE_PROPERTY_NAME, persistenceFilename);
             properties.put(BrokerConstants.AUTOSAVE_INTERVAL_PROPERTY_NAME, "30"); // in seconds
         }
@@ -313,11 +380,60 @@ public class EmbeddedBrokerService
             }
         }
         this.server = server;
-        server.addInterceptHandler(metrics);
         ScheduledExecutorService s = new ScheduledThreadPoolExecutor(1);
+        if (retainedMessageLog != null) {
+            restoreRetainedMessages(server, retainedMessageLog);
+            final RetainedMessageLog log = retainedMessageLog;
+            this.retainedMessageLog = log;
+            persistenceFuture = s.scheduleWithFixedDelay(() -> maintainRetainedMessageLog(log), PERSISTENCE_INTERVAL,
+                    PERSISTENCE_INTERVAL, TimeUnit.SECONDS);
+        }
+        server.addInterceptHandler(metrics);
         detectStart.startBrokerStartedDetection(port, s);
     }
 
+    /**
+     * Recovers the retained messages from the log and publishes them to the broker.
+     */
+    private void restoreRetainedMessages(Server server, RetainedMessageLog log) throws IOException {
+        final long start = System.nanoTime();
+        final Map<String, RetainedEntry> messages = log.open();
+        messages.forEach((topic, entry) -> {
+            MqttPublishMessage message = MqttMessageBuilders.publish().topicName(topic).retained(true)
+                    .qos(MqttQoS.valueOf(entry.qos)).payload(Unpooled.wrappedBuffer(entry.payload)).build();
+            server.internalPublish(message, Constants.CLIENTID);
+        });
+        logger.info("Restored {} retained messages in {} ms", messages.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void maintainRetainedMessageLog(RetainedMessageLog log) {
+        log.flush();
+        try {
+            log.compactIfWasteful();
+        } catch (IOException e) {
+            logger.warn("Could not compact the retained message log", e);
+        }
+        metrics.reportStoreMetrics(log, PERSISTENCE_INTERVAL);
+    }
+
+    private void closeRetainedMessageLog() {
+        final ScheduledFuture<?> persistenceFuture = this.persistenceFuture;
+        if (persistenceFuture != null) {
+            persistenceFuture.cancel(false);
+            this.persistenceFuture = null;
+        }
+        final RetainedMessageLog log = this.retainedMessageLog;
+        this.retainedMessageLog = null;
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                logger.warn("Could not close the retained message log", e);
+            }
+        }
+    }
+
     public void stopEmbeddedServer() {
         Server server = this.server;
         if (server != null) {
@@ -326,6 +442,7 @@ public class EmbeddedBrokerService
             server.stopServer();
             this.server = null;
         }
+        closeRetainedMessageLog();
     }
 
     /**
@@ -0,0 +1,352 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.mqttembeddedbroker.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only, memory-mapped log of retained messages.
+ * <p>
+ * Every retained message (or the removal of one, with an empty payload) is appended as a record to a file that is
+ * mapped into memory with the configured maximum size. The latest message per topic is kept in memory as well.
+ * Superseded records are removed by a compaction, which writes all current messages to a new file and replaces the
+ * log with it. A compaction happens on {@link #open()}, if an append does not fit anymore and on
+ * {@link #compactIfWasteful()}.
+ * <p>
+ * A record consists of the record length, a CRC32 checksum, the QoS, the topic and the payload. On recovery the log
+ * is read up to the first incomplete or corrupt record, so that a write interrupted by a crash only loses that
+ * message.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RetainedMessageLog implements Closeable {
+    static final int MAGIC = 0x4d51524c; // "MQRL"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    // record length and checksum
+    static final int RECORD_HEADER_SIZE = 8;
+
+    private final Logger logger = LoggerFactory.getLogger(RetainedMessageLog.class);
+    private final Path path;
+    private final int maxSize;
+    private final Map<String, RetainedEntry> messages = new LinkedHashMap<>();
+    private @Nullable FileChannel channel;
+    private @Nullable MappedByteBuffer buffer;
+    // The size of all records of current messages. The rest of the log is superseded.
+    private long liveBytes;
+    private long writtenBytes;
+
+    /**
+     * A retained message
+     */
+    public static class RetainedEntry {
+        public final byte[] payload;
+        public final int qos;
+        final int recordSize;
+
+        RetainedEntry(byte[] payload, int qos, int recordSize) {
+            this.payload = payload;
+            this.qos = qos;
+            this.recordSize = recordSize;
+        }
+    }
+
+    /**
+     * Creates a log. Call {@link #open()} before using it.
+     *
+     * @param path The log file
+     * @param maxSize The maximum log file size in bytes
+     */
+    public RetainedMessageLog(Path path, int maxSize) {
+        if (maxSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("The maximum size is too small!");
+        }
+        this.path = path;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Recovers the retained messages from the log file, if it exists, and compacts the log.
+     *
+     * @return The recovered retained messages by topic
+     * @throws IOException If the log file cannot be read or written
+     */
+    public synchronized Map<String, RetainedEntry> open() throws IOException {
+        close();
+        messages.clear();
+        if (Files.exists(path)) {
+            // The log is read through the channel, a mapping would keep the file open until it is garbage collected
+            try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ);
+                    DataInputStream in = new DataInputStream(
+                            new BufferedInputStream(Channels.newInputStream(readChannel)))) {
+                recover(in, readChannel.size());
+            }
+        }
+        compact();
+        return getMessages();
+    }
+
+    private void recover(DataInputStream in, long size) throws IOException {
+        if (size < HEADER_SIZE || in.readInt() != MAGIC || in.readInt() != VERSION) {
+            logger.warn("Retained message log {} has an unknown format and is discarded", path);
+            return;
+        }
+        long remaining = size - HEADER_SIZE;
+        int records = 0;
+        try {
+            while (remaining >= RECORD_HEADER_SIZE) {
+                final int length = in.readInt();
+                if (length <= 0 || length > remaining - RECORD_HEADER_SIZE) {
+                    break;
+                }
+                final int checksum = in.readInt();
+                final byte[] record = new byte[length];
+                in.readFully(record);
+                remaining -= RECORD_HEADER_SIZE + length;
+                if (checksum != checksum(record)) {
+                    logger.warn("Retained message log {} contains a corrupt record. Later records are skipped.", path);
+                    break;
+                }
+                apply(ByteBuffer.wrap(record), RECORD_HEADER_SIZE + length);
+                records++;
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            logger.warn("Retained message log {} contains an invalid record. Later records are skipped.", path);
+        }
+        logger.debug("Recovered {} retained messages from {} log records", messages.size(), records);
+    }
+
+    private void apply(ByteBuffer record, int recordSize) {
+        final int qos = record.get();
+        final byte[] topic = new byte[record.getInt()];
+        record.get(topic);
+        final byte[] payload = new byte[record.getInt()];
+        record.get(payload);
+        update(new String(topic, StandardCharsets.UTF_8), payload, qos, recordSize);
+    }
+
+    private void update(String topic, byte[] payload, int qos, int recordSize) {
+        final RetainedEntry old = payload.length > 0 ? messages.put(topic, new RetainedEntry(payload, qos, recordSize))
+                : messages.remove(topic);
+        if (old != null) {
+            liveBytes -= old.recordSize;
+        }
+        if (payload.length > 0) {
+            liveBytes += recordSize;
+        }
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] createRecord(String topic, byte[] payload, int qos) {
+        final byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer record = ByteBuffer.allocate(1 + 4 + topicBytes.length + 4 + payload.length);
+        record.put((byte) qos).putInt(topicBytes.length).put(topicBytes).putInt(payload.length).put(payload);
+        return record.array();
+    }
+
+    private static void writeRecord(ByteBuffer target, byte[] record) {
+        target.putInt(record.length).putInt(checksum(record)).put(record);
+    }
+
+    /**
+     * Appends a retained message. An empty payload removes the retained message of the topic.
+     * A message that equals the current retained message of the topic is not appended again.
+     *
+     * @param topic The topic
+     * @param payload The payload
+     * @param qos The QoS of the message
+     * @return Returns false if the message does not fit into the log, even after a compaction.
+     * @throws IOException If the log file cannot be written
+     */
+    public synchronized boolean retain(String topic, byte[] payload, int qos) throws IOException {
+        final RetainedEntry existing = messages.get(topic);
+        if (existing == null ? payload.length == 0 : existing.qos == qos && Arrays.equals(existing.payload, payload)) {
+            return true;
+        }
+        final byte[] record = createRecord(topic, payload, qos);
+        final int recordSize = RECORD_HEADER_SIZE + record.length;
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IOException("Retained message log is not open");
+        }
+        if (buffer.remaining() < recordSize) {
+            compact();
+            buffer = this.buffer;
+            if (buffer == null || buffer.remaining() < recordSize) {
+                // Do not restore an outdated message for this topic
+                if (messages.remove(topic) != null) {
+                    compact();
+                }
+                return false;
+            }
+        }
+        writeRecord(buffer, record);
+        writtenBytes += recordSize;
+        update(topic, payload, qos, recordSize);
+        return true;
+    }
+
+    /**
+     * Compacts the log if more than half of it consists of superseded records.
+     *
+     * @throws IOException If the log file cannot be written
+     */
+    public synchronized void compactIfWasteful() throws IOException {
+        final MappedByteBuffer buffer = this.buffer;
+        if (buffer != null && buffer.position() - HEADER_SIZE > 2 * liveBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * Writes all current retained messages to a new log file and replaces the log with it.
+     * Messages that do not fit into the maximum size are dropped.
+     *
+     * @throws IOException If the log file cannot be written
+     */
+    public synchronized void compact() throws IOException {
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final Path temp = Paths.get(path.toString() + ".tmp");
+        long size = HEADER_SIZE;
+        int dropped = 0;
+        liveBytes = 0;
+        // The records are streamed to the new file, instead of assembling the whole log in memory first
+        try (FileChannel tempChannel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(tempChannel)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            final Iterator<Map.Entry<String, RetainedEntry>> it = messages.entrySet().iterator();
+            while (it.hasNext()) {
+                final Map.Entry<String, RetainedEntry> entry = it.next();
+                final byte[] record = createRecord(entry.getKey(), entry.getValue().payload, entry.getValue().qos);
+                final int recordSize = RECORD_HEADER_SIZE + record.length;
+                if (size + recordSize > maxSize) {
+                    it.remove();
+                    dropped++;
+                    continue;
+                }
+                out.writeInt(record.length);
+                out.writeInt(checksum(record));
+                out.write(record);
+                size += recordSize;
+                liveBytes += recordSize;
+            }
+            out.flush();
+            tempChannel.force(true);
+        }
+        if (dropped > 0) {
+            logger.warn("Retained message log is full. {} retained messages will not be restored.", dropped);
+        }
+
+        // The old mapping is not written anymore. It refers to the replaced file until it is garbage collected.
+        close();
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, maxSize);
+        buffer.position((int) size);
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Writes appended records to the storage device.
+     */
+    public synchronized void flush() {
+        final MappedByteBuffer buffer = this.buffer;
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Flushes and closes the log file. The retained messages stay available via {@link #getMessages()}.
+     * The mapping of the file is released when it is garbage collected.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        final MappedByteBuffer buffer = this.buffer;
+        if (buffer != null) {
+            buffer.force();
+            this.buffer = null;
+        }
+        final FileChannel channel = this.channel;
+        this.channel = null;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Returns the current retained messages by topic.
+     */
+    public synchronized Map<String, RetainedEntry> getMessages() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(messages));
+    }
+
+    /**
+     * Returns the used size of the log in bytes, including superseded records.
+     */
+    public synchronized int getSize() {
+        final MappedByteBuffer buffer = this.buffer;
+        return buffer != null ? buffer.position() : 0;
+    }
+
+    /**
+     * Returns the number of bytes appended since the last call of this method.
+     */
+    public synchronized long pollWrittenBytes() {
+        final long bytes = writtenBytes;
+        writtenBytes = 0;
+        return bytes;
+    }
+}
@@ -25,6 +25,8 @@ public class ServiceConfiguration {
     public @Nullable Integer port;
     public Boolean secure = false;
     public String persistenceFile = "mqttembedded.bin";
+    public String persistenceType = EmbeddedBrokerService.PERSISTENCE_MVSTORE;
+    public Integer persistenceMaxSize = 16;
 
     public @Nullable String username;
     public @Nullable String password;
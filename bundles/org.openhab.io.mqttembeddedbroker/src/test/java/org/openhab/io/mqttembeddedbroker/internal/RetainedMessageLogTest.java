@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.mqttembeddedbroker.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.io.mqttembeddedbroker.internal.RetainedMessageLog.RetainedEntry;
+
+/**
+ * Tests the {@link RetainedMessageLog}.
+ *
+ * @author agent - Initial contribution
+ */
+public class RetainedMessageLogTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path path;
+
+    @Before
+    public void setUp() {
+        path = folder.getRoot().toPath().resolve("retained.log");
+    }
+
+    @Test
+    public void recoverAfterRestart() throws IOException {
+        RetainedMessageLog log = new RetainedMessageLog(path, 4096);
+        assertThat(log.open().size(), is(0));
+        assertTrue(log.retain("a", "1".getBytes(), 1));
+        assertTrue(log.retain("b", "2".getBytes(), 0));
+        assertTrue(log.retain("a", "3".getBytes(), 2));
+        // An empty payload removes the retained message
+        assertTrue(log.retain("b", new byte[0], 0));
+        log.close();
+
+        Map<String, RetainedEntry> messages = new RetainedMessageLog(path, 4096).open();
+        assertThat(messages.size(), is(1));
+        assertThat(new String(messages.get("a").payload), is("3"));
+        assertThat(messages.get("a").qos, is(2));
+    }
+
+    @Test
+    public void unchangedMessagesAreNotAppended() throws IOException {
+        RetainedMessageLog log = new RetainedMessageLog(path, 4096);
+        log.open();
+        log.retain("a", "1".getBytes(), 1);
+        final int size = log.getSize();
+        log.retain("a", "1".getBytes(), 1);
+        assertThat(log.getSize(), is(size));
+        assertThat(log.pollWrittenBytes(), is((long) size - RetainedMessageLog.HEADER_SIZE));
+        assertThat(log.pollWrittenBytes(), is(0L));
+        log.close();
+    }
+
+    @Test
+    public void compactWhenFull() throws IOException {
+        RetainedMessageLog log = new RetainedMessageLog(path, 256);
+        log.open();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(log.retain("topic", ("value" + i).getBytes(), 1));
+        }
+        assertThat(new String(log.getMessages().get("topic").payload), is("value99"));
+
+        // A message larger than the log is rejected and an older value of that topic is not restored
+        assertFalse(log.retain("topic", new byte[300], 1));
+        log.close();
+        assertThat(new RetainedMessageLog(path, 256).open().containsKey("topic"), is(false));
+    }
+
+    @Test
+    public void recoverUpToCorruptRecord() throws IOException {
+        RetainedMessageLog log = new RetainedMessageLog(path, 4096);
+        log.open();
+        log.retain("a", "1".getBytes(), 1);
+        final int size = log.getSize();
+        log.retain("b", "2".getBytes(), 1);
+        log.close();
+
+        // Simulate an interrupted write of the last record
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(size + RetainedMessageLog.RECORD_HEADER_SIZE);
+            file.write(0xFF);
+        }
+
+        Map<String, RetainedEntry> messages = new RetainedMessageLog(path, 4096).open();
+        assertThat(messages.keySet().size(), is(1));
+        assertThat(messages.containsKey("a"), is(true));
+    }
+}
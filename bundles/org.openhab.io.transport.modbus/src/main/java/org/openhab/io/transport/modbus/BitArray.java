@@ -110,6 +110,22 @@ public class BitArray implements Iterable<Boolean> {
         return length;
     }
 
+    /**
+     * Get copy of consecutive bits of this array
+     *
+     * @param offset index of the first bit to include
+     * @param length number of bits to include
+     * @return new bit array with bits from offset to offset + length (exclusive)
+     * @throws IndexOutOfBoundsException if the slice does not fit inside this array
+     */
+    public BitArray slice(int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > size()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Cannot slice %d bits starting from %d, size is %d", length, offset, size()));
+        }
+        return new BitArray(wrapped.get(offset, offset + length), length);
+    }
+
     @Override
     public String toString() {
         return new StringBuilder("BitArray(bits=").append(length == 0 ? "<empty>" : toBinaryString()).append(")")
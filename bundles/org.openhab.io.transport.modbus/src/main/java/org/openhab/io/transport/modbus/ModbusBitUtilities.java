@@ -15,7 +15,6 @@ package org.openhab.io.transport.modbus;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -111,107 +110,213 @@ public class ModbusBitUtilities {
         }
         switch (type) {
             case BIT:
-                return Optional
-                        .of(new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1));
+                return Optional.of(new DecimalType(extractBit(registers, index)));
             case INT8:
-                return Optional.of(new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]));
+                return Optional.of(new DecimalType(extractSInt8(registers, index)));
             case UINT8:
-                return Optional.of(new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff));
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0)));
-            }
+                return Optional.of(new DecimalType(extractUInt8(registers, index)));
+            case INT16:
+                return Optional.of(new DecimalType(extractSInt16(registers, index)));
             case UINT16:
-                return Optional.of(new DecimalType(registers.getRegister(index).toUnsignedShort()));
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
-                }
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
-                }
-            }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
+                return Optional.of(new DecimalType(extractUInt16(registers, index)));
+            case INT32:
+                return Optional.of(new DecimalType(extractSInt32(registers, index)));
+            case UINT32:
+                return Optional.of(new DecimalType(extractUInt32(registers, index)));
+            case FLOAT32:
+                return floatToDecimalType(extractFloat32(registers, index));
+            case INT64:
+                return Optional.of(new DecimalType(extractSInt64(registers, index)));
+            case UINT64:
+                return Optional.of(new DecimalType(unsignedLongToBigDecimal(extractSInt64(registers, index))));
+            case INT32_SWAP:
+                return Optional.of(new DecimalType(extractSInt32Swap(registers, index)));
+            case UINT32_SWAP:
+                return Optional.of(new DecimalType(extractUInt32Swap(registers, index)));
+            case FLOAT32_SWAP:
+                return floatToDecimalType(extractFloat32Swap(registers, index));
+            case INT64_SWAP:
+                return Optional.of(new DecimalType(extractSInt64Swap(registers, index)));
+            case UINT64_SWAP:
+                return Optional.of(new DecimalType(unsignedLongToBigDecimal(extractSInt64Swap(registers, index))));
             default:
                 throw new IllegalArgumentException(type.getConfigValue());
         }
     }
 
+    private static Optional<DecimalType> floatToDecimalType(float value) {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            // floating point NaN or infinity encountered
+            return Optional.empty();
+        }
+        return Optional.of(new DecimalType(value));
+    }
+
+    private static BigDecimal unsignedLongToBigDecimal(long value) {
+        if (value >= 0) {
+            return BigDecimal.valueOf(value);
+        }
+        // value is above Long.MAX_VALUE when interpreted as unsigned
+        return new BigDecimal(BigInteger.valueOf(value >>> 1).shiftLeft(1).or(BigInteger.valueOf(value & 1)));
+    }
+
+    /*
+     * Primitive extractors reading directly from the register data.
+     *
+     * The extractors do not validate the index against the number of registers, instead
+     * IndexOutOfBoundsException is thrown when trying to read outside the data.
+     */
+
+    /**
+     * Extract single bit from the registers
+     *
+     * @param registers registers to read from
+     * @param index bit index, 0 referring to the least significant bit of the first register
+     * @return 0 or 1
+     */
+    public static int extractBit(ModbusRegisterArray registers, int index) {
+        return (registers.getBuffer().get(2 * (index / 16) + 1 - (index % 16) / 8) >> (index % 8)) & 1;
+    }
+
+    /**
+     * Extract signed 8bit integer from the registers
+     *
+     * @param registers registers to read from
+     * @param index byte index, 0 referring to the low byte of the first register, 1 to the high byte of the first
+     *            register
+     * @return signed value
+     */
+    public static byte extractSInt8(ModbusRegisterArray registers, int index) {
+        return registers.getBuffer().get(2 * (index / 2) + 1 - (index % 2));
+    }
+
+    /**
+     * Extract unsigned 8bit integer from the registers
+     *
+     * @param registers registers to read from
+     * @param index byte index, 0 referring to the low byte of the first register, 1 to the high byte of the first
+     *            register
+     * @return unsigned value
+     */
+    public static short extractUInt8(ModbusRegisterArray registers, int index) {
+        return (short) (extractSInt8(registers, index) & 0xff);
+    }
+
+    /**
+     * Extract signed 16bit integer from the registers
+     *
+     * @param registers registers to read from
+     * @param index register index
+     * @return signed value
+     */
+    public static short extractSInt16(ModbusRegisterArray registers, int index) {
+        return registers.getBuffer().getShort(2 * index);
+    }
+
+    /**
+     * Extract unsigned 16bit integer from the registers
+     *
+     * @param registers registers to read from
+     * @param index register index
+     * @return unsigned value
+     */
+    public static int extractUInt16(ModbusRegisterArray registers, int index) {
+        return extractSInt16(registers, index) & 0xffff;
+    }
+
+    /**
+     * Extract signed 32bit integer from the registers, first register containing the most significant bits
+     *
+     * @param registers registers to read from
+     * @param index register index of the first register
+     * @return signed value
+     */
+    public static int extractSInt32(ModbusRegisterArray registers, int index) {
+        return registers.getBuffer().getInt(2 * index);
+    }
+
+    /**
+     * Extract unsigned 32bit integer from the registers, first register containing the most significant bits
+     *
+     * @param registers registers to read from
+     * @param index register index of the first register
+     * @return unsigned value
+     */
+    public static long extractUInt32(ModbusRegisterArray registers, int index) {
+        return extractSInt32(registers, index) & 0xffffffffL;
+    }
+
+    /**
+     * Extract signed 32bit integer from the registers, first register containing the least significant bits
+     *
+     * @param registers registers to read from
+     * @param index register index of the first register
+     * @return signed value
+     */
+    public static int extractSInt32Swap(ModbusRegisterArray registers, int index) {
+        return (extractSInt16(registers, index + 1) << 16) | extractUInt16(registers, index);
+    }
+
+    /**
+     * Extract unsigned 32bit integer from the registers, first register containing the least significant bits
+     *
+     * @param registers registers to read from
+     * @param index register index of the first register
+     * @return unsigned value
+     */
+    public static long extractUInt32Swap(ModbusRegisterArray registers, int index) {
+        return extractSInt32Swap(registers, index) & 0xffffffffL;
+    }
+
+    /**
+     * Extract 32bit floating point number from the registers, first register containing the most significant bits
+     *
+     * @param registers registers to read from
+     * @param index register index of the first register
+     * @return floating point value, possibly NaN or infinite
+     */
+    public static float extractFloat32(ModbusRegisterArray registers, int index) {
+        return Float.intBitsToFloat(extractSInt32(registers, index));
+    }
+
+    /**
+     * Extract 32bit floating point number from the registers, first register containing the least significant bits
+     *
+     * @param registers registers to read from
+     * @param index register index of the first register
+     * @return floating point value, possibly NaN or infinite
+     */
+    public static float extractFloat32Swap(ModbusRegisterArray registers, int index) {
+        return Float.intBitsToFloat(extractSInt32Swap(registers, index));
+    }
+
+    /**
+     * Extract signed 64bit integer from the registers, first register containing the most significant bits
+     *
+     * Use {@link Long#toUnsignedString(long)} and friends to interpret the value as unsigned.
+     *
+     * @param registers registers to read from
+     * @param index register index of the first register
+     * @return signed value
+     */
+    public static long extractSInt64(ModbusRegisterArray registers, int index) {
+        return registers.getBuffer().getLong(2 * index);
+    }
+
+    /**
+     * Extract signed 64bit integer from the registers, first register containing the least significant bits
+     *
+     * Use {@link Long#toUnsignedString(long)} and friends to interpret the value as unsigned.
+     *
+     * @param registers registers to read from
+     * @param index register index of the first register
+     * @return signed value
+     */
+    public static long extractSInt64Swap(ModbusRegisterArray registers, int index) {
+        return ((long) extractUInt16(registers, index + 3) << 48) | ((long) extractUInt16(registers, index + 2) << 32)
+                | ((long) extractUInt16(registers, index + 1) << 16) | extractUInt16(registers, index);
+    }
+
     /**
      * Read data from registers and convert the result to StringType
      * Strings should start the the first byte of a register, but could
@@ -241,25 +346,19 @@ public class ModbusBitUtilities {
         if (length < 0) {
             throw new IllegalArgumentException("Negative string length is not supported");
         }
-        byte[] buff = new byte[length];
-
-        int src = index;
+        ByteBuffer buff = registers.getBuffer();
+        int start = index * 2;
         int dest;
         for (dest = 0; dest < length; dest++) {
-
-            byte chr;
-            if (dest % 2 == 0) {
-                chr = (byte) ((registers.getRegister(src).getValue() >> 8));
-            } else {
-                chr = (byte) (registers.getRegister(src).getValue() & 0xff);
-                src++;
-            }
-            if (chr == 0) {
+            if (buff.get(start + dest) == 0) {
                 break;
             }
-            buff[dest] = chr;
         }
-        return new StringType(new String(buff, 0, dest, charset));
+        byte[] bytes = new byte[dest];
+        for (int i = 0; i < dest; i++) {
+            bytes[i] = buff.get(start + i);
+        }
+        return new StringType(new String(bytes, charset));
     }
 
     /**
@@ -40,6 +40,18 @@ public interface ModbusCommunicationInterface extends AutoCloseable {
      */
     public ModbusSlaveEndpoint getEndpoint();
 
+    /**
+     * Get performance metrics of the endpoint associated with this communication interface
+     *
+     * The metrics are shared by all communication interfaces pointing to the same endpoint. Implementations not
+     * collecting metrics return empty metrics.
+     *
+     * @return metrics of the endpoint
+     */
+    public default ModbusEndpointMetrics getEndpointMetrics() {
+        return new ModbusEndpointMetrics();
+    }
+
     /**
      * Submit one-time poll task. The method returns immediately, and the execution of the poll task will happen in
      * background.
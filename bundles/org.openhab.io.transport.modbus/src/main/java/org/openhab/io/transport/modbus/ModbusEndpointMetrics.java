@@ -0,0 +1,308 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Performance metrics of communication with single Modbus slave endpoint
+ *
+ * All counters and histograms are cumulative since the endpoint was first used. Consumers interested in rates
+ * or averages over an interval should compare two readings.
+ *
+ * The record methods are called by the transport implementation.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusEndpointMetrics {
+
+    /**
+     * Histogram of durations with fixed millisecond buckets
+     *
+     * @author agent - Initial contribution
+     */
+    public static class LatencyHistogram {
+
+        /**
+         * Upper bounds (inclusive) of the buckets, in milliseconds. The last bucket, not listed here, holds all the
+         * longer durations.
+         */
+        private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000,
+                5000, 10000 };
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_UPPER_BOUNDS_MILLIS.length + 1);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumMillis = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        /**
+         * Record single duration
+         *
+         * @param millis duration in milliseconds
+         */
+        public void record(long millis) {
+            int bucket = 0;
+            while (bucket < BUCKET_UPPER_BOUNDS_MILLIS.length && millis > BUCKET_UPPER_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.increment();
+            sumMillis.add(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+        }
+
+        /**
+         * Get upper bounds of the buckets, see {@link #getBucketCounts()}
+         *
+         * @return upper bounds of the buckets in milliseconds, excluding the last, unbounded, bucket
+         */
+        public static long[] getBucketUpperBoundsMillis() {
+            return BUCKET_UPPER_BOUNDS_MILLIS.clone();
+        }
+
+        /**
+         * Get number of recorded durations per bucket
+         *
+         * @return counts, one more than there are upper bounds
+         */
+        public long[] getBucketCounts() {
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return counts;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getSumMillis() {
+            return sumMillis.sum();
+        }
+
+        public long getMaxMillis() {
+            return maxMillis.get();
+        }
+
+        /**
+         * Get approximate percentile of the recorded durations
+         *
+         * @param percentile percentile between 0 and 100
+         * @return upper bound of the bucket holding the percentile, or the maximum if the percentile is in the last
+         *         bucket. Zero when nothing has been recorded.
+         */
+        public long getPercentileMillis(double percentile) {
+            return getPercentileMillis(getBucketCounts(), percentile, getMaxMillis());
+        }
+
+        /**
+         * Get approximate percentile of durations counted per bucket, e.g. the difference of two readings of
+         * {@link #getBucketCounts()}
+         *
+         * @param bucketCounts counts per bucket, see {@link #getBucketCounts()}
+         * @param percentile percentile between 0 and 100
+         * @param maxMillis maximum duration, used as the value of the last, unbounded, bucket
+         * @return upper bound of the bucket holding the percentile, but at most maxMillis. Zero when nothing has been
+         *         counted.
+         */
+        public static long getPercentileMillis(long[] bucketCounts, double percentile, long maxMillis) {
+            long total = 0;
+            for (long bucketCount : bucketCounts) {
+                total += bucketCount;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long threshold = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length && i < bucketCounts.length; i++) {
+                cumulative += bucketCounts[i];
+                if (cumulative >= threshold) {
+                    return Math.min(BUCKET_UPPER_BOUNDS_MILLIS[i], maxMillis);
+                }
+            }
+            return maxMillis;
+        }
+
+        @Override
+        public String toString() {
+            long count = getCount();
+            return String.format("{count=%d, mean=%.1f ms, p95=%d ms, max=%d ms}", count,
+                    count == 0 ? 0.0 : (double) getSumMillis() / count, getPercentileMillis(95), getMaxMillis());
+        }
+    }
+
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+    private final LatencyHistogram transaction = new LatencyHistogram();
+    private final LatencyHistogram callback = new LatencyHistogram();
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder skippedPolls = new LongAdder();
+    private final LongAdder overruns = new LongAdder();
+    private volatile int activeConnections;
+    private volatile int idleConnections;
+    private volatile double effectivePollRate;
+    private volatile double pollBackoffFactor = 1.0;
+    private volatile double utilization;
+
+    /**
+     * Time waited for borrowing connection from the pool, including connection establishment
+     */
+    public LatencyHistogram getBorrowWait() {
+        return borrowWait;
+    }
+
+    /**
+     * Time spent in transactions with the slave, per operation (including retries)
+     */
+    public LatencyHistogram getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Time spent in callbacks, per operation
+     */
+    public LatencyHistogram getCallback() {
+        return callback;
+    }
+
+    /**
+     * Number of operations (reads or writes) executed
+     */
+    public long getOperationCount() {
+        return operations.sum();
+    }
+
+    /**
+     * Number of operations that failed, after all retries
+     */
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Number of retries
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * Number of connections borrowed from the pool, as seen at the end of the latest operation
+     */
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    /**
+     * Number of idle connections in the pool, as seen at the end of the latest operation
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * Number of scheduled regular polls that were skipped, due to back-off or pending writes
+     */
+    public long getSkippedPollCount() {
+        return skippedPolls.sum();
+    }
+
+    /**
+     * Number of times the regular polls were detected to overrun the capacity of the endpoint
+     */
+    public long getOverrunCount() {
+        return overruns.sum();
+    }
+
+    /**
+     * Rate of regular polls, taking the back-off into account
+     *
+     * @return polls per second
+     */
+    public double getEffectivePollRate() {
+        return effectivePollRate;
+    }
+
+    /**
+     * Factor by which the poll periods are multiplied, 1.0 meaning no back-off
+     */
+    public double getPollBackoffFactor() {
+        return pollBackoffFactor;
+    }
+
+    /**
+     * Estimated share of the time the endpoint is busy serving regular polls, between 0 and 1 (or more when
+     * overloaded)
+     */
+    public double getUtilization() {
+        return utilization;
+    }
+
+    public void recordBorrowWait(long millis) {
+        borrowWait.record(millis);
+    }
+
+    public void recordOperation(long transactionMillis, long callbackMillis) {
+        operations.increment();
+        transaction.record(transactionMillis);
+        callback.record(callbackMillis);
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordSkippedPoll() {
+        skippedPolls.increment();
+    }
+
+    public void recordOverrun() {
+        overruns.increment();
+    }
+
+    public void recordPollRate(double effectivePollRate, double pollBackoffFactor, double utilization) {
+        this.effectivePollRate = effectivePollRate;
+        this.pollBackoffFactor = pollBackoffFactor;
+        this.utilization = utilization;
+    }
+
+    public void recordPoolUtilization(int active, int idle) {
+        activeConnections = active;
+        idleConnections = idle;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("ModbusEndpointMetrics(operations=").append(getOperationCount()).append(", errors=")
+                .append(getErrorCount()).append(", retries=").append(getRetryCount()).append(", borrowWait=")
+                .append(borrowWait).append(", transaction=").append(transaction).append(", callback=")
+                .append(callback).append(", activeConnections=").append(activeConnections)
+                .append(", idleConnections=").append(idleConnections).append(", skippedPolls=")
+                .append(getSkippedPollCount()).append(", overruns=").append(getOverrunCount())
+                .append(", effectivePollRate=").append(String.format("%.2f", effectivePollRate))
+                .append(", pollBackoffFactor=").append(String.format("%.2f", pollBackoffFactor))
+                .append(", utilization=").append(String.format("%.2f", utilization)).append(')').toString();
+    }
+}
@@ -0,0 +1,273 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Planner coalescing read requests to the same slave into fewer, larger reads
+ *
+ * Poll tasks are grouped by endpoint, unit id and function code. Within a group, requests that overlap or are
+ * adjacent (allowing a configurable gap of unused registers/bits in between) are merged into one
+ * {@link CoalescedPollTask}, as long as the merged request stays within the protocol limits
+ * ({@link ModbusConstants#MAX_REGISTERS_READ_COUNT} and {@link ModbusConstants#MAX_BITS_READ_COUNT}).
+ *
+ * The result of the merged read is sliced and passed to the callbacks of the original tasks, with the original
+ * request. Failures of the merged read are reported to all original failure callbacks.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadRequestPlanner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModbusReadRequestPlanner.class);
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    /**
+     * Poll task representing several poll tasks merged together
+     *
+     * @author agent - Initial contribution
+     */
+    public static class CoalescedPollTask implements PollTask {
+
+        private final ModbusSlaveEndpoint endpoint;
+        private final ModbusReadRequestBlueprint request;
+        private final List<PollTask> members;
+        private final ModbusReadCallback resultCallback = this::fanOutResult;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = this::fanOutFailure;
+
+        private CoalescedPollTask(ModbusSlaveEndpoint endpoint, ModbusReadRequestBlueprint request,
+                List<PollTask> members) {
+            this.endpoint = endpoint;
+            this.request = request;
+            this.members = Collections.unmodifiableList(members);
+        }
+
+        /**
+         * Get the original poll tasks served by this task
+         *
+         * @return poll tasks, ordered by start address
+         */
+        public List<PollTask> getMembers() {
+            return members;
+        }
+
+        @Override
+        public ModbusSlaveEndpoint getEndpoint() {
+            return endpoint;
+        }
+
+        @Override
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        @Override
+        public ModbusReadCallback getResultCallback() {
+            return resultCallback;
+        }
+
+        @Override
+        public ModbusFailureCallback<ModbusReadRequestBlueprint> getFailureCallback() {
+            return failureCallback;
+        }
+
+        private void fanOutResult(AsyncModbusReadResult result) {
+            Optional<ModbusRegisterArray> registers = result.getRegisters();
+            Optional<BitArray> bits = result.getBits();
+            for (PollTask member : members) {
+                ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                int offset = memberRequest.getReference() - request.getReference();
+                int length = memberRequest.getDataLength();
+                try {
+                    final AsyncModbusReadResult memberResult;
+                    if (registers.isPresent()) {
+                        memberResult = new AsyncModbusReadResult(memberRequest,
+                                registers.get().slice(offset, length));
+                    } else if (bits.isPresent()) {
+                        memberResult = new AsyncModbusReadResult(memberRequest, bits.get().slice(offset, length));
+                    } else {
+                        continue;
+                    }
+                    member.getResultCallback().handle(memberResult);
+                } catch (RuntimeException e) {
+                    // One misbehaving callback should not prevent the others from receiving data
+                    LOGGER.warn("Callback of coalesced poll task {} failed unexpectedly: {} {}", member,
+                            e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        private void fanOutFailure(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (PollTask member : members) {
+                try {
+                    member.getFailureCallback()
+                            .handle(new AsyncModbusFailure<>(member.getRequest(), failure.getCause()));
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Failure callback of coalesced poll task {} failed unexpectedly: {} {}", member,
+                            e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(71, 9).append(request).append(endpoint).append(members).toHashCode();
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                    .append("members", members.size()).toString();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == null) {
+                return false;
+            }
+            if (obj == this) {
+                return true;
+            }
+            if (obj.getClass() != getClass()) {
+                return false;
+            }
+            CoalescedPollTask rhs = (CoalescedPollTask) obj;
+            return new EqualsBuilder().append(request, rhs.request).append(endpoint, rhs.endpoint)
+                    .append(members, rhs.members).isEquals();
+        }
+    }
+
+    private final int maxGap;
+
+    /**
+     * Construct planner merging only overlapping or directly adjacent requests
+     */
+    public ModbusReadRequestPlanner() {
+        this(0);
+    }
+
+    /**
+     * Construct planner
+     *
+     * @param maxGap maximum number of unrequested registers (or bits) allowed between two requests that are merged.
+     *            Registers in the gap are read but not passed to any callback.
+     * @throws IllegalArgumentException when maxGap is negative
+     */
+    public ModbusReadRequestPlanner(int maxGap) {
+        if (maxGap < 0) {
+            throw new IllegalArgumentException("maxGap must not be negative");
+        }
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Get the maximum number of items that can be read with single request using the given function code
+     *
+     * @param functionCode read function code
+     * @return maximum number of registers or bits
+     */
+    public static int getMaxReadCount(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            case READ_MULTIPLE_REGISTERS:
+            case READ_INPUT_REGISTERS:
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+
+    /**
+     * Plan reads for the given poll tasks
+     *
+     * Every given task is served by exactly one of the returned tasks. Tasks that cannot be merged with any other task
+     * are wrapped as coalesced tasks with single member.
+     *
+     * @param tasks poll tasks to plan
+     * @return coalesced poll tasks
+     */
+    public List<CoalescedPollTask> plan(Collection<? extends PollTask> tasks) {
+        Map<List<Object>, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            List<Object> key = Arrays.asList(task.getEndpoint(), request.getUnitID(), request.getFunctionCode());
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        }
+
+        List<CoalescedPollTask> planned = new ArrayList<>();
+        for (List<PollTask> group : groups.values()) {
+            group.sort(Comparator.comparingInt((PollTask task) -> task.getRequest().getReference())
+                    .thenComparingInt(task -> task.getRequest().getDataLength()));
+            List<PollTask> current = new ArrayList<>();
+            int currentStart = 0;
+            int currentEnd = 0;
+            for (PollTask task : group) {
+                ModbusReadRequestBlueprint request = task.getRequest();
+                int start = request.getReference();
+                int end = start + request.getDataLength();
+                int maxCount = getMaxReadCount(request.getFunctionCode());
+                if (!current.isEmpty() && start <= currentEnd + maxGap
+                        && Math.max(end, currentEnd) - currentStart <= maxCount) {
+                    current.add(task);
+                    currentEnd = Math.max(end, currentEnd);
+                    continue;
+                }
+                if (!current.isEmpty()) {
+                    planned.add(coalesce(current, currentStart, currentEnd));
+                }
+                current = new ArrayList<>();
+                current.add(task);
+                currentStart = start;
+                currentEnd = end;
+            }
+            if (!current.isEmpty()) {
+                planned.add(coalesce(current, currentStart, currentEnd));
+            }
+        }
+        LOGGER.debug("Planned {} read requests for {} poll tasks", planned.size(), tasks.size());
+        return planned;
+    }
+
+    private static CoalescedPollTask coalesce(List<PollTask> members, int start, int end) {
+        PollTask first = members.get(0);
+        ModbusReadRequestBlueprint firstRequest = first.getRequest();
+        int maxTries = members.stream().mapToInt(PollTask::getMaxTries).max().orElse(firstRequest.getMaxTries());
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(firstRequest.getUnitID(),
+                firstRequest.getFunctionCode(), start, end - start, maxTries);
+        return new CoalescedPollTask(first.getEndpoint(), request, members);
+    }
+}
@@ -12,20 +12,35 @@
  */
 package org.openhab.io.transport.modbus;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.stream.IntStream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * Immutable {@link ModbusRegisterArray} implementation
  *
+ * The register data is stored as raw bytes, high byte of each register first (as in the Modbus protocol). Values can
+ * be decoded directly from the bytes using {@link #getBuffer()}, without constructing {@link ModbusRegister} objects.
+ *
+ * Two instances are equal when they hold the same register data.
+ *
  * @author Sami Salonen - Initial contribution
  */
 @NonNullByDefault
 public class ModbusRegisterArray implements Iterable<ModbusRegister> {
 
-    private final ModbusRegister[] registers;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final byte[] bytes;
+
+    /**
+     * Read-only, big endian view of the bytes
+     */
+    private final ByteBuffer buffer;
 
     /**
      * Construct plain <code>ModbusRegister[]</code> array from register values
@@ -41,13 +56,29 @@ public class ModbusRegisterArray implements Iterable<ModbusRegister> {
         return registers;
     }
 
+    /**
+     * Construct ModbusRegisterArrayImpl from raw register data
+     *
+     * The array is not copied, and should not be modified after construction.
+     *
+     * @param bytes register data, two bytes per register, high byte first
+     * @throws IllegalArgumentException when number of bytes is odd
+     */
+    public ModbusRegisterArray(byte[] bytes) {
+        if (bytes.length % 2 != 0) {
+            throw new IllegalArgumentException("Register data must have even number of bytes");
+        }
+        this.bytes = bytes;
+        this.buffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
     /**
      * Construct ModbusRegisterArrayImpl from array of {@link ModbusRegister}
      *
      * @param registers
      */
     public ModbusRegisterArray(ModbusRegister[] registers) {
-        this.registers = registers;
+        this(bytesFromRegisters(registers));
     }
 
     /**
@@ -57,7 +88,24 @@ public class ModbusRegisterArray implements Iterable<ModbusRegister> {
      * @return
      */
     public ModbusRegisterArray(int... registerValues) {
-        this(registersFromValues(registerValues));
+        this(bytesFromValues(registerValues));
+    }
+
+    private static byte[] bytesFromRegisters(ModbusRegister[] registers) {
+        byte[] bytes = new byte[registers.length * 2];
+        for (int i = 0; i < registers.length; i++) {
+            System.arraycopy(registers[i].getBytes(), 0, bytes, i * 2, 2);
+        }
+        return bytes;
+    }
+
+    private static byte[] bytesFromValues(int... registerValues) {
+        byte[] bytes = new byte[registerValues.length * 2];
+        for (int i = 0; i < registerValues.length; i++) {
+            bytes[i * 2] = (byte) (registerValues[i] >> 8);
+            bytes[i * 2 + 1] = (byte) registerValues[i];
+        }
+        return bytes;
     }
 
     /**
@@ -70,7 +118,11 @@ public class ModbusRegisterArray implements Iterable<ModbusRegister> {
      * @throws IndexOutOfBoundsException if the index is out of bounds.
      */
     public ModbusRegister getRegister(int index) {
-        return registers[index];
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Register index %d is out of bounds, size is %d", index, size()));
+        }
+        return new ModbusRegister(bytes[index * 2], bytes[index * 2 + 1]);
     }
 
     /**
@@ -79,15 +131,59 @@ public class ModbusRegisterArray implements Iterable<ModbusRegister> {
      * @return
      */
     public int size() {
-        return registers.length;
+        return bytes.length / 2;
+    }
+
+    /**
+     * Get read-only view of the register data
+     *
+     * The buffer is in big endian order, register with index i is found at byte index 2 * i. Use the absolute get
+     * methods of the buffer, the position of the buffer is shared with other callers.
+     *
+     * @return read-only buffer with the register data
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Get copy of consecutive registers of this array
+     *
+     * @param offset index of the first register to include
+     * @param length number of registers to include
+     * @return new register array with registers from offset to offset + length (exclusive)
+     * @throws IndexOutOfBoundsException if the slice does not fit inside this array
+     */
+    public ModbusRegisterArray slice(int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > size()) {
+            throw new IndexOutOfBoundsException(String.format("Cannot slice %d registers starting from %d, size is %d",
+                    length, offset, size()));
+        }
+        return new ModbusRegisterArray(Arrays.copyOfRange(bytes, offset * 2, (offset + length) * 2));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        return Arrays.equals(bytes, ((ModbusRegisterArray) obj).bytes);
     }
 
     @Override
     public String toString() {
-        if (registers.length == 0) {
+        if (bytes.length == 0) {
             return "ModbusRegisterArrayImpl(<empty>)";
         }
-        StringBuffer buffer = new StringBuffer(registers.length * 2).append("ModbusRegisterArrayImpl(");
+        StringBuffer buffer = new StringBuffer(bytes.length * 3 + 25).append("ModbusRegisterArrayImpl(");
         return appendHexString(buffer).append(')').toString();
     }
 
@@ -111,7 +207,7 @@ public class ModbusRegisterArray implements Iterable<ModbusRegister> {
             return "";
         }
         // Initialize capacity to (n*2 + n-1), two chars per byte + spaces in between
-        StringBuffer buffer = new StringBuffer(size() * 2 + (size() - 1));
+        StringBuffer buffer = new StringBuffer(bytes.length * 2 + (bytes.length - 1));
         return appendHexString(buffer).toString();
     }
 
@@ -120,12 +216,12 @@ public class ModbusRegisterArray implements Iterable<ModbusRegister> {
      *
      */
     public StringBuffer appendHexString(StringBuffer buffer) {
-        IntStream.range(0, size()).forEachOrdered(index -> {
-            getRegister(index).appendHexString(buffer);
-            if (index < size() - 1) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (i > 0) {
                 buffer.append(' ');
             }
-        });
+            buffer.append(HEX_DIGITS[(bytes[i] >> 4) & 0xf]).append(HEX_DIGITS[bytes[i] & 0xf]);
+        }
         return buffer;
     }
 }
@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.util.ConcurrentHashSet;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides which regular polls of single endpoint are executed
+ *
+ * The controller estimates the time each poll keeps the endpoint busy (transaction time plus the inter-transaction
+ * delay), and the resulting utilization of the endpoint. When the polls demand more than the endpoint can serve, the
+ * poll cycles overrun and the requests would queue up without bound. In that case all polls of the endpoint are backed
+ * off by a common factor, i.e. some of the scheduled executions are skipped. The poll rate is restored gradually when
+ * the load decreases.
+ *
+ * Furthermore, pending writes are prioritized: regular poll yields once if there are writes waiting for execution. The
+ * polls that yielded are executed as soon as the pending writes have been executed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AdaptivePollController {
+
+    /**
+     * Maximum factor by which the poll periods are multiplied
+     */
+    public static final double MAX_BACKOFF_FACTOR = 8.0;
+
+    /**
+     * Utilization to aim for when adjusting the back-off factor
+     */
+    private static final double TARGET_UTILIZATION = 0.9;
+
+    /**
+     * Back-off is decreased only when utilization drops below this level, to avoid oscillation
+     */
+    private static final double RECOVERY_UTILIZATION = 0.5;
+
+    /**
+     * Weight of the latest sample in the moving average of poll cost
+     */
+    private static final double COST_SMOOTHING = 0.2;
+
+    private static class TaskState {
+        final long periodMillis;
+        double costMillis = -1;
+        long lastStartedMillis = -1;
+        boolean yielded;
+
+        TaskState(long periodMillis) {
+            this.periodMillis = periodMillis;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(AdaptivePollController.class);
+    private final ModbusSlaveEndpoint endpoint;
+    private final ModbusEndpointMetrics metrics;
+    private final Map<PollTask, TaskState> tasks = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final Set<PollTask> yieldedTasks = new ConcurrentHashSet<>();
+    private volatile double backoffFactor = 1.0;
+    private volatile double demand;
+
+    public AdaptivePollController(ModbusSlaveEndpoint endpoint, ModbusEndpointMetrics metrics) {
+        this.endpoint = endpoint;
+        this.metrics = metrics;
+    }
+
+    public void register(PollTask task, long periodMillis) {
+        tasks.put(task, new TaskState(Math.max(1, periodMillis)));
+        update();
+    }
+
+    public void unregister(PollTask task) {
+        tasks.remove(task);
+        yieldedTasks.remove(task);
+        update();
+    }
+
+    public void writeQueued() {
+        pendingWrites.incrementAndGet();
+    }
+
+    /**
+     * Record that a queued write has been executed
+     *
+     * @return regular polls that yielded to the writes and should be executed now, as no writes are pending anymore
+     */
+    public Set<PollTask> writeFinished() {
+        if (pendingWrites.decrementAndGet() > 0 || yieldedTasks.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<PollTask> yielded = new HashSet<>();
+        for (Iterator<PollTask> iterator = yieldedTasks.iterator(); iterator.hasNext();) {
+            yielded.add(iterator.next());
+            iterator.remove();
+        }
+        return yielded;
+    }
+
+    /**
+     * Decide whether scheduled execution of the task should be executed or skipped
+     *
+     * @param task regular poll task
+     * @param nowMillis current time
+     * @return true if the poll should be executed now
+     */
+    public boolean shouldExecute(PollTask task, long nowMillis) {
+        TaskState state = tasks.get(task);
+        if (state == null) {
+            return true;
+        }
+        synchronized (state) {
+            if (pendingWrites.get() > 0 && !state.yielded) {
+                // Let the writes go first. Yield only once in a row so that polls do not starve.
+                state.yielded = true;
+                yieldedTasks.add(task);
+                logger.trace("Poll task {} yields to {} pending writes", task, pendingWrites.get());
+                metrics.recordSkippedPoll();
+                return false;
+            }
+            state.yielded = false;
+            double factor = backoffFactor;
+            // Scheduled executions occur roughly every period. Execute the one closest to the backed-off period.
+            if (factor > 1.0 && state.lastStartedMillis >= 0
+                    && nowMillis - state.lastStartedMillis < state.periodMillis * (factor - 0.5)) {
+                metrics.recordSkippedPoll();
+                return false;
+            }
+            state.lastStartedMillis = nowMillis;
+            return true;
+        }
+    }
+
+    /**
+     * Record execution of the task
+     *
+     * @param task regular poll task that was executed
+     * @param busyMillis time the endpoint was busy serving the task
+     * @param interTransactionDelayMillis delay required between the transactions of the endpoint
+     */
+    public void recordExecution(PollTask task, long busyMillis, long interTransactionDelayMillis) {
+        TaskState state = tasks.get(task);
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            double cost = busyMillis + interTransactionDelayMillis;
+            state.costMillis = state.costMillis < 0 ? cost
+                    : COST_SMOOTHING * cost + (1 - COST_SMOOTHING) * state.costMillis;
+        }
+        update();
+    }
+
+    /**
+     * Get factor by which the poll periods are currently multiplied
+     */
+    public double getBackoffFactor() {
+        return backoffFactor;
+    }
+
+    /**
+     * Get estimated share of the time the endpoint is busy, with the current back-off
+     */
+    public double getUtilization() {
+        return demand / backoffFactor;
+    }
+
+    /**
+     * Get rate of regular polls that are executed, with the current back-off
+     *
+     * @return polls per second
+     */
+    public double getEffectivePollRate() {
+        double rate = 0;
+        for (TaskState state : tasks.values()) {
+            rate += 1000.0 / state.periodMillis;
+        }
+        return rate / backoffFactor;
+    }
+
+    private synchronized void update() {
+        double demand = 0;
+        for (TaskState state : tasks.values()) {
+            if (state.costMillis > 0) {
+                demand += state.costMillis / state.periodMillis;
+            }
+        }
+        this.demand = demand;
+        double current = backoffFactor;
+        double utilization = demand / current;
+        double target = Math.max(1.0, Math.min(MAX_BACKOFF_FACTOR, demand / TARGET_UTILIZATION));
+        if (utilization > 1.0 && target > current) {
+            metrics.recordOverrun();
+            logger.debug(
+                    "Polls of endpoint {} overrun (utilization {}), backing off poll rate. Poll periods are multiplied by {}",
+                    endpoint, String.format("%.2f", utilization), String.format("%.2f", target));
+            backoffFactor = target;
+        } else if (current > 1.0 && utilization < RECOVERY_UTILIZATION) {
+            logger.debug("Load of endpoint {} decreased (utilization {}), poll periods are now multiplied by {}",
+                    endpoint, String.format("%.2f", utilization), String.format("%.2f", target));
+            backoffFactor = target;
+        }
+        metrics.recordPollRate(getEffectivePollRate(), backoffFactor, getUtilization());
+    }
+}
@@ -13,18 +13,26 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import javax.imageio.IIOException;
 
@@ -39,10 +47,13 @@ import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.io.transport.modbus.AsyncModbusWriteResult;
 import org.openhab.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusFailureCallback;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusReadRequestPlanner;
+import org.openhab.io.transport.modbus.ModbusReadRequestPlanner.CoalescedPollTask;
 import org.openhab.io.transport.modbus.ModbusResultCallback;
 import org.openhab.io.transport.modbus.ModbusWriteCallback;
 import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
@@ -71,9 +82,11 @@ import net.wimpi.modbus.ModbusException;
 import net.wimpi.modbus.ModbusIOException;
 import net.wimpi.modbus.ModbusSlaveException;
 import net.wimpi.modbus.io.ModbusTransaction;
+import net.wimpi.modbus.msg.ExceptionResponse;
 import net.wimpi.modbus.msg.ModbusRequest;
 import net.wimpi.modbus.msg.ModbusResponse;
 import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
 
 /**
  * Main implementation of ModbusManager
@@ -254,6 +267,61 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Regular poll tasks waiting to be executed with pipelined transactions
+     *
+     * Only one thread drains the queue at a time, other threads just add their tasks to the queue.
+     */
+    private static class PipelineQueue {
+        final Queue<PollTask> tasks = new ConcurrentLinkedQueue<>();
+        final Set<PollTask> queued = new ConcurrentHashSet<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        /**
+         * Queue the task, unless it is queued already
+         *
+         * @return whether the task was queued
+         */
+        boolean offer(PollTask task) {
+            if (!queued.add(task)) {
+                return false;
+            }
+            tasks.add(task);
+            return true;
+        }
+
+        @Nullable
+        PollTask poll() {
+            PollTask task = tasks.poll();
+            if (task != null) {
+                queued.remove(task);
+            }
+            return task;
+        }
+    }
+
+    /**
+     * Regular poll tasks of single endpoint sharing the same poll period
+     *
+     * The tasks are executed together, with overlapping and adjacent requests merged into single request.
+     */
+    private static class PollGroup {
+        final List<Object> key;
+        final ModbusSlaveEndpoint endpoint;
+        final long pollPeriodMillis;
+        final ModbusReadRequestPlanner planner;
+        final Set<PollTask> tasks = new ConcurrentHashSet<>();
+        @Nullable
+        ScheduledFuture<?> future;
+
+        PollGroup(List<Object> key, ModbusSlaveEndpoint endpoint, long pollPeriodMillis, int maxGap) {
+            this.key = key;
+            this.endpoint = endpoint;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.planner = new ModbusReadRequestPlanner(maxGap);
+        }
+    }
+
     private final Logger logger = LoggerFactory.getLogger(ModbusManagerImpl.class);
     private final Logger pollMonitorLogger = LoggerFactory
             .getLogger(ModbusManagerImpl.class.getName() + ".PollMonitor");
@@ -312,6 +380,10 @@ public class ModbusManagerImpl implements ModbusManager {
     private volatile @Nullable KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> connectionPool;
     private volatile @Nullable ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    private volatile Map<ModbusSlaveEndpoint, PipelineQueue> pipelineQueues = new ConcurrentHashMap<>();
+    private volatile Map<List<Object>, PollGroup> pollGroups = new ConcurrentHashMap<>();
+    private final Map<ModbusSlaveEndpoint, ModbusEndpointMetrics> endpointMetrics = new ConcurrentHashMap<>();
+    private volatile Map<ModbusSlaveEndpoint, AdaptivePollController> pollControllers = new ConcurrentHashMap<>();
     /**
      * Executor for requests
      */
@@ -369,6 +441,30 @@ public class ModbusManagerImpl implements ModbusManager {
         this.connectionFactory = connectionFactory;
     }
 
+    private ModbusEndpointMetrics getMetrics(ModbusSlaveEndpoint endpoint) {
+        return endpointMetrics.computeIfAbsent(endpoint, e -> new ModbusEndpointMetrics());
+    }
+
+    private AdaptivePollController getPollController(ModbusSlaveEndpoint endpoint) {
+        return pollControllers.computeIfAbsent(endpoint, e -> new AdaptivePollController(e, getMetrics(e)));
+    }
+
+    private long getInterTransactionDelayMillis(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (connectionFactory == null) {
+            return 0;
+        }
+        EndpointPoolConfiguration configuration = connectionFactory.getEndpointPoolConfiguration(endpoint);
+        return configuration == null ? 0 : configuration.getInterTransactionDelayMillis();
+    }
+
+    private void recordPoolUtilization(ModbusSlaveEndpoint endpoint) {
+        KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
+        if (pool != null) {
+            getMetrics(endpoint).recordPoolUtilization(pool.getNumActive(endpoint), pool.getNumIdle(endpoint));
+        }
+    }
+
     private Optional<ModbusSlaveConnection> borrowConnection(ModbusSlaveEndpoint endpoint) {
         Optional<ModbusSlaveConnection> connection = Optional.empty();
         KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
@@ -461,8 +557,10 @@ public class ModbusManagerImpl implements ModbusManager {
 
         R request = task.getRequest();
         Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        long borrowMillis = System.currentTimeMillis() - connectionBorrowStart;
+        getMetrics(endpoint).recordBorrowWait(borrowMillis);
         logger.trace("Executing task {} (oneOff={})! Connection received in {} ms [operation ID {}]", task, oneOffTask,
-                System.currentTimeMillis() - connectionBorrowStart, operationId);
+                borrowMillis, operationId);
         if (scheduledThreadPoolExecutor == null) {
             // manager deactivated
             timer.connection.timeRunnable(() -> invalidate(endpoint, connection));
@@ -471,6 +569,7 @@ public class ModbusManagerImpl implements ModbusManager {
         if (!connection.isPresent()) {
             logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
                     operationId);
+            getMetrics(endpoint).recordError();
             timer.callback.timeRunnable(
                     () -> invokeCallbackWithError(request, failureCallback, new ModbusConnectionException(endpoint)));
         }
@@ -500,8 +599,18 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Check whether the poll task is registered. Coalesced poll task is registered as long as any of its members is.
+     */
+    private boolean isRegistered(PollTask task) {
+        if (task instanceof CoalescedPollTask) {
+            return ((CoalescedPollTask) task).getMembers().stream().anyMatch(scheduledPollTasks::containsKey);
+        }
+        return scheduledPollTasks.containsKey(task);
+    }
+
     private void verifyTaskIsRegistered(PollTask task) throws PollTaskUnregistered {
-        if (!this.scheduledPollTasks.containsKey(task)) {
+        if (!isRegistered(task)) {
             String msg = String.format("Poll task %s is unregistered", task);
             logger.debug(msg);
             throw new PollTaskUnregistered(msg);
@@ -524,7 +633,16 @@ public class ModbusManagerImpl implements ModbusManager {
      */
     private <R, C extends ModbusResultCallback, F extends ModbusFailureCallback<R>, T extends TaskWithEndpoint<R, C, F>> void executeOperation(
             T task, boolean oneOffTask, ModbusOperation<T> operation) {
-        AggregateStopWatch timer = new AggregateStopWatch();
+        executeOperation(task, oneOffTask, operation, new AggregateStopWatch());
+    }
+
+    /**
+     * Execute operation using a retry mechanism, timing the phases of the operation with the given timer
+     *
+     * @see #executeOperation(TaskWithEndpoint, boolean, ModbusOperation)
+     */
+    private <R, C extends ModbusResultCallback, F extends ModbusFailureCallback<R>, T extends TaskWithEndpoint<R, C, F>> void executeOperation(
+            T task, boolean oneOffTask, ModbusOperation<T> operation, AggregateStopWatch timer) {
         timer.total.resume();
         String operationId = timer.operationId;
 
@@ -602,6 +720,9 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.trace("Sleep ended, slept {} [operation ID {}]", slept, operationId);
 
                 boolean willRetry = false;
+                if (tryIndex > 0) {
+                    getMetrics(endpoint).recordRetry();
+                }
                 try {
                     tryIndex++;
                     willRetry = tryIndex < maxTries;
@@ -700,6 +821,7 @@ public class ModbusManagerImpl implements ModbusManager {
             Exception exception = lastError.get();
             if (exception != null) {
                 // All retries failed with some error
+                getMetrics(endpoint).recordError();
                 timer.callback.timeRunnable(() -> {
                     invokeCallbackWithError(request, failureCallback, exception);
                 });
@@ -718,10 +840,359 @@ public class ModbusManagerImpl implements ModbusManager {
             timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
             timer.suspendAllRunning();
+            getMetrics(endpoint).recordOperation(timer.transaction.getTotalTimeMillis(),
+                    timer.callback.getTotalTimeMillis());
+            recordPoolUtilization(endpoint);
             logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
         }
     }
 
+    /**
+     * Get number of transactions that can be in flight with the endpoint
+     *
+     * @param endpoint endpoint
+     * @return maximum number of in-flight transactions, 1 meaning no pipelining
+     */
+    private int getMaxInFlightTransactions(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (connectionFactory == null || !(endpoint instanceof ModbusTCPSlaveEndpoint)) {
+            return 1;
+        }
+        EndpointPoolConfiguration configuration = connectionFactory.getEndpointPoolConfiguration(endpoint);
+        return configuration == null ? 1 : Math.max(1, configuration.getMaxInFlightTransactions());
+    }
+
+    /**
+     * Execute regularly scheduled poll task
+     *
+     * With endpoints allowing several transactions in flight, the task is queued and executed together with other
+     * queued poll tasks of the same endpoint, using single connection. Task that is queued already is not queued again.
+     *
+     * @param task poll task to execute
+     * @return time spent in transactions by this thread, in milliseconds
+     */
+    private long executeRegularPoll(PollTask task) {
+        ModbusSlaveEndpoint endpoint = task.getEndpoint();
+        int maxInFlight = getMaxInFlightTransactions(endpoint);
+        if (maxInFlight <= 1) {
+            AggregateStopWatch timer = new AggregateStopWatch();
+            executeOperation(task, false, pollOperation, timer);
+            return timer.transaction.getTotalTimeMillis();
+        }
+        return executePipelined(endpoint, Collections.singletonList(task), maxInFlight);
+    }
+
+    /**
+     * Execute regular poll tasks of the endpoint using pipelined transactions
+     *
+     * The tasks are queued and executed together with other queued poll tasks of the same endpoint, using single
+     * connection. Task that is queued already is not queued again.
+     *
+     * @param endpoint endpoint of the tasks
+     * @param tasks poll tasks to execute
+     * @param maxInFlight maximum number of transactions in flight
+     * @return time spent in transactions by this thread, in milliseconds
+     */
+    private long executePipelined(ModbusSlaveEndpoint endpoint, List<PollTask> tasks, int maxInFlight) {
+        PipelineQueue queue = pipelineQueues.computeIfAbsent(endpoint, e -> new PipelineQueue());
+        for (PollTask task : tasks) {
+            if (!queue.offer(task)) {
+                logger.debug("Poll task {} is queued already, skipping this poll", task);
+            }
+        }
+        // The thread winning the race drains the queue. Check the queue again after draining since other threads
+        // might have queued tasks while we were releasing the queue
+        long transactionMillis = 0;
+        while (!queue.tasks.isEmpty() && queue.draining.compareAndSet(false, true)) {
+            try {
+                transactionMillis += drainPipeline(endpoint, queue, maxInFlight);
+            } finally {
+                queue.draining.set(false);
+            }
+        }
+        return transactionMillis;
+    }
+
+    /**
+     * Get maximum gap between regular polls of the endpoint that are merged
+     *
+     * @param endpoint endpoint
+     * @return maximum number of unused registers (or bits) between merged polls, negative when polls are not merged
+     */
+    private int getPollCoalescingMaxGap(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (connectionFactory == null) {
+            return -1;
+        }
+        EndpointPoolConfiguration configuration = connectionFactory.getEndpointPoolConfiguration(endpoint);
+        return configuration == null ? -1 : configuration.getPollCoalescingMaxGap();
+    }
+
+    /**
+     * Execute regular poll tasks of the poll group, merging the requests where possible
+     *
+     * @param group poll group to execute
+     */
+    private void executePollGroup(PollGroup group) {
+        ModbusSlaveEndpoint endpoint = group.endpoint;
+        AdaptivePollController pollController = getPollController(endpoint);
+        long started = System.currentTimeMillis();
+        List<PollTask> dueTasks = group.tasks.stream().filter(this::isRegistered)
+                .filter(task -> pollController.shouldExecute(task, started)).collect(Collectors.toList());
+        if (dueTasks.isEmpty()) {
+            logger.debug("Skipping scheduled ({}ms) polls of endpoint {}. Poll rate back-off factor {}",
+                    group.pollPeriodMillis, endpoint, pollController.getBackoffFactor());
+            return;
+        }
+        List<CoalescedPollTask> plan = group.planner.plan(dueTasks);
+        int maxInFlight = getMaxInFlightTransactions(endpoint);
+        if (maxInFlight > 1) {
+            // Single tasks are executed as is, so that the callbacks are called with the original request
+            List<PollTask> tasks = plan.stream()
+                    .map(planned -> planned.getMembers().size() == 1 ? planned.getMembers().get(0) : planned)
+                    .collect(Collectors.toList());
+            logger.debug(
+                    "Executing scheduled ({}ms) poll tasks {} with pipelined transactions, serving {} registered poll tasks. Current millis: {}",
+                    group.pollPeriodMillis, tasks, dueTasks.size(), started);
+            try {
+                long transactionMillis = executePipelined(endpoint, tasks, maxInFlight);
+                long interTransactionDelayMillis = getInterTransactionDelayMillis(endpoint);
+                for (PollTask member : dueTasks) {
+                    // All the polls share the single connection and the cost of the pipelined transactions
+                    pollController.recordExecution(member, transactionMillis / dueTasks.size(),
+                            interTransactionDelayMillis / dueTasks.size());
+                }
+            } catch (RuntimeException e) {
+                // Catch all unexpected exceptions, otherwise ScheduledExecutorService would halt the polling
+                logger.warn(
+                        "Execution of scheduled ({}ms) poll tasks {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
+                        group.pollPeriodMillis, tasks, e);
+            }
+        } else {
+            executePollGroupSequentially(group, plan, started);
+        }
+        long finished = System.currentTimeMillis();
+        logger.debug("Execution of scheduled ({}ms) polls of endpoint {} finished at {} (=duration of {} millis)",
+                group.pollPeriodMillis, endpoint, finished, finished - started);
+    }
+
+    /**
+     * Execute the planned requests of the poll group one after another
+     *
+     * @param group poll group to execute
+     * @param plan planned requests of the due tasks
+     * @param started time of starting the execution, in milliseconds
+     */
+    private void executePollGroupSequentially(PollGroup group, List<CoalescedPollTask> plan, long started) {
+        ModbusSlaveEndpoint endpoint = group.endpoint;
+        AdaptivePollController pollController = getPollController(endpoint);
+        for (CoalescedPollTask planned : plan) {
+            List<PollTask> members = planned.getMembers();
+            // Single tasks are executed as is, so that the callbacks are called with the original request
+            PollTask task = members.size() == 1 ? members.get(0) : planned;
+            logger.debug(
+                    "Executing scheduled ({}ms) poll task {}, serving {} registered poll tasks. Current millis: {}",
+                    group.pollPeriodMillis, task, members.size(), started);
+            try {
+                long transactionMillis = executeRegularPoll(task);
+                long interTransactionDelayMillis = getInterTransactionDelayMillis(endpoint);
+                for (PollTask member : members) {
+                    // Members share the cost of the merged request
+                    pollController.recordExecution(member, transactionMillis / members.size(),
+                            interTransactionDelayMillis / members.size());
+                }
+            } catch (RuntimeException e) {
+                // Catch all unexpected exceptions, otherwise ScheduledExecutorService would halt the polling
+                logger.warn(
+                        "Execution of scheduled ({}ms) poll task {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
+                        group.pollPeriodMillis, task, e);
+            }
+        }
+    }
+
+    /**
+     * Add the task to the poll group of its endpoint and poll period, scheduling the group if it does not exist yet
+     *
+     * The group is rescheduled when the task should be polled sooner than the next execution of the group, so that
+     * the initial delay of each task is honored, not only the delay of the task that created the group.
+     *
+     * @return future of the poll group
+     */
+    private ScheduledFuture<?> joinPollGroup(ScheduledExecutorService executor, PollTask task, long pollPeriodMillis,
+            long initialDelayMillis, int maxGap) {
+        List<Object> key = Arrays.asList(task.getEndpoint(), pollPeriodMillis);
+        PollGroup group = pollGroups.computeIfAbsent(key,
+                k -> new PollGroup(k, task.getEndpoint(), pollPeriodMillis, maxGap));
+        group.tasks.add(task);
+        @Nullable
+        ScheduledFuture<?> future = group.future;
+        if (future == null || future.getDelay(TimeUnit.MILLISECONDS) > initialDelayMillis) {
+            @Nullable
+            ScheduledFuture<?> previous = future;
+            future = executor.scheduleWithFixedDelay(() -> executePollGroup(group), initialDelayMillis,
+                    pollPeriodMillis, TimeUnit.MILLISECONDS);
+            group.future = future;
+            if (previous != null) {
+                // Group is waiting for the next execution, no need to interrupt
+                previous.cancel(false);
+                for (PollTask member : group.tasks) {
+                    scheduledPollTasks.replace(member, previous, future);
+                }
+            }
+        }
+        logger.trace("Poll task {} joined group of {} poll tasks with period {}", task, group.tasks.size(),
+                pollPeriodMillis);
+        return future;
+    }
+
+    /**
+     * Remove the task from its poll group
+     *
+     * @return true if other tasks of the group are still polled, i.e. the future of the group must not be canceled
+     */
+    private boolean leavePollGroup(PollTask task) {
+        for (PollGroup group : pollGroups.values()) {
+            if (group.tasks.remove(task)) {
+                if (group.tasks.isEmpty()) {
+                    pollGroups.remove(group.key);
+                    return false;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Execute regular polls that were skipped since writes to the endpoint were pending
+     *
+     * @param pollController poll controller of the endpoint
+     * @param tasks poll tasks to execute
+     */
+    private void executeYieldedPolls(AdaptivePollController pollController, Set<PollTask> tasks) {
+        for (PollTask task : tasks) {
+            if (!isRegistered(task)) {
+                continue;
+            }
+            logger.debug("Executing poll task {} that yielded to writes", task);
+            try {
+                long transactionMillis = executeRegularPoll(task);
+                pollController.recordExecution(task, transactionMillis,
+                        getInterTransactionDelayMillis(task.getEndpoint()));
+            } catch (RuntimeException e) {
+                logger.warn("Execution of poll task {} failed unexpectedly. Ignoring exception.", task, e);
+            }
+        }
+    }
+
+    /**
+     * Execute all queued poll tasks of the endpoint using pipelined transactions
+     *
+     * Requests that fail are executed again without pipelining, using the normal retry mechanism.
+     *
+     * @param endpoint endpoint to communicate with
+     * @param queue queued poll tasks
+     * @param maxInFlight maximum number of transactions in flight
+     * @return time spent in pipelined transactions, in milliseconds
+     */
+    private long drainPipeline(ModbusSlaveEndpoint endpoint, PipelineQueue queue, int maxInFlight) {
+        List<PollTask> batch = new ArrayList<>();
+        PollTask polled;
+        while ((polled = queue.poll()) != null) {
+            if (isRegistered(polled)) {
+                batch.add(polled);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        logTaskQueueInfo();
+        AggregateStopWatch timer = new AggregateStopWatch();
+        timer.total.resume();
+        String operationId = timer.operationId;
+        List<PollTask> retried = new ArrayList<>();
+        ModbusEndpointMetrics metrics = getMetrics(endpoint);
+        long connectionBorrowStart = System.currentTimeMillis();
+        Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        metrics.recordBorrowWait(System.currentTimeMillis() - connectionBorrowStart);
+        if (connection.isPresent() && !(connection.get() instanceof TCPMasterConnection)) {
+            // Pipelining is implemented for TCP connections only
+            logger.debug(
+                    "Connection {} does not support pipelining, executing {} requests one by one [operation ID {}]",
+                    connection.get(), batch.size(), operationId);
+            timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
+            timer.suspendAllRunning();
+            for (PollTask task : batch) {
+                executeOperation(task, false, pollOperation);
+            }
+            return 0;
+        }
+        try {
+            if (!connection.isPresent()) {
+                logger.warn("Could not connect to endpoint {} -- aborting {} pipelined requests [operation ID {}]",
+                        endpoint, batch.size(), operationId);
+                for (PollTask task : batch) {
+                    metrics.recordError();
+                    timer.callback.timeRunnable(() -> invokeCallbackWithError(task.getRequest(),
+                            task.getFailureCallback(), new ModbusConnectionException(endpoint)));
+                }
+                return 0;
+            }
+            List<ModbusRequest> libRequests = batch.stream()
+                    .map(task -> ModbusLibraryWrapper.createRequest(task.getRequest())).collect(Collectors.toList());
+            logger.trace("Going to execute {} pipelined transactions, at most {} in flight [operation ID {}]",
+                    libRequests.size(), maxInFlight, operationId);
+            ModbusResponse[] responses;
+            timer.transaction.resume();
+            try {
+                responses = ModbusTCPPipeline.execute(((TCPMasterConnection) connection.get()).getModbusTransport(),
+                        libRequests, maxInFlight);
+            } finally {
+                timer.transaction.suspend();
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                PollTask task = batch.get(i);
+                ModbusReadRequestBlueprint request = task.getRequest();
+                ModbusResponse response = responses[i];
+                try {
+                    if (response instanceof ExceptionResponse) {
+                        throw new ModbusSlaveException(((ExceptionResponse) response).getExceptionCode());
+                    }
+                    checkFunctionCode(response, libRequests.get(i), operationId);
+                    checkResponseSize(response, request, operationId);
+                } catch (ModbusSlaveException | ModbusUnexpectedResponseFunctionCodeException
+                        | ModbusUnexpectedResponseSizeException e) {
+                    logger.debug(
+                            "Pipelined request ({}) failed, will retry without pipelining. Error details: {} {} [operation ID {}]",
+                            request, e.getClass().getName(), e.getMessage(), operationId);
+                    retried.add(task);
+                    continue;
+                }
+                timer.callback.timeRunnable(() -> ModbusLibraryWrapper.invokeCallbackWithResponse(request,
+                        task.getResultCallback(), response));
+            }
+        } catch (ModbusIOException | ModbusUnexpectedTransactionIdException e) {
+            logger.warn(
+                    "Pipelined transactions with endpoint {} failed, reseting the connection and retrying without pipelining. Error details: {} {} [operation ID {}]",
+                    endpoint, e.getClass().getName(), e.getMessage(), operationId);
+            // No callbacks have been called, retry all
+            retried = batch;
+            timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+            connection = Optional.empty();
+        } finally {
+            timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
+            timer.suspendAllRunning();
+            metrics.recordOperation(timer.transaction.getTotalTimeMillis(), timer.callback.getTotalTimeMillis());
+            recordPoolUtilization(endpoint);
+            logger.debug("Pipelined modbus operation ({} requests) ended, timing info: {} [operation ID {}]",
+                    batch.size(), timer, operationId);
+        }
+        for (PollTask task : retried) {
+            executeOperation(task, false, pollOperation);
+        }
+        return timer.transaction.getTotalTimeMillis();
+    }
+
     private class ModbusCommunicationInterfaceImpl implements ModbusCommunicationInterface {
 
         private volatile ModbusSlaveEndpoint endpoint;
@@ -774,28 +1245,43 @@ public class ModbusManagerImpl implements ModbusManager {
                     logger.trace("Unregistering previous poll task (possibly with different period)");
                     unregisterRegularPoll(task);
                 }
-                ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
-                    long started = System.currentTimeMillis();
-                    logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
-                            started);
-                    try {
-                        executeOperation(task, false, pollOperation);
-                    } catch (RuntimeException e) {
-                        // We want to catch all unexpected exceptions since all unhandled exceptions make
-                        // ScheduledExecutorService halt the polling. It is better to print out the exception, and try
-                        // again
-                        // (on next poll cycle)
-                        logger.warn(
-                                "Execution of scheduled ({}ms) poll task {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
-                                pollPeriodMillis, task, e);
-                    }
-                    long finished = System.currentTimeMillis();
-                    logger.debug(
-                            "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
-                            pollPeriodMillis, task, finished, started, finished - started);
-                }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+                AdaptivePollController pollController = getPollController(endpoint);
+                int maxGap = getPollCoalescingMaxGap(endpoint);
+                ScheduledFuture<?> future;
+                if (maxGap >= 0) {
+                    future = joinPollGroup(executor, task, pollPeriodMillis, initialDelayMillis, maxGap);
+                } else {
+                    future = executor.scheduleWithFixedDelay(() -> {
+                        long started = System.currentTimeMillis();
+                        if (!pollController.shouldExecute(task, started)) {
+                            logger.debug("Skipping scheduled ({}ms) poll task {}. Poll rate back-off factor {}",
+                                    pollPeriodMillis, task, pollController.getBackoffFactor());
+                            return;
+                        }
+                        logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis,
+                                task, started);
+                        try {
+                            long transactionMillis = executeRegularPoll(task);
+                            pollController.recordExecution(task, transactionMillis,
+                                    getInterTransactionDelayMillis(endpoint));
+                        } catch (RuntimeException e) {
+                            // We want to catch all unexpected exceptions since all unhandled exceptions make
+                            // ScheduledExecutorService halt the polling. It is better to print out the exception, and
+                            // try again
+                            // (on next poll cycle)
+                            logger.warn(
+                                    "Execution of scheduled ({}ms) poll task {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
+                                    pollPeriodMillis, task, e);
+                        }
+                        long finished = System.currentTimeMillis();
+                        logger.debug(
+                                "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
+                                pollPeriodMillis, task, finished, started, finished - started);
+                    }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+                }
 
                 scheduledPollTasks.put(task, future);
+                pollController.register(task, pollPeriodMillis);
                 pollTasksRegisteredByThisCommInterface.add(task);
                 logger.trace("Registered poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
                         initialDelayMillis);
@@ -823,8 +1309,14 @@ public class ModbusManagerImpl implements ModbusManager {
                     logger.warn("Caller tried to unregister nonexisting poll task {}", task);
                     return false;
                 }
-                logger.debug("Unregistering regular poll task {} (interrupting if necessary)", task);
-                future.cancel(true);
+                if (leavePollGroup(task)) {
+                    // Other tasks of the poll group are still polled with the same future
+                    logger.debug("Unregistering regular poll task {} from its poll group", task);
+                } else {
+                    logger.debug("Unregistering regular poll task {} (interrupting if necessary)", task);
+                    future.cancel(true);
+                }
+                getPollController(task.getEndpoint()).unregister(task);
                 logger.debug("Poll task {} canceled", task);
                 return true;
             }
@@ -841,13 +1333,24 @@ public class ModbusManagerImpl implements ModbusManager {
             WriteTask task = new BasicWriteTask(endpoint, request, resultCallback, failureCallback);
             long scheduleTime = System.currentTimeMillis();
             logger.debug("Scheduling one-off write task {}", task);
-            Future<?> future = localScheduledThreadPoolExecutor.submit(() -> {
-                long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-                logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
-                        millisInThreadPoolWaiting);
-                executeOperation(task, true, writeOperation);
-            });
-            return future;
+            // Regular polls of the endpoint yield to pending writes
+            AdaptivePollController pollController = getPollController(endpoint);
+            pollController.writeQueued();
+            try {
+                return localScheduledThreadPoolExecutor.submit(() -> {
+                    try {
+                        long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
+                        logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
+                                millisInThreadPoolWaiting);
+                        executeOperation(task, true, writeOperation);
+                    } finally {
+                        executeYieldedPolls(pollController, pollController.writeFinished());
+                    }
+                });
+            } catch (RuntimeException e) {
+                pollController.writeFinished();
+                throw e;
+            }
         }
 
         @Override
@@ -873,6 +1376,11 @@ public class ModbusManagerImpl implements ModbusManager {
         public ModbusSlaveEndpoint getEndpoint() {
             return endpoint;
         }
+
+        @Override
+        public ModbusEndpointMetrics getEndpointMetrics() {
+            return getMetrics(endpoint);
+        }
     }
 
     @Override
@@ -969,6 +1477,9 @@ public class ModbusManagerImpl implements ModbusManager {
                 monitorFuture.cancel(true);
                 monitorFuture = null;
             }
+            pipelineQueues.clear();
+            pollGroups.clear();
+            pollControllers.clear();
             // Note that it is not allowed to shutdown the executor, since they will be reused when
             // when pool is received from ThreadPoolManager is called
             scheduledThreadPoolExecutor = null;
@@ -1008,6 +1519,10 @@ public class ModbusManagerImpl implements ModbusManager {
                 }
             }
 
+            endpointMetrics.forEach((endpoint, metrics) -> {
+                pollMonitorLogger.trace("POLL MONITOR: endpoint {} metrics: {}", endpoint, metrics);
+            });
+
             pollMonitorLogger.trace("</POLL MONITOR>");
         }
     }
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.exception.ModbusUnexpectedTransactionIdException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+
+/**
+ * Executes several Modbus TCP requests over single connection, keeping multiple transactions in flight
+ *
+ * Modbus TCP allows the master to send new requests before the responses to the earlier ones have been received.
+ * Responses are matched to the requests using the transaction identifier of the MBAP header. Note that not all slaves
+ * support this, and thus pipelining is opt-in (see
+ * {@link org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration#getMaxInFlightTransactions()}).
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusTCPPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModbusTCPPipeline.class);
+
+    /**
+     * Transaction ids used with pipelined requests, cycling through 1..65535
+     */
+    private static final AtomicInteger TRANSACTION_ID = new AtomicInteger();
+
+    private ModbusTCPPipeline() {
+    }
+
+    private static int nextTransactionId() {
+        return TRANSACTION_ID.updateAndGet(id -> id % 0xFFFF + 1);
+    }
+
+    /**
+     * Execute the requests, having at most maxInFlight requests waiting for response at any time
+     *
+     * Slave exception responses are returned like other responses, it is up to the caller to interpret them.
+     *
+     * @param transport transport of connected TCP connection
+     * @param requests requests to execute. Transaction ids of the requests are overwritten.
+     * @param maxInFlight maximum number of requests waiting for response
+     * @return responses in the same order as the requests
+     * @throws ModbusIOException on I/O errors. Connection should be considered broken.
+     * @throws ModbusUnexpectedTransactionIdException when slave responds with transaction id that does not match any
+     *             pending request. Connection should be considered broken.
+     */
+    public static ModbusResponse[] execute(ModbusTransport transport, List<ModbusRequest> requests, int maxInFlight)
+            throws ModbusIOException, ModbusUnexpectedTransactionIdException {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight should be positive");
+        }
+        ModbusResponse[] responses = new ModbusResponse[requests.size()];
+        // transaction id -> index of the request
+        Map<Integer, Integer> pending = new HashMap<>();
+        int nextToSend = 0;
+        int received = 0;
+        while (received < requests.size()) {
+            while (nextToSend < requests.size() && pending.size() < maxInFlight) {
+                ModbusRequest request = requests.get(nextToSend);
+                request.setHeadless(false);
+                request.setTransactionID(nextTransactionId());
+                pending.put(request.getTransactionID(), nextToSend);
+                LOGGER.trace("Sending pipelined request (transaction ID={}, in flight {}): {}",
+                        request.getTransactionID(), pending.size(), request.getHexMessage());
+                transport.writeMessage(request);
+                nextToSend++;
+            }
+            ModbusResponse response = transport.readResponse();
+            Integer index = pending.remove(response.getTransactionID());
+            if (index == null) {
+                int expected = pending.keySet().stream().findFirst().orElse(-1);
+                throw new ModbusUnexpectedTransactionIdException(expected, response.getTransactionID());
+            }
+            LOGGER.trace("Received pipelined response (transaction ID={}): {}", response.getTransactionID(),
+                    response.getHexMessage());
+            responses[index] = response;
+            received++;
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.closeTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.AdaptivePollController;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class AdaptivePollControllerTest {
+
+    private ModbusEndpointMetrics metrics;
+    private AdaptivePollController controller;
+    private PollTask task1;
+    private PollTask task2;
+
+    @Before
+    public void setUp() {
+        metrics = new ModbusEndpointMetrics();
+        controller = new AdaptivePollController(new ModbusTCPSlaveEndpoint("localhost", 502), metrics);
+        task1 = mock(PollTask.class);
+        task2 = mock(PollTask.class);
+    }
+
+    @Test
+    public void testNoBackoffWithLowLoad() {
+        controller.register(task1, 1000);
+        controller.recordExecution(task1, 10, 60);
+
+        assertThat(controller.getBackoffFactor(), is(equalTo(1.0)));
+        assertThat(controller.getUtilization(), is(closeTo(0.07, 1e-9)));
+        assertThat(metrics.getEffectivePollRate(), is(closeTo(1.0, 1e-9)));
+        for (long now = 0; now < 5000; now += 1000) {
+            assertThat(controller.shouldExecute(task1, now), is(true));
+        }
+        assertThat(metrics.getSkippedPollCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testBackoffOnOverrun() {
+        controller.register(task1, 100);
+        controller.register(task2, 100);
+        controller.recordExecution(task1, 60, 40);
+        controller.recordExecution(task2, 60, 40);
+
+        // demand is 2.0, i.e. twice the capacity
+        assertThat(controller.getBackoffFactor(), is(closeTo(2.0 / 0.9, 1e-9)));
+        assertThat(controller.getUtilization(), is(closeTo(0.9, 1e-9)));
+        assertThat(metrics.getOverrunCount(), is(not(equalTo(0L))));
+        assertThat(metrics.getEffectivePollRate(), is(closeTo(20 / (2.0 / 0.9), 1e-9)));
+
+        assertThat(controller.shouldExecute(task1, 0), is(true));
+        assertThat(controller.shouldExecute(task1, 100), is(false));
+        assertThat(controller.shouldExecute(task1, 200), is(true));
+        assertThat(controller.shouldExecute(task1, 300), is(false));
+        assertThat(metrics.getSkippedPollCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void testRecovery() {
+        controller.register(task1, 100);
+        controller.recordExecution(task1, 300, 0);
+        assertThat(controller.getBackoffFactor(), is(closeTo(3.0 / 0.9, 1e-9)));
+
+        for (int i = 0; i < 50; i++) {
+            controller.recordExecution(task1, 1, 0);
+        }
+        assertThat(controller.getBackoffFactor(), is(equalTo(1.0)));
+        assertThat(metrics.getPollBackoffFactor(), is(equalTo(1.0)));
+    }
+
+    @Test
+    public void testBackoffIsLimited() {
+        controller.register(task1, 10);
+        controller.recordExecution(task1, 1000, 0);
+        assertThat(controller.getBackoffFactor(), is(equalTo(AdaptivePollController.MAX_BACKOFF_FACTOR)));
+    }
+
+    @Test
+    public void testPollsYieldToWrites() {
+        controller.register(task1, 1000);
+        controller.writeQueued();
+        assertThat(controller.shouldExecute(task1, 0), is(false));
+        // yields only once in a row
+        assertThat(controller.shouldExecute(task1, 1000), is(true));
+        assertThat(controller.shouldExecute(task1, 2000), is(false));
+        controller.writeFinished();
+        assertThat(controller.shouldExecute(task1, 3000), is(true));
+        assertThat(controller.shouldExecute(task1, 4000), is(true));
+    }
+
+    @Test
+    public void testYieldedPollsAreExecutedAfterWrites() {
+        controller.register(task1, 1000);
+        controller.register(task2, 1000);
+        controller.writeQueued();
+        controller.writeQueued();
+        assertThat(controller.shouldExecute(task1, 0), is(false));
+        assertThat(controller.shouldExecute(task2, 0), is(false));
+        // polls are executed only after all the pending writes
+        assertThat(controller.writeFinished().isEmpty(), is(true));
+        Set<PollTask> expected = new HashSet<>(Arrays.asList(task1, task2));
+        assertThat(controller.writeFinished(), is(equalTo(expected)));
+        // and only once
+        controller.writeQueued();
+        assertThat(controller.writeFinished().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testUnregisteredTaskIsNotExecutedAfterWrites() {
+        controller.register(task1, 1000);
+        controller.writeQueued();
+        assertThat(controller.shouldExecute(task1, 0), is(false));
+        controller.unregister(task1);
+        assertThat(controller.writeFinished().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testUnregisteredTaskIsExecuted() {
+        assertThat(controller.shouldExecute(task1, 0), is(true));
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics.LatencyHistogram;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusEndpointMetricsTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getCount(), is(equalTo(0L)));
+        assertThat(histogram.getPercentileMillis(95), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 9; i++) {
+            histogram.record(3);
+        }
+        histogram.record(15000);
+
+        assertThat(histogram.getCount(), is(equalTo(10L)));
+        assertThat(histogram.getSumMillis(), is(equalTo(15027L)));
+        assertThat(histogram.getMaxMillis(), is(equalTo(15000L)));
+        long[] counts = histogram.getBucketCounts();
+        assertThat(counts.length, is(equalTo(LatencyHistogram.getBucketUpperBoundsMillis().length + 1)));
+        // 3 ms falls into bucket (2, 5]
+        assertThat(counts[2], is(equalTo(9L)));
+        assertThat(counts[counts.length - 1], is(equalTo(1L)));
+        assertThat(histogram.getPercentileMillis(50), is(equalTo(5L)));
+        assertThat(histogram.getPercentileMillis(100), is(equalTo(15000L)));
+    }
+
+    @Test
+    public void testPercentileOfBucketCounts() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        long[] before = histogram.getBucketCounts();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(40);
+        }
+        histogram.record(15000);
+        long[] after = histogram.getBucketCounts();
+        long[] interval = new long[after.length];
+        for (int i = 0; i < interval.length; i++) {
+            interval[i] = after[i] - before[i];
+        }
+
+        // 40 ms falls into bucket (20, 50], the sample recorded before the interval is not counted
+        assertThat(LatencyHistogram.getPercentileMillis(interval, 0, histogram.getMaxMillis()), is(equalTo(50L)));
+        assertThat(LatencyHistogram.getPercentileMillis(interval, 99, histogram.getMaxMillis()), is(equalTo(50L)));
+        assertThat(LatencyHistogram.getPercentileMillis(interval, 100, histogram.getMaxMillis()), is(equalTo(15000L)));
+        assertThat(LatencyHistogram.getPercentileMillis(new long[interval.length], 95, 0), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testCounters() {
+        ModbusEndpointMetrics metrics = new ModbusEndpointMetrics();
+        metrics.recordOperation(10, 1);
+        metrics.recordOperation(20, 2);
+        metrics.recordRetry();
+        metrics.recordError();
+        metrics.recordPoolUtilization(1, 2);
+
+        assertThat(metrics.getOperationCount(), is(equalTo(2L)));
+        assertThat(metrics.getTransaction().getSumMillis(), is(equalTo(30L)));
+        assertThat(metrics.getCallback().getMaxMillis(), is(equalTo(2L)));
+        assertThat(metrics.getRetryCount(), is(equalTo(1L)));
+        assertThat(metrics.getErrorCount(), is(equalTo(1L)));
+        assertThat(metrics.getActiveConnections(), is(equalTo(1)));
+        assertThat(metrics.getIdleConnections(), is(equalTo(2)));
+    }
+}
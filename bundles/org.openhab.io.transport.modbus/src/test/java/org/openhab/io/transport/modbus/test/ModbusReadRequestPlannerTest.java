@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusReadRequestPlanner;
+import org.openhab.io.transport.modbus.ModbusReadRequestPlanner.CoalescedPollTask;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusReadRequestPlannerTest {
+
+    private static final ModbusSlaveEndpoint ENDPOINT = new ModbusTCPSlaveEndpoint("thisishost", 502);
+
+    private final List<AsyncModbusReadResult> results = new ArrayList<>();
+    private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+    private PollTask task(ModbusSlaveEndpoint endpoint, int slaveId, ModbusReadFunctionCode functionCode, int start,
+            int length) {
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId, functionCode, start, length, 3);
+        ModbusReadCallback resultCallback = results::add;
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = failures::add;
+        return new PollTask() {
+
+            @Override
+            public ModbusSlaveEndpoint getEndpoint() {
+                return endpoint;
+            }
+
+            @Override
+            public ModbusReadRequestBlueprint getRequest() {
+                return request;
+            }
+
+            @Override
+            public ModbusReadCallback getResultCallback() {
+                return resultCallback;
+            }
+
+            @Override
+            public ModbusFailureCallback<ModbusReadRequestBlueprint> getFailureCallback() {
+                return failureCallback;
+            }
+        };
+    }
+
+    private PollTask task(int start, int length) {
+        return task(ENDPOINT, 1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length);
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingAreMerged() {
+        List<CoalescedPollTask> planned = new ModbusReadRequestPlanner()
+                .plan(Arrays.asList(task(4, 2), task(0, 4), task(5, 3)));
+        assertThat(planned.size(), is(equalTo(1)));
+        ModbusReadRequestBlueprint request = planned.get(0).getRequest();
+        assertThat(request.getReference(), is(equalTo(0)));
+        assertThat(request.getDataLength(), is(equalTo(8)));
+        assertThat(planned.get(0).getMembers().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testGapTolerance() {
+        List<PollTask> tasks = Arrays.asList(task(0, 2), task(5, 2));
+        assertThat(new ModbusReadRequestPlanner().plan(tasks).size(), is(equalTo(2)));
+        assertThat(new ModbusReadRequestPlanner(2).plan(tasks).size(), is(equalTo(2)));
+        List<CoalescedPollTask> planned = new ModbusReadRequestPlanner(3).plan(tasks);
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(7)));
+    }
+
+    @Test
+    public void testProtocolLimitIsRespected() {
+        List<CoalescedPollTask> planned = new ModbusReadRequestPlanner()
+                .plan(Arrays.asList(task(0, 100), task(100, 25), task(125, 1)));
+        assertThat(planned.size(), is(equalTo(2)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(planned.get(1).getRequest().getReference(), is(equalTo(125)));
+    }
+
+    @Test
+    public void testDifferentSlaveFunctionCodeOrEndpointNotMerged() {
+        List<CoalescedPollTask> planned = new ModbusReadRequestPlanner().plan(Arrays.asList(task(0, 2), task(2, 2),
+                task(ENDPOINT, 2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2),
+                task(ENDPOINT, 1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 2),
+                task(new ModbusTCPSlaveEndpoint("otherhost", 502), 1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                        2, 2)));
+        assertThat(planned.size(), is(equalTo(4)));
+        assertThat(planned.get(0).getMembers().size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testResultIsSlicedToMembers() {
+        PollTask first = task(10, 2);
+        PollTask second = task(14, 1);
+        CoalescedPollTask planned = new ModbusReadRequestPlanner(2).plan(Arrays.asList(first, second)).get(0);
+        planned.getResultCallback()
+                .handle(new AsyncModbusReadResult(planned.getRequest(), new ModbusRegisterArray(1, 2, 3, 4, 5)));
+
+        assertThat(results.size(), is(equalTo(2)));
+        assertThat(results.get(0).getRequest(), is(equalTo(first.getRequest())));
+        assertThat(results.get(0).getRegisters().get().size(), is(equalTo(2)));
+        assertThat(results.get(0).getRegisters().get().getRegister(1).getValue(), is(equalTo(2)));
+        assertThat(results.get(1).getRequest(), is(equalTo(second.getRequest())));
+        assertThat(results.get(1).getRegisters().get().size(), is(equalTo(1)));
+        assertThat(results.get(1).getRegisters().get().getRegister(0).getValue(), is(equalTo(5)));
+    }
+
+    @Test
+    public void testFailureIsPassedToAllMembers() {
+        PollTask first = task(0, 1);
+        PollTask second = task(1, 1);
+        CoalescedPollTask planned = new ModbusReadRequestPlanner().plan(Arrays.asList(first, second)).get(0);
+        Exception cause = new Exception("connection error");
+        planned.getFailureCallback().handle(new AsyncModbusFailure<>(planned.getRequest(), cause));
+
+        assertThat(failures.size(), is(equalTo(2)));
+        assertThat(failures.get(0).getRequest(), is(equalTo(first.getRequest())));
+        assertThat(failures.get(1).getRequest(), is(equalTo(second.getRequest())));
+        assertThat(failures.get(1).getCause(), is(sameInstance(cause)));
+    }
+}
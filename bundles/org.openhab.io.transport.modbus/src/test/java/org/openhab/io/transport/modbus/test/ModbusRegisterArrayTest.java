@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusRegisterArrayTest {
+
+    @Test
+    public void testConstructorsAreEquivalent() {
+        ModbusRegisterArray fromValues = new ModbusRegisterArray(0x0445, -1);
+        ModbusRegisterArray fromBytes = new ModbusRegisterArray(new byte[] { 0x04, 0x45, (byte) 0xff, (byte) 0xff });
+        ModbusRegisterArray fromRegisters = new ModbusRegisterArray(
+                new ModbusRegister[] { new ModbusRegister(0x0445), new ModbusRegister((byte) 0xff, (byte) 0xff) });
+        for (ModbusRegisterArray registers : new ModbusRegisterArray[] { fromValues, fromBytes, fromRegisters }) {
+            assertThat(registers.size(), is(equalTo(2)));
+            assertThat(registers.getRegister(0).getValue(), is(equalTo(0x0445)));
+            assertThat(registers.getRegister(1).toUnsignedShort(), is(equalTo(0xffff)));
+            assertThat(registers.toHexString(), is(equalTo("04 45 ff ff")));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOddNumberOfBytes() {
+        new ModbusRegisterArray(new byte[] { 1, 2, 3 });
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        new ModbusRegisterArray(1, 2).getRegister(2);
+    }
+
+    @Test
+    public void testSlice() {
+        ModbusRegisterArray slice = new ModbusRegisterArray(1, 2, 3, 4).slice(1, 2);
+        assertThat(slice.size(), is(equalTo(2)));
+        assertThat(slice.getRegister(0).getValue(), is(equalTo(2)));
+        assertThat(slice.getRegister(1).getValue(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testEquals() {
+        ModbusRegisterArray registers = new ModbusRegisterArray(1, 2, 3, 4);
+        assertThat(registers.slice(1, 2), is(equalTo(new ModbusRegisterArray(2, 3))));
+        assertThat(registers.slice(1, 2).hashCode(), is(equalTo(new ModbusRegisterArray(2, 3).hashCode())));
+        assertThat(registers.slice(1, 2), is(not(equalTo(new ModbusRegisterArray(2, 4)))));
+        assertThat(registers.slice(1, 2), is(not(equalTo(new ModbusRegisterArray(2, 3, 4)))));
+    }
+
+    @Test
+    public void testPrimitiveExtractors() {
+        ModbusRegisterArray registers = new ModbusRegisterArray(0x1234, 0x5678, 0x9abc, 0xdef0);
+        assertThat(ModbusBitUtilities.extractSInt16(registers, 2), is(equalTo((short) 0x9abc)));
+        assertThat(ModbusBitUtilities.extractUInt16(registers, 2), is(equalTo(0x9abc)));
+        assertThat(ModbusBitUtilities.extractSInt32(registers, 0), is(equalTo(0x12345678)));
+        assertThat(ModbusBitUtilities.extractSInt32Swap(registers, 0), is(equalTo(0x56781234)));
+        assertThat(ModbusBitUtilities.extractUInt32(registers, 2), is(equalTo(0x9abcdef0L)));
+        assertThat(ModbusBitUtilities.extractUInt32Swap(registers, 2), is(equalTo(0xdef09abcL)));
+        assertThat(ModbusBitUtilities.extractSInt64(registers, 0), is(equalTo(0x123456789abcdef0L)));
+        assertThat(ModbusBitUtilities.extractSInt64Swap(registers, 0), is(equalTo(0xdef09abc56781234L)));
+        assertThat(ModbusBitUtilities.extractSInt8(registers, 0), is(equalTo((byte) 0x34)));
+        assertThat(ModbusBitUtilities.extractUInt8(registers, 5), is(equalTo((short) 0x9a)));
+        assertThat(ModbusBitUtilities.extractBit(registers, 2), is(equalTo(1)));
+        assertThat(ModbusBitUtilities.extractBit(registers, 3), is(equalTo(0)));
+        assertThat(ModbusBitUtilities.extractBit(registers, 12), is(equalTo(1)));
+        assertThat(ModbusBitUtilities.extractFloat32(new ModbusRegisterArray(0x3fc0, 0x0000), 0), is(equalTo(1.5f)));
+        assertThat(ModbusBitUtilities.extractFloat32Swap(new ModbusRegisterArray(0x0000, 0x3fc0), 0),
+                is(equalTo(1.5f)));
+    }
+}
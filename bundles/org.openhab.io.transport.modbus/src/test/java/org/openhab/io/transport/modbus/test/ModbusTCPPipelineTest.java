@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.exception.ModbusUnexpectedTransactionIdException;
+import org.openhab.io.transport.modbus.internal.ModbusTCPPipeline;
+
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ModbusMessage;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
+import net.wimpi.modbus.msg.ReadMultipleRegistersResponse;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusTCPPipelineTest {
+
+    private static ModbusResponse responseWithId(int transactionId) {
+        ReadMultipleRegistersResponse response = new ReadMultipleRegistersResponse();
+        response.setTransactionID(transactionId);
+        return response;
+    }
+
+    @Test
+    public void testResponsesAreMatchedByTransactionId() throws Exception {
+        ModbusTransport transport = mock(ModbusTransport.class);
+        List<ModbusRequest> requests = Arrays.asList(new ReadMultipleRegistersRequest(0, 1),
+                new ReadMultipleRegistersRequest(1, 1), new ReadMultipleRegistersRequest(2, 1));
+        List<Integer> sent = new ArrayList<>();
+        LinkedList<Integer> inFlight = new LinkedList<>();
+        List<Integer> maxInFlight = new ArrayList<>();
+        doAnswer(invocation -> {
+            int id = ((ModbusMessage) invocation.getArgument(0)).getTransactionID();
+            sent.add(id);
+            inFlight.add(id);
+            maxInFlight.add(inFlight.size());
+            return null;
+        }).when(transport).writeMessage(any());
+        // Answer always the latest request first
+        when(transport.readResponse()).thenAnswer(invocation -> responseWithId(inFlight.removeLast()));
+
+        ModbusResponse[] responses = ModbusTCPPipeline.execute(transport, requests, 2);
+
+        assertThat(sent.size(), is(equalTo(3)));
+        assertThat(maxInFlight.stream().mapToInt(Integer::intValue).max().getAsInt(), is(equalTo(2)));
+        for (int i = 0; i < requests.size(); i++) {
+            assertThat(responses[i].getTransactionID(), is(equalTo(requests.get(i).getTransactionID())));
+        }
+    }
+
+    @Test(expected = ModbusUnexpectedTransactionIdException.class)
+    public void testUnknownTransactionId() throws Exception {
+        ModbusTransport transport = mock(ModbusTransport.class);
+        List<ModbusRequest> requests = Arrays.asList(new ReadMultipleRegistersRequest(0, 1));
+        when(transport.readResponse()).thenAnswer(
+                invocation -> responseWithId((requests.get(0).getTransactionID() + 1) % 0xFFFF));
+
+        ModbusTCPPipeline.execute(transport, requests, 2);
+    }
+}
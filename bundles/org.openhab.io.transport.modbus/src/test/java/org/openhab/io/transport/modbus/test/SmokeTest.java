@@ -13,6 +13,7 @@
 package org.openhab.io.transport.modbus.test;
 
 import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.*;
 import static org.junit.Assume.*;
 
@@ -24,7 +25,9 @@ import java.net.Socket;
 import java.net.SocketImpl;
 import java.net.SocketImplFactory;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -54,6 +57,7 @@ import org.openhab.io.transport.modbus.exception.ModbusSlaveIOException;
 import org.slf4j.LoggerFactory;
 
 import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
 import net.wimpi.modbus.msg.WriteCoilRequest;
 import net.wimpi.modbus.msg.WriteMultipleCoilsRequest;
 import net.wimpi.modbus.procimg.SimpleDigitalIn;
@@ -802,6 +806,109 @@ public class SmokeTest extends IntegrationTestSupport {
         }
     }
 
+    /**
+     * Testing that regular polls of adjacent registers are merged into single request, and that the remaining poll is
+     * still polled after unregistering the other one
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRegularPollsAreCoalesced() throws Exception {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        EndpointPoolConfiguration config = new EndpointPoolConfiguration();
+        config.setPollCoalescingMaxGap(0);
+        // Initial delay ensures that both polls are registered before the first poll
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch firstCalled = new CountDownLatch(3);
+        CountDownLatch secondCalled = new CountDownLatch(3);
+        try (ModbusCommunicationInterface comms = modbusManager.newModbusCommunicationInterface(endpoint, config)) {
+            PollTask first = comms.registerRegularPoll(new ModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                    ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 5, 1), 150, 200, result -> {
+                        try {
+                            testHoldingValues(result.getRegisters().get(), 1);
+                            assertThat(result.getRegisters().get().size(), is(equalTo(5)));
+                        } catch (AssertionError e) {
+                            unexpectedCount.incrementAndGet();
+                        }
+                        firstCalled.countDown();
+                    }, failure -> unexpectedCount.incrementAndGet());
+            comms.registerRegularPoll(new ModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                    ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 6, 5, 1), 150, 200, result -> {
+                        try {
+                            testHoldingValues(result.getRegisters().get(), 6);
+                            assertThat(result.getRegisters().get().size(), is(equalTo(5)));
+                        } catch (AssertionError e) {
+                            unexpectedCount.incrementAndGet();
+                        }
+                        secondCalled.countDown();
+                    }, failure -> unexpectedCount.incrementAndGet());
+            assertTrue(firstCalled.await(60, TimeUnit.SECONDS));
+            assertTrue(secondCalled.await(60, TimeUnit.SECONDS));
+            assertThat(unexpectedCount.get(), is(equalTo(0)));
+            for (ModbusRequest request : getCapturedRequests()) {
+                ReadMultipleRegistersRequest readRequest = (ReadMultipleRegistersRequest) request;
+                assertThat(readRequest.getReference(), is(equalTo(1)));
+                assertThat(readRequest.getWordCount(), is(equalTo(10)));
+            }
+
+            comms.unregisterRegularPoll(first);
+            int requestsBefore = getCapturedRequests().size();
+            // The remaining poll is executed alone
+            waitForAssert(() -> {
+                List<ModbusRequest> requests = getCapturedRequests();
+                assertThat(requests.size(), is(greaterThan(requestsBefore + 1)));
+                ReadMultipleRegistersRequest readRequest = (ReadMultipleRegistersRequest) requests
+                        .get(requests.size() - 1);
+                assertThat(readRequest.getReference(), is(equalTo(6)));
+                assertThat(readRequest.getWordCount(), is(equalTo(5)));
+            });
+            assertThat(unexpectedCount.get(), is(equalTo(0)));
+        }
+    }
+
+    /**
+     * Testing that the poll group is executed according to the initial delay of the task joining the group, even if
+     * the task that created the group had longer initial delay
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPollGroupHonorsInitialDelayOfJoiningTask() throws Exception {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        EndpointPoolConfiguration config = new EndpointPoolConfiguration();
+        config.setPollCoalescingMaxGap(0);
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch secondCalled = new CountDownLatch(1);
+        try (ModbusCommunicationInterface comms = modbusManager.newModbusCommunicationInterface(endpoint, config)) {
+            comms.registerRegularPoll(new ModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                    ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 5, 1), 500, 600_000, result -> {
+                        // first poll might be executed together with the second one
+                    }, failure -> unexpectedCount.incrementAndGet());
+            comms.registerRegularPoll(new ModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                    ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 6, 5, 1), 500, 0, result -> {
+                        try {
+                            testHoldingValues(result.getRegisters().get(), 6);
+                        } catch (AssertionError e) {
+                            unexpectedCount.incrementAndGet();
+                        }
+                        secondCalled.countDown();
+                    }, failure -> unexpectedCount.incrementAndGet());
+            assertTrue(secondCalled.await(60, TimeUnit.SECONDS));
+            assertThat(unexpectedCount.get(), is(equalTo(0)));
+        }
+    }
+
+    private List<ModbusRequest> getCapturedRequests() {
+        List<ModbusRequest> requests = modbustRequestCaptor.getAllReturnValues();
+        synchronized (requests) {
+            return new ArrayList<>(requests);
+        }
+    }
+
     @SuppressWarnings("null")
     @Test
     public void testPoolConfigurationWithoutListener() throws Exception {
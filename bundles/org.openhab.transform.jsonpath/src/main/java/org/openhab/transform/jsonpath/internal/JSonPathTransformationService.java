@@ -12,7 +12,11 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -41,8 +45,28 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(immediate = true, property = { "smarthome.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of compiled expressions to keep
+     */
+    private static final int CACHE_SIZE = 100;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    /**
+     * Compiled expressions, least recently used evicted first
+     */
+    private final Map<String, JsonPath> compiledPaths = Collections
+            .synchronizedMap(new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -60,7 +84,7 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = getCompiledPath(jsonPathExpression).read(source);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -76,6 +100,39 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    /**
+     * Get compiled expression, compiling it if not found in the cache
+     *
+     * @throws InvalidPathException if the expression is invalid
+     */
+    private JsonPath getCompiledPath(String jsonPathExpression) {
+        JsonPath compiledPath = compiledPaths.get(jsonPathExpression);
+        if (compiledPath != null) {
+            cacheHits.increment();
+            return compiledPath;
+        }
+        cacheMisses.increment();
+        compiledPath = JsonPath.compile(jsonPathExpression);
+        compiledPaths.put(jsonPathExpression, compiledPath);
+        logger.trace("compiled JsonPath '{}', cache hits {}, misses {}", jsonPathExpression, getCacheHits(),
+                getCacheMisses());
+        return compiledPath;
+    }
+
+    /**
+     * Get number of transformations that used cached compiled expression
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Get number of transformations that needed to compile the expression
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -128,4 +128,14 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testCompiledPathIsCached() throws TransformationException {
+        processor.transform("$.data", "{\"data\":1}");
+        String transformedResponse = processor.transform("$.data", "{\"data\":2}");
+
+        assertEquals("2", transformedResponse);
+        assertEquals(1, processor.getCacheMisses());
+        assertEquals(1, processor.getCacheHits());
+    }
 }
@@ -12,6 +12,10 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -40,6 +44,26 @@ public class RegExTransformationService implements TransformationService {
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    /**
+     * Maximum number of compiled patterns to keep
+     */
+    private static final int CACHE_SIZE = 100;
+
+    /**
+     * Compiled patterns, keyed by regular expression and flags. Least recently used evicted first.
+     */
+    private final Map<String, Pattern> compiledPatterns = Collections
+            .synchronizedMap(new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -56,17 +80,18 @@ public class RegExTransformationService implements TransformationService {
             String regex = substMatcher.group(1);
             String substitution = substMatcher.group(2);
             String options = substMatcher.group(3);
+            Matcher replaceMatcher = getCompiledPattern(regex, 0).matcher(source.trim());
             if (options.equals("g")) {
-                result = source.trim().replaceAll(regex, substitution);
+                result = replaceMatcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
+                result = replaceMatcher.replaceFirst(substitution);
             }
             if (result != null) {
                 return result;
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = getCompiledPattern("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -94,4 +119,37 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    /**
+     * Get compiled pattern, compiling it if not found in the cache
+     *
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+     */
+    private Pattern getCompiledPattern(String regex, int flags) {
+        String key = flags + ":" + regex;
+        Pattern pattern = compiledPatterns.get(key);
+        if (pattern != null) {
+            cacheHits.increment();
+            return pattern;
+        }
+        cacheMisses.increment();
+        pattern = Pattern.compile(regex, flags);
+        compiledPatterns.put(key, pattern);
+        logger.trace("compiled pattern '{}', cache hits {}, misses {}", regex, getCacheHits(), getCacheMisses());
+        return pattern;
+    }
+
+    /**
+     * Get number of transformations that used cached compiled pattern
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Get number of transformations that needed to compile the pattern
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
 }
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Loaded scale, indexed for fast lookup
+ *
+ * The bounds of all the ranges split the number line into elementary intervals: the bounds themselves, and the open
+ * intervals between them. Since no bound lies inside an open interval, each range either contains the whole elementary
+ * interval or none of it. The label of each elementary interval is resolved on construction, respecting the order of
+ * the ranges in the file (first matching range wins). Lookup is then a binary search over the bounds.
+ *
+ * @author agent - Initial contribution
+ */
+public class ScaleIndex {
+
+    private static final String FORMAT_VALUE = "%value%";
+    private static final String FORMAT_LABEL = "%label%";
+
+    private static final int PART_LITERAL = 0;
+    private static final int PART_VALUE = 1;
+    private static final int PART_LABEL = 2;
+
+    /**
+     * Sorted, distinct bounds of all the ranges
+     */
+    private final BigDecimal[] bounds;
+
+    /**
+     * Bounds converted to double, for comparisons without BigDecimal arithmetic
+     */
+    private final double[] doubleBounds;
+
+    /**
+     * Label of each bound, null if no range contains the bound
+     */
+    private final String[] boundLabels;
+
+    /**
+     * Label of the open interval below each bound, and above the last bound (last element). Null if no range contains
+     * the interval.
+     */
+    private final String[] intervalLabels;
+
+    private final String nonNumericLabel;
+
+    /**
+     * Format split into parts: literal strings and the placeholders {@link #FORMAT_VALUE} and {@link #FORMAT_LABEL}
+     */
+    private final List<String> formatParts = new ArrayList<>();
+    private final List<Integer> formatPartTypes = new ArrayList<>();
+
+    /**
+     * @param ranges ranges and their labels, in the order of the scale file
+     * @param nonNumericLabel label to use with non-numeric input, or null
+     * @param format presentation format, possibly containing %value% and %label%
+     */
+    public ScaleIndex(LinkedHashMap<Range, String> ranges, String nonNumericLabel, String format) {
+        this.nonNumericLabel = nonNumericLabel;
+        parseFormat(format);
+
+        TreeSet<BigDecimal> sortedBounds = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                sortedBounds.add(range.min);
+            }
+            if (range.max != null) {
+                sortedBounds.add(range.max);
+            }
+        }
+        // TreeSet uses compareTo, and thus considers 1.0 and 1.00 the same bound
+        bounds = sortedBounds.toArray(new BigDecimal[0]);
+        doubleBounds = new double[bounds.length];
+        boundLabels = new String[bounds.length];
+        intervalLabels = new String[bounds.length + 1];
+        for (int i = 0; i < bounds.length; i++) {
+            doubleBounds[i] = bounds[i].doubleValue();
+            boundLabels[i] = findFirst(ranges, bounds[i]);
+        }
+        for (int i = 0; i <= bounds.length; i++) {
+            intervalLabels[i] = findFirst(ranges, pointInsideInterval(i));
+        }
+    }
+
+    /**
+     * Get value inside the open interval below bound i (or above the last bound)
+     */
+    private BigDecimal pointInsideInterval(int i) {
+        if (bounds.length == 0) {
+            return BigDecimal.ZERO;
+        } else if (i == 0) {
+            return bounds[0].subtract(BigDecimal.ONE);
+        } else if (i == bounds.length) {
+            return bounds[bounds.length - 1].add(BigDecimal.ONE);
+        } else {
+            return bounds[i - 1].add(bounds[i]).divide(BigDecimal.valueOf(2));
+        }
+    }
+
+    private static String findFirst(Map<Range, String> ranges, BigDecimal value) {
+        for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+            if (entry.getKey().contains(value)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void parseFormat(String format) {
+        int start = 0;
+        while (start < format.length()) {
+            int valueIndex = format.indexOf(FORMAT_VALUE, start);
+            int labelIndex = format.indexOf(FORMAT_LABEL, start);
+            int next;
+            String placeholder;
+            int type;
+            if (valueIndex >= 0 && (labelIndex < 0 || valueIndex < labelIndex)) {
+                next = valueIndex;
+                placeholder = FORMAT_VALUE;
+                type = PART_VALUE;
+            } else if (labelIndex >= 0) {
+                next = labelIndex;
+                placeholder = FORMAT_LABEL;
+                type = PART_LABEL;
+            } else {
+                addFormatPart(format.substring(start), PART_LITERAL);
+                break;
+            }
+            if (next > start) {
+                addFormatPart(format.substring(start, next), PART_LITERAL);
+            }
+            addFormatPart(placeholder, type);
+            start = next + placeholder.length();
+        }
+    }
+
+    private void addFormatPart(String part, int type) {
+        formatParts.add(part);
+        formatPartTypes.add(type);
+    }
+
+    /**
+     * Get label of the range containing the value
+     *
+     * @param value value to look up
+     * @return label of the first range (in the order of the scale file) containing the value, or null if no range
+     *         contains the value
+     */
+    public String getLabel(BigDecimal value) {
+        double doubleValue = value.doubleValue();
+        int low = 0;
+        int high = bounds.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(value, doubleValue, mid);
+            if (cmp < 0) {
+                high = mid - 1;
+            } else if (cmp > 0) {
+                low = mid + 1;
+            } else {
+                return boundLabels[mid];
+            }
+        }
+        // value is between bounds[low - 1] and bounds[low]
+        return intervalLabels[low];
+    }
+
+    /**
+     * Compare value to bound i. Conversion to double preserves order (although not strictly), thus BigDecimal
+     * comparison is needed only when the double values are equal.
+     */
+    private int compare(BigDecimal value, double doubleValue, int i) {
+        int cmp = Double.compare(doubleValue, doubleBounds[i]);
+        return cmp != 0 ? cmp : value.compareTo(bounds[i]);
+    }
+
+    /**
+     * Get label to use with non-numeric input
+     *
+     * @return label, or null if the scale has no 'NaN' entry
+     */
+    public String getNonNumericLabel() {
+        return nonNumericLabel;
+    }
+
+    /**
+     * Format the result using the presentation format of the scale
+     *
+     * @param source the input value
+     * @param label label of the matching range
+     * @return formatted result
+     */
+    public String format(String source, String label) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < formatParts.size(); i++) {
+            switch (formatPartTypes.get(i)) {
+                case PART_VALUE:
+                    result.append(source);
+                    break;
+                case PART_LABEL:
+                    result.append(label);
+                    break;
+                default:
+                    result.append(formatParts.get(i));
+            }
+        }
+        return result.toString();
+    }
+}
@@ -154,4 +154,20 @@ public class ScaleTransformServiceTest {
         String transformedResponse = processor.transform(existingscale, source);
         Assert.assertEquals("", transformedResponse);
     }
+
+    @Test
+    public void testBoundaries() throws TransformationException {
+        String existingscale = "scale/limits.scale";
+        Assert.assertEquals("low", processor.transform(existingscale, "9.99"));
+        Assert.assertEquals("middle", processor.transform(existingscale, "10"));
+        Assert.assertEquals("middle", processor.transform(existingscale, "10.000"));
+        Assert.assertEquals("high", processor.transform(existingscale, "299.9999999999999999999"));
+        Assert.assertEquals("extreme", processor.transform(existingscale, "300"));
+
+        existingscale = "scale/evaluationorder.scale";
+        Assert.assertEquals("first", processor.transform(existingscale, "14.9999999999999999999"));
+        Assert.assertEquals("second", processor.transform(existingscale, "15"));
+        Assert.assertEquals("second", processor.transform(existingscale, "16.5"));
+        Assert.assertEquals("last", processor.transform(existingscale, "17"));
+    }
 }
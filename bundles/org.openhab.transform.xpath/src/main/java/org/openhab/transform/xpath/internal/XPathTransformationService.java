@@ -13,12 +13,17 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -41,8 +46,42 @@ import org.xml.sax.InputSource;
 @Component(immediate = true, property = { "smarthome.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of compiled expressions to keep, per thread
+     */
+    private static final int CACHE_SIZE = 100;
+
+    /**
+     * Document builder, XPath and compiled expressions of single thread. None of these are thread-safe, and thus they
+     * are not shared between threads.
+     */
+    private static class ThreadState {
+        final DocumentBuilder builder;
+        final XPath xpath = XPathFactory.newInstance().newXPath();
+        final Map<String, XPathExpression> compiledExpressions = new LinkedHashMap<String, XPathExpression>(16,
+                0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+        ThreadState() throws ParserConfigurationException {
+            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+            domFactory.setNamespaceAware(true);
+            domFactory.setValidating(false);
+            builder = domFactory.newDocumentBuilder();
+        }
+    }
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final ThreadLocal<@Nullable ThreadState> threadState = new ThreadLocal<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -52,12 +91,11 @@ public class XPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
         StringReader stringReader = null;
+        DocumentBuilder builder = null;
 
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            ThreadState state = getThreadState();
+            builder = state.builder;
 
             stringReader = new StringReader(source);
             InputSource inputSource = new InputSource(stringReader);
@@ -65,8 +103,7 @@ public class XPathTransformationService implements TransformationService {
 
             Document doc = builder.parse(inputSource);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            XPathExpression expr = getCompiledExpression(state, xpathExpression);
 
             String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
 
@@ -79,6 +116,50 @@ public class XPathTransformationService implements TransformationService {
             if (stringReader != null) {
                 stringReader.close();
             }
+            if (builder != null) {
+                builder.reset();
+            }
+        }
+    }
+
+    private ThreadState getThreadState() throws ParserConfigurationException {
+        ThreadState state = threadState.get();
+        if (state == null) {
+            state = new ThreadState();
+            threadState.set(state);
+        }
+        return state;
+    }
+
+    /**
+     * Get compiled expression, compiling it if not found in the cache of the thread
+     */
+    private XPathExpression getCompiledExpression(ThreadState state, String xpathExpression)
+            throws XPathExpressionException {
+        XPathExpression expr = state.compiledExpressions.get(xpathExpression);
+        if (expr != null) {
+            cacheHits.increment();
+            return expr;
         }
+        cacheMisses.increment();
+        expr = state.xpath.compile(xpathExpression);
+        state.compiledExpressions.put(xpathExpression, expr);
+        logger.trace("compiled XPath '{}', cache hits {}, misses {}", xpathExpression, getCacheHits(),
+                getCacheMisses());
+        return expr;
+    }
+
+    /**
+     * Get number of transformations that used cached compiled expression
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Get number of transformations that needed to compile the expression
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
     }
 }
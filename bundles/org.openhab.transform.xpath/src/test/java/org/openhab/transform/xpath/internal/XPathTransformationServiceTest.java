@@ -38,4 +38,14 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testCompiledExpressionIsCached() throws TransformationException {
+        processor.transform("//current_conditions/temp_c/@data", source);
+        String transformedResponse = processor.transform("//current_conditions/temp_c/@data", source);
+
+        assertEquals("8", transformedResponse);
+        assertEquals(1, processor.getCacheMisses());
+        assertEquals(1, processor.getCacheHits());
+    }
 }
@@ -15,16 +15,19 @@ package org.openhab.transform.xslt.internal;
 import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Map;
+import java.util.WeakHashMap;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jdt.annotation.Nullable;
-import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.transform.AbstractFileTransformationService;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
@@ -35,55 +38,50 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * The stylesheets are compiled to {@link Templates} once, and cached until the file changes.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=XSLT" })
-public class XsltTransformationService implements TransformationService {
+@Component(immediate = true, service = TransformationService.class, property = { "smarthome.transform=XSLT" })
+public class XsltTransformationService extends AbstractFileTransformationService<Templates> {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    /**
+     * Transformers of each thread, created from the cached templates since transformers are not thread-safe.
+     * Transformers of templates that have been invalidated are garbage collected together with the templates.
+     */
+    private final ThreadLocal<Map<Templates, Transformer>> transformers = ThreadLocal.withInitial(WeakHashMap::new);
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
-     * The method expects the transformation rule to be read from a file which
-     * is stored under the 'configurations/transform' folder. To organize the
-     * various transformations one should use subfolders.
+     * The transformation rule is read from a file which is stored under the 'configurations/transform' folder. To
+     * organize the various transformations one should use subfolders.
      *
-     * @param filename the name of the file which contains the XSLT transformation rule.
-     *            The name may contain subfoldernames as well
+     * @param templates the compiled XSLT transformation rule
      * @param source the input to transform
      */
     @Override
-    public @Nullable String transform(String filename, String source) throws TransformationException {
-        if (filename == null || source == null) {
-            throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
-        }
-
-        Source xsl = null;
-
-        try {
-            String path = ConfigConstants.getConfigFolder() + File.separator
-                    + TransformationService.TRANSFORM_FOLDER_NAME + File.separator + filename;
-            xsl = new StreamSource(new File(path));
-        } catch (Exception e) {
-            String message = "opening file '" + filename + "' throws exception";
-
-            logger.error("{}", message, e);
-            throw new TransformationException(message, e);
-        }
-
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+    protected String internalTransform(Templates templates, String source) throws TransformationException {
+        logger.debug("about to transform '{}' by the templates '{}'", source, templates);
 
-        StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
-            transformer.transform(new StreamSource(xml), new StreamResult(out));
-        } catch (Exception e) {
+            Map<Templates, Transformer> threadTransformers = transformers.get();
+            Transformer transformer = threadTransformers.get(templates);
+            if (transformer == null) {
+                transformer = templates.newTransformer();
+                threadTransformers.put(templates, transformer);
+            }
+            try {
+                transformer.transform(new StreamSource(new StringReader(source)), new StreamResult(out));
+            } finally {
+                transformer.reset();
+            }
+        } catch (TransformerException e) {
             logger.error("transformation throws exception", e);
             throw new TransformationException("transformation throws exception", e);
         }
@@ -92,4 +90,21 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    /**
+     * Compiles the stylesheet
+     *
+     * @param filename the name of the file which contains the XSLT transformation rule
+     */
+    @Override
+    protected Templates internalLoadTransform(String filename) throws TransformationException {
+        try {
+            return TransformerFactory.newInstance().newTemplates(new StreamSource(new File(filename)));
+        } catch (TransformerConfigurationException e) {
+            String message = "opening file '" + filename + "' throws exception";
+
+            logger.error("{}", message, e);
+            throw new TransformationException(message, e);
+        }
+    }
 }
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -99,6 +100,19 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         }
     }
 
+    /**
+     * Transformation passing the value through as is, counting the transformed values
+     */
+    private static final class CountingTransformation implements TransformationService {
+        private final AtomicInteger transformations = new AtomicInteger();
+
+        @Override
+        public String transform(String function, String source) throws TransformationException {
+            transformations.incrementAndGet();
+            return source;
+        }
+    }
+
     private static final Map<String, String> CHANNEL_TO_ACCEPTED_TYPE = new HashMap<>();
     static {
         CHANNEL_TO_ACCEPTED_TYPE.put(CHANNEL_SWITCH, "Switch");
@@ -411,10 +425,17 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
                 true);
     }
 
-    @SuppressWarnings({ "null" })
     private ModbusDataThingHandler testReadHandlingGeneric(ModbusReadFunctionCode functionCode, String start,
             String transform, ValueType valueType, BitArray bits, ModbusRegisterArray registers, Exception error,
             BundleContext context, boolean autoCreateItemsAndLinkToChannels) {
+        return testReadHandlingGeneric(functionCode, start, transform, valueType, bits, registers, error, context,
+                autoCreateItemsAndLinkToChannels, null);
+    }
+
+    @SuppressWarnings({ "null" })
+    private ModbusDataThingHandler testReadHandlingGeneric(ModbusReadFunctionCode functionCode, String start,
+            String transform, ValueType valueType, BitArray bits, ModbusRegisterArray registers, Exception error,
+            BundleContext context, boolean autoCreateItemsAndLinkToChannels, Long updateUnchangedValuesEveryMillis) {
         ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502);
 
         int pollLength = 3;
@@ -434,6 +455,9 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         dataConfig.put("readStart", start);
         dataConfig.put("readTransform", transform);
         dataConfig.put("readValueType", valueType.getConfigValue());
+        if (updateUnchangedValuesEveryMillis != null) {
+            dataConfig.put("updateUnchangedValuesEveryMillis", updateUnchangedValuesEveryMillis);
+        }
 
         String thingId = "read1";
         ModbusDataThingHandler dataHandler = createDataHandler(thingId, poller,
@@ -561,6 +585,54 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
         // no datetime, conversion not possible without transformation
     }
 
+    @Test
+    public void testOnRegistersUnchangedValueNotProcessed() {
+        CountingTransformation transformation = new CountingTransformation();
+        mockTransformation("COUNT", transformation);
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "1", "COUNT(x)", ModbusConstants.ValueType.INT16, null,
+                new ModbusRegisterArray(new byte[] { 0, 1, 0, 5 }), null, bundleContext);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(5));
+        int transformations = transformation.transformations.get();
+        assertThat(transformations, is(not(equalTo(0))));
+
+        // Only the register before the value changes, the value is not processed again
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        dataHandler.onReadResult(
+                new AsyncModbusReadResult(request, new ModbusRegisterArray(new byte[] { 0, 2, 0, 5 })));
+        assertThat(transformation.transformations.get(), is(equalTo(transformations)));
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(5));
+
+        // The value changes
+        dataHandler.onReadResult(
+                new AsyncModbusReadResult(request, new ModbusRegisterArray(new byte[] { 0, 2, 0, 6 })));
+        assertThat(transformation.transformations.get(), is(equalTo(2 * transformations)));
+        waitForAssert(() -> assertThat(
+                getStateUpdates(getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER))),
+                is(equalTo(Arrays.asList(new DecimalType(5), new DecimalType(6))))));
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValueProcessedAfterUpdateInterval() throws InterruptedException {
+        CountingTransformation transformation = new CountingTransformation();
+        mockTransformation("COUNT", transformation);
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "1", "COUNT(x)", ModbusConstants.ValueType.INT16, null,
+                new ModbusRegisterArray(new byte[] { 0, 1, 0, 5 }), null, bundleContext, true, 50L);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(5));
+        int transformations = transformation.transformations.get();
+
+        // Unchanged value is processed and the channels updated once updateUnchangedValuesEveryMillis has passed
+        Thread.sleep(100);
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        dataHandler.onReadResult(
+                new AsyncModbusReadResult(request, new ModbusRegisterArray(new byte[] { 0, 1, 0, 5 })));
+        assertThat(transformation.transformations.get(), is(equalTo(2 * transformations)));
+        waitForAssert(() -> assertThat(
+                getStateUpdates(getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER))),
+                is(equalTo(Arrays.asList(new DecimalType(5), new DecimalType(5))))));
+    }
+
     @Test
     public void testOnRegistersNaNFloatInRegisters() throws InvalidSyntaxException {
         ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,